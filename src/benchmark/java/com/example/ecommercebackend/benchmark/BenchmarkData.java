@@ -0,0 +1,71 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data shared by the benchmarks. A fixed seed keeps runs comparable
+ * between commits.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Batches for one product with expiry dates spread from 10 days in the past to a year ahead,
+     * so every strategy sees a mix of expired, soon-expiring and long-dated stock.
+     */
+    static List<InventoryBatch> batches(Long productId, int count) {
+        Random random = new Random(SEED);
+        LocalDate today = LocalDate.now();
+        List<InventoryBatch> batches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batches.add(InventoryBatch.builder()
+                    .batchId((long) i + 1)
+                    .productId(productId)
+                    .productName("Product " + productId)
+                    .quantity(1 + random.nextInt(200))
+                    .expiryDate(today.plusDays(random.nextInt(375) - 10))
+                    .build());
+        }
+        return batches;
+    }
+
+    static InventoryResponseDTO inventoryResponse(int batchCount) {
+        List<InventoryBatchDTO> batches = batches(1001L, batchCount).stream()
+                .map(batch -> InventoryBatchDTO.builder()
+                        .batchId(batch.getBatchId())
+                        .quantity(batch.getQuantity())
+                        .expiryDate(batch.getExpiryDate())
+                        .build())
+                .toList();
+        return InventoryResponseDTO.builder()
+                .productId(1001L)
+                .productName("Product 1001")
+                .batches(batches)
+                .totalQuantity(batches.stream().mapToInt(InventoryBatchDTO::getQuantity).sum())
+                .build();
+    }
+
+    static OrderResponseDTO orderResponse() {
+        return OrderResponseDTO.builder()
+                .orderId(5012L)
+                .productId(1002L)
+                .productName("Smartphone")
+                .quantity(3)
+                .status("PLACED")
+                .reservedFromBatchIds(List.of(9L, 10L))
+                .message("Order placed. Inventory reserved.")
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the two response DTOs on the order path, with the same Jackson mapper
+ * type Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DtoSerializationBenchmark {
+
+    @Param({"3", "100"})
+    public int batchCount;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private InventoryResponseDTO inventoryResponse;
+    private byte[] inventoryResponseJson;
+    private OrderResponseDTO orderResponse;
+    private byte[] orderResponseJson;
+
+    @Setup
+    public void setUp() {
+        inventoryResponse = BenchmarkData.inventoryResponse(batchCount);
+        inventoryResponseJson = jsonMapper.writeValueAsBytes(inventoryResponse);
+        orderResponse = BenchmarkData.orderResponse();
+        orderResponseJson = jsonMapper.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] writeInventoryResponse() {
+        return jsonMapper.writeValueAsBytes(inventoryResponse);
+    }
+
+    @Benchmark
+    public InventoryResponseDTO readInventoryResponse() {
+        return jsonMapper.readValue(inventoryResponseJson, InventoryResponseDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeOrderResponse() {
+        return jsonMapper.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public OrderResponseDTO readOrderResponse() {
+        return jsonMapper.readValue(orderResponseJson, OrderResponseDTO.class);
+    }
+}
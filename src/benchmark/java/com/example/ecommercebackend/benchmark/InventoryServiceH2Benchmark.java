@@ -0,0 +1,102 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.EcoomerceBackend;
+import com.example.ecommercebackend.inventory.dto.InventoryReceiptDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.service.InventoryImportService;
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link InventoryService} calls through the Spring proxies (transactions, metrics)
+ * against the in-memory H2 database of the test profile. Each product has {@code batchesPerProduct}
+ * batches; calls pick a random product so the results are not dominated by one hot row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class InventoryServiceH2Benchmark {
+
+    private static final long FIRST_PRODUCT_ID = 100_000L;
+
+    @Param({"100"})
+    public int products;
+
+    @Param({"5", "50"})
+    public int batchesPerProduct;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcoomerceBackend.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.config=classpath:logback-benchmark.xml",
+                        "spring.jpa.show-sql=false")
+                .run();
+        inventoryService = context.getBean(InventoryService.class);
+
+        InventoryImportService importService = context.getBean(InventoryImportService.class);
+        for (int p = 0; p < products; p++) {
+            long productId = FIRST_PRODUCT_ID + p;
+            List<InventoryReceiptDTO> receipts = BenchmarkData.batches(productId, batchesPerProduct).stream()
+                    .map(batch -> InventoryReceiptDTO.builder()
+                            .productId(productId)
+                            .productName(batch.getProductName())
+                            .quantity(batch.getQuantity())
+                            .expiryDate(batch.getExpiryDate())
+                            .build())
+                    .toList();
+            importService.receiveBatches(receipts);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public InventoryResponseDTO getInventoryByProduct() {
+        return inventoryService.getInventoryByProduct(randomProductId());
+    }
+
+    @Benchmark
+    public boolean isSufficientInventory() {
+        return inventoryService.isSufficientInventory(randomProductId(), 25);
+    }
+
+    @Benchmark
+    public List<Long> reserveBatches() {
+        return inventoryService.reserveBatches(randomProductId(), 25);
+    }
+
+    private long randomProductId() {
+        return FIRST_PRODUCT_ID + ThreadLocalRandom.current().nextInt(products);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.factory.DefaultInventoryStrategy;
+import com.example.ecommercebackend.inventory.factory.ExpiryPriorityInventoryStrategy;
+import com.example.ecommercebackend.inventory.factory.InventoryStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering and totalling a product's batches with each {@link InventoryStrategy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InventoryStrategyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int batchCount;
+
+    private List<InventoryBatch> batches;
+    private final InventoryStrategy defaultStrategy = new DefaultInventoryStrategy();
+    private final InventoryStrategy expiryPriorityStrategy = new ExpiryPriorityInventoryStrategy();
+
+    @Setup
+    public void setUp() {
+        batches = BenchmarkData.batches(1001L, batchCount);
+    }
+
+    @Benchmark
+    public Integer defaultStrategy() {
+        return defaultStrategy.calculateTotalQuantity(defaultStrategy.getAvailableInventory(batches));
+    }
+
+    @Benchmark
+    public Integer expiryPriorityStrategy() {
+        return expiryPriorityStrategy.calculateTotalQuantity(expiryPriorityStrategy.getAvailableInventory(batches));
+    }
+}
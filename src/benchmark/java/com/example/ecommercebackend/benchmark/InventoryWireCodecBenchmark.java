@@ -0,0 +1,70 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.inventory.codec.InventoryWireCodec;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of an inventory response in JSON versus the compact varint wire format.
+ * The payload sizes of both are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InventoryWireCodecBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int batchCount;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private InventoryResponseDTO response;
+    private byte[] json;
+    private byte[] varint;
+
+    @Setup
+    public void setUp() {
+        response = BenchmarkData.inventoryResponse(batchCount);
+        json = jsonMapper.writeValueAsBytes(response);
+        varint = InventoryWireCodec.encode(response);
+        System.out.printf("%nbatches=%d size json=%d B varint=%d B (%.1fx)%n",
+                batchCount, json.length, varint.length, (double) json.length / varint.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeVarint() {
+        return InventoryWireCodec.encode(response);
+    }
+
+    @Benchmark
+    public InventoryResponseDTO decodeJson() {
+        return jsonMapper.readValue(json, InventoryResponseDTO.class);
+    }
+
+    @Benchmark
+    public InventoryResponseDTO decodeVarint() throws IOException {
+        return InventoryWireCodec.readResponse(new ByteArrayInputStream(varint));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ecommercebackend.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (for example the runs of two commits) benchmark by benchmark.
+ * A result is a regression when it is worse than the baseline by more than the threshold
+ * (relative, default 0.10) and by more than the two runs' combined error; higher is better for
+ * throughput modes, lower is better for time modes. Exits with status 1 if any regression is found.
+ * <p>
+ * Usage: {@code JmhResultDiff <baseline.json> <candidate.json> [threshold]}
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultDiff <baseline.json> <candidate.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            String unit = after.path("primaryMetric").path("scoreUnit").asString();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", afterScore, "new", unit);
+                continue;
+            }
+
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double error = finite(before.path("primaryMetric").path("scoreError").asDouble(0))
+                    + finite(after.path("primaryMetric").path("scoreError").asDouble(0));
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore;
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asString());
+            double worsening = higherIsBetter ? -change : change;
+            boolean regression = worsening > threshold && Math.abs(afterScore - beforeScore) > error;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), beforeScore, afterScore,
+                    change * 100, unit, regression ? "  REGRESSION" : "");
+        }
+        for (String removed : baseline.keySet()) {
+            if (!candidate.containsKey(removed)) {
+                System.out.printf("%-90s %14s %14s %9s%n", removed, "", "-", "removed");
+            }
+        }
+
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) {
+        JsonNode results = JsonMapper.builder().build().readTree(file);
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asString()));
+            String key = result.path("benchmark").asString() + (params.isEmpty() ? "" : " " + params);
+            byKey.put(key, result);
+        }
+        return byKey;
+    }
+
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+}
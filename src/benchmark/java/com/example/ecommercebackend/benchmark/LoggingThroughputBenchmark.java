@@ -0,0 +1,131 @@
+package com.example.ecommercebackend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request logging throughput: a synchronous flushing file appender (the old console setup),
+ * the bounded async appender from logback-spring.xml, and per-request lines demoted below the
+ * enabled level. Each operation emits the three lines the inventory path used to log.
+ * <p>
+ * The async appender keeps up by discarding lines, so its throughput is only comparable together
+ * with how many it dropped; that count is printed when each fork ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoggingThroughputBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n";
+
+    @Param({"sync", "async", "demoted"})
+    public String mode;
+
+    private Path logFile;
+    private LoggerContext context;
+    private Logger logger;
+    private org.slf4j.event.Level callLevel;
+    private final LongAdder logged = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark-", ".log");
+        context = new LoggerContext();
+        // without an MDC adapter every event fails to append instead of being written
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Appender<ILoggingEvent> appender = fileAppender();
+        if (!mode.equals("sync")) {
+            AsyncAppender asyncAppender = new AsyncAppender() {
+                @Override
+                protected void append(ILoggingEvent event) {
+                    logged.increment();
+                    super.append(event);
+                }
+            };
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(appender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        logger = context.getLogger("com.example.ecommercebackend.inventory");
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        callLevel = mode.equals("demoted") ? org.slf4j.event.Level.DEBUG : org.slf4j.event.Level.INFO;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        // stopping drains the queue, so whatever is still missing afterwards was discarded
+        context.stop();
+        long events = mode.equals("sync") ? written.get() : logged.sum();
+        System.out.printf("%n%s: %,d of %,d lines discarded%n", mode, events - written.get(), events);
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void request() {
+        long productId = ThreadLocalRandom.current().nextLong(1_000_000);
+        logger.atLevel(callLevel).log("GET request for inventory of product ID: {}", productId);
+        logger.atLevel(callLevel).log("Fetching inventory for product ID: {}", productId);
+        logger.atLevel(callLevel).log("Reserved batches {} for product ID: {} with quantity: {}", "[1, 2]", productId, 5);
+    }
+
+    private Appender<ILoggingEvent> fileAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>() {
+            @Override
+            protected void subAppend(ILoggingEvent event) {
+                super.subAppend(event);
+                written.incrementAndGet();
+            }
+        };
+        appender.setContext(context);
+        appender.setFile(logFile.toString());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(true);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ecommercebackend.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+/**
+ * Time-to-first-request of the packaged application: wall time from launching the JVM until the
+ * first {@code GET /inventory/{productId}} gets a response. Each configuration is started
+ * {@code runs} times in a fresh JVM and the minimum, median and maximum are reported.
+ * <ul>
+ *   <li>{@code before}: Hibernate create-drop on top of Liquibase, eager repositories and
+ *       springdoc pre-loading, i.e. the previous startup path</li>
+ *   <li>{@code fast-start}: the current defaults (Liquibase-only schema, deferred repositories)</li>
+ *   <li>{@code fast-start+aot}: with {@code -Dspring.aot.enabled=true}, if the jar was built with
+ *       the {@code fast-start} profile</li>
+ *   <li>{@code fast-start+cds}: with the class data sharing archive, if one exists next to the jar</li>
+ * </ul>
+ * Usage: {@code StartupTimeBenchmark <jar> [runs]}
+ */
+public final class StartupTimeBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final String PROBE_PATH = "/inventory/1001";
+
+    private StartupTimeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: StartupTimeBenchmark <jar> [runs]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Map<String, List<String>> jvmOptions = new LinkedHashMap<>();
+        Map<String, List<String>> appOptions = new LinkedHashMap<>();
+        jvmOptions.put("before", List.of());
+        appOptions.put("before", List.of("--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.data.jpa.repositories.bootstrap-mode=default",
+                "--springdoc.pre-loading-enabled=true"));
+        jvmOptions.put("fast-start", List.of());
+        appOptions.put("fast-start", List.of());
+        if (hasAotClasses(jar)) {
+            jvmOptions.put("fast-start+aot", List.of("-Dspring.aot.enabled=true"));
+            appOptions.put("fast-start+aot", List.of());
+        }
+        Path cdsArchive = jar.resolveSibling("application.jsa");
+        if (Files.exists(cdsArchive)) {
+            jvmOptions.put("fast-start+cds", List.of("-XX:SharedArchiveFile=" + cdsArchive));
+            appOptions.put("fast-start+cds", List.of());
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        System.out.printf("%-16s %8s %8s %8s   (ms to first response, %d runs, %s)%n",
+                "configuration", "min", "median", "max", runs, jar.getFileName());
+        for (String name : jvmOptions.keySet()) {
+            long[] timings = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                timings[run] = timeToFirstRequest(client, jar, jvmOptions.get(name), appOptions.get(name));
+            }
+            Arrays.sort(timings);
+            System.out.printf("%-16s %8d %8d %8d%n", name, timings[0], timings[runs / 2], timings[runs - 1]);
+        }
+    }
+
+    private static long timeToFirstRequest(HttpClient client, Path jar, List<String> jvmOptions,
+                                           List<String> appOptions) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--inventory.archive.enabled=false");
+        command.addAll(appOptions);
+
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    client.send(probe, HttpResponse.BodyHandlers.discarding());
+                    return (System.nanoTime() - start) / 1_000_000;
+                } catch (IOException notListeningYet) {
+                    Thread.sleep(5);
+                }
+            }
+            throw new IllegalStateException("No response within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean hasAotClasses(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.stream().anyMatch(entry -> entry.getName().endsWith("__ApplicationContextInitializer.class"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecommercebackend.benchmark;
+
+import com.example.ecommercebackend.inventory.cache.InventoryCache;
+import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.factory.DefaultInventoryStrategy;
+import com.example.ecommercebackend.inventory.factory.ExpiryPriorityInventoryStrategy;
+import com.example.ecommercebackend.inventory.factory.InventoryStrategyFactory;
+import com.example.ecommercebackend.inventory.markdown.InventoryMarkdownService;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.service.InventoryConsumptionLedger;
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import com.example.ecommercebackend.metrics.HotPathMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link InventoryService#updateInventory}'s parse-and-decrement loop without a database:
+ * the repository is an in-memory map, so the score is the service's own cost (batch ID parsing,
+ * per-batch lookup and decrement, metrics and event publication).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UpdateInventoryBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int batchesPerUpdate;
+
+    private final Map<Long, InventoryBatch> store = new HashMap<>();
+    private InventoryService inventoryService;
+    private InventoryUpdateDTO update;
+
+    @Setup
+    public void setUp() {
+        InventoryBatchRepository repository = (InventoryBatchRepository) Proxy.newProxyInstance(
+                InventoryBatchRepository.class.getClassLoader(),
+                new Class<?>[]{InventoryBatchRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByBatchId" -> store.get((Long) args[0]);
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryInventoryBatchRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        inventoryService = new InventoryService(repository,
+                new InventoryStrategyFactory(new DefaultInventoryStrategy(), new ExpiryPriorityInventoryStrategy()),
+                event -> { },
+                new HotPathMetrics(new SimpleMeterRegistry()),
+                InventoryShardRouter.unsharded(),
+                InventoryCache.disabled(),
+                InventoryMarkdownService.disabled(),
+                InventoryConsumptionLedger.disabled());
+
+        List<Long> batchIds = BenchmarkData.batches(1001L, batchesPerUpdate).stream()
+                .map(InventoryBatch::getBatchId)
+                .toList();
+        // Every batch but the last is empty, so each call walks the whole list
+        update = InventoryUpdateDTO.builder()
+                .productId(1001L)
+                .quantityToReduce(1)
+                .batchIds(batchIds.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        store.clear();
+        for (InventoryBatch batch : BenchmarkData.batches(1001L, batchesPerUpdate)) {
+            batch.setQuantity(0);
+            store.put(batch.getBatchId(), batch);
+        }
+        // The last batch absorbs every call for the whole iteration
+        store.get((long) batchesPerUpdate).setQuantity(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public boolean updateInventory() {
+        return inventoryService.updateInventory(update);
+    }
+}
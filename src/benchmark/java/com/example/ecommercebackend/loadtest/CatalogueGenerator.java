@@ -0,0 +1,200 @@
+package com.example.ecommercebackend.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Synthetic catalogue at production scale: products, inventory batches and historical orders.
+ * <ul>
+ *   <li>Popularity is Zipfian: product rank 1 is the hottest SKU. Ranks are scattered over the
+ *       product ID range so hot SKUs are not neighbours in the index.</li>
+ *   <li>Batches per product are exponentially distributed around the configured mean; the top 1%
+ *       of SKUs are stocked ten times deeper so load tests do not drain them immediately.</li>
+ *   <li>Expiry dates: 3% already expired, 12% expire within 30 days, the rest within 18 months.</li>
+ *   <li>Orders pick products by popularity over the last year with a realistic status mix.</li>
+ * </ul>
+ * Everything is streamed, so memory does not grow with the catalogue size, and a fixed seed
+ * reproduces the same catalogue. The inventory CSV uses the header format accepted by
+ * {@code POST /inventory/batches} with {@code Content-Type: text/csv}.
+ */
+public final class CatalogueGenerator {
+
+    static final long FIRST_PRODUCT_ID = 1_000_000L;
+    static final String INVENTORY_HEADER = "product_id,product_name,quantity,expiry_date";
+    static final String ORDERS_HEADER = "product_id,product_name,quantity,status,order_date";
+
+    private static final String[] ORDER_STATUSES = {"DELIVERED", "SHIPPED", "PLACED", "CANCELLED"};
+    private static final int[] ORDER_STATUS_WEIGHTS = {70, 10, 15, 5};
+
+    private final long products;
+    private final double batchesPerProduct;
+    private final long seed;
+    private final long stride;
+    private final ZipfianGenerator popularity;
+
+    /**
+     * @param products number of distinct products
+     * @param batchesPerProduct mean number of batches per product (at least 1)
+     * @param skew Zipf exponent; around 1.0 gives a typical long-tail catalogue
+     * @param seed random seed
+     */
+    public CatalogueGenerator(long products, double batchesPerProduct, double skew, long seed) {
+        this.products = products;
+        this.batchesPerProduct = Math.max(1.0, batchesPerProduct);
+        this.seed = seed;
+        this.stride = coprimeStride(products);
+        this.popularity = new ZipfianGenerator(products, skew);
+    }
+
+    public long getProducts() {
+        return products;
+    }
+
+    /**
+     * Product ID of the given popularity rank (1 = hottest).
+     */
+    public long productId(long rank) {
+        return FIRST_PRODUCT_ID + Math.floorMod((rank - 1) * stride, products);
+    }
+
+    /**
+     * Draw a product ID according to popularity.
+     */
+    public long nextProductId(RandomGenerator random) {
+        return productId(popularity.next(random));
+    }
+
+    public static String productName(long productId) {
+        return "SKU-" + productId;
+    }
+
+    /**
+     * Write all inventory batches as CSV with a header row.
+     *
+     * @param out destination
+     * @return number of batches written
+     * @throws IOException if writing fails
+     */
+    public long writeInventoryCsv(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.now();
+        long hotRanks = Math.max(1, products / 100);
+        long rows = 0;
+
+        out.write(INVENTORY_HEADER);
+        out.write('\n');
+        for (long rank = 1; rank <= products; rank++) {
+            long productId = productId(rank);
+            String name = productName(productId);
+            int depth = rank <= hotRanks ? 10 : 1;
+            int batches = 1 + (int) (-Math.log(1.0 - random.nextDouble()) * (batchesPerProduct - 1));
+            for (int b = 0; b < batches; b++) {
+                int quantity = depth * random.nextInt(10, 501);
+                out.write(productId + "," + name + "," + quantity + "," + expiryDate(random, today) + "\n");
+                rows++;
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Generate historical orders and hand each one to the sink.
+     *
+     * @param orders number of orders
+     * @param sink receives each generated order
+     * @throws IOException if the sink fails
+     */
+    public void generateOrders(long orders, OrderSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        LocalDate today = LocalDate.now();
+        for (long i = 0; i < orders; i++) {
+            long productId = nextProductId(random);
+            sink.accept(productId, productName(productId), random.nextInt(1, 6),
+                    orderStatus(random), today.minusDays(random.nextInt(365)));
+        }
+    }
+
+    private static LocalDate expiryDate(SplittableRandom random, LocalDate today) {
+        int bucket = random.nextInt(100);
+        if (bucket < 3) {
+            return today.minusDays(random.nextInt(1, 31));
+        }
+        if (bucket < 15) {
+            return today.plusDays(random.nextInt(1, 31));
+        }
+        return today.plusDays(random.nextInt(31, 541));
+    }
+
+    private static String orderStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < ORDER_STATUSES.length; i++) {
+            roll -= ORDER_STATUS_WEIGHTS[i];
+            if (roll < 0) {
+                return ORDER_STATUSES[i];
+            }
+        }
+        return ORDER_STATUSES[0];
+    }
+
+    private static long coprimeStride(long n) {
+        long stride = 7_919L;
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride % Math.max(1, n) == 0 ? 1 : stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Receives generated orders.
+     */
+    @FunctionalInterface
+    public interface OrderSink {
+        void accept(long productId, String productName, int quantity, String status, LocalDate orderDate)
+                throws IOException;
+    }
+
+    /**
+     * Write inventory_batch.csv and orders.csv to a directory.
+     * <p>
+     * Usage: {@code CatalogueGenerator --out target/catalogue --products 1000000 --batches-per-product 3
+     * --orders 5000000 --skew 1.0 --seed 42}
+     */
+    public static void main(String[] args) throws IOException {
+        LoadTestArgs options = LoadTestArgs.parse(args);
+        Path dir = Path.of(options.get("out", "target/catalogue"));
+        Files.createDirectories(dir);
+        CatalogueGenerator generator = new CatalogueGenerator(
+                options.getLong("products", 1_000_000L),
+                options.getDouble("batches-per-product", 3.0),
+                options.getDouble("skew", 1.0),
+                options.getLong("seed", 42L));
+
+        long start = System.nanoTime();
+        long batches;
+        try (Writer out = Files.newBufferedWriter(dir.resolve("inventory_batch.csv"), StandardCharsets.UTF_8)) {
+            batches = generator.writeInventoryCsv(out);
+        }
+        long orders = options.getLong("orders", 0L);
+        try (BufferedWriter out = Files.newBufferedWriter(dir.resolve("orders.csv"), StandardCharsets.UTF_8)) {
+            out.write(ORDERS_HEADER);
+            out.newLine();
+            generator.generateOrders(orders, (productId, name, quantity, status, orderDate) ->
+                    out.write(productId + "," + name + "," + quantity + "," + status + "," + orderDate + "\n"));
+        }
+        System.out.printf("Wrote %d products, %d batches and %d orders to %s in %d ms%n",
+                generator.getProducts(), batches, orders, dir.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
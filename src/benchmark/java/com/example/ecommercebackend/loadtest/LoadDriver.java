@@ -0,0 +1,204 @@
+package com.example.ecommercebackend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load driver: issues a mix of {@code POST /order}, {@code GET /inventory/{productId}} and
+ * optionally {@code GET /order?status=PLACED} listings at a fixed target rate, whatever the response
+ * times are, and records latency from each request's scheduled start. Products are drawn from the
+ * catalogue's Zipfian popularity. A bounded number of requests may be in flight; a slot that finds the
+ * limit reached is counted as missed rather than silently delayed. Response bodies are counted as
+ * received, before any decompression, so the report shows bytes on the wire per operation.
+ */
+final class LoadDriver {
+
+    static final String ORDER = "order";
+    static final String INVENTORY = "inventory";
+    static final String LISTING = "listing";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final HttpClient client;
+    private final CatalogueGenerator catalogue;
+    private final Settings settings;
+
+    LoadDriver(HttpClient client, CatalogueGenerator catalogue, Settings settings) {
+        this.client = client;
+        this.catalogue = catalogue;
+        this.settings = settings;
+    }
+
+    /**
+     * Run the warm-up and measured phases. Only requests scheduled in the measured phase are recorded.
+     *
+     * @return the measured results
+     * @throws InterruptedException if interrupted while waiting for in-flight requests
+     */
+    LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport(ORDER, INVENTORY, LISTING);
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        SplittableRandom random = new SplittableRandom(settings.seed());
+
+        long intervalNanos = (long) (1e9 / settings.ratePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = scheduled >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.recordMissed();
+                }
+                continue;
+            }
+
+            long productId = catalogue.nextProductId(random);
+            double mix = random.nextDouble();
+            String operation;
+            HttpRequest request;
+            if (mix < settings.orderRatio()) {
+                operation = ORDER;
+                request = orderRequest(productId, random.nextInt(1, settings.maxOrderQuantity() + 1));
+            } else if (mix < settings.orderRatio() + settings.listingRatio()) {
+                operation = LISTING;
+                request = listingRequest();
+            } else {
+                operation = INVENTORY;
+                request = inventoryRequest(productId);
+            }
+
+            client.sendAsync(request, responseInfo -> HttpResponse.BodySubscribers.fromSubscriber(
+                            new ByteCounter(), ByteCounter::getBytes))
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        if (!measured) {
+                            return;
+                        }
+                        long latency = System.nanoTime() - scheduled;
+                        if (response != null) {
+                            report.recordResponse(operation, response.body(),
+                                    response.version() == HttpClient.Version.HTTP_2);
+                        }
+                        if (failure != null || response.statusCode() >= 500) {
+                            report.recordError(operation, latency);
+                        } else if (response.statusCode() == TOO_MANY_REQUESTS) {
+                            report.recordThrottled(operation);
+                        } else if (response.statusCode() >= 400) {
+                            report.recordRejected(operation, latency);
+                        } else {
+                            report.recordOk(operation, latency);
+                        }
+                    });
+        }
+
+        // Let the last requests finish so their latency is recorded
+        if (inFlight.tryAcquire(settings.maxInFlight(), 30, TimeUnit.SECONDS)) {
+            inFlight.release(settings.maxInFlight());
+        }
+        return report;
+    }
+
+    private HttpRequest inventoryRequest(long productId) {
+        return request("/inventory/" + productId)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest listingRequest() {
+        return request("/order?status=PLACED&size=" + settings.listingSize())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest orderRequest(long productId, int quantity) {
+        String body = "{\"productId\":" + productId + ",\"quantity\":" + quantity + "}";
+        return request("/order")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(settings.baseUri().resolve(path))
+                .timeout(settings.requestTimeout())
+                .header("Accept", "application/json");
+        if (!settings.acceptEncoding().isBlank()) {
+            builder.header("Accept-Encoding", settings.acceptEncoding());
+        }
+        return builder;
+    }
+
+    /**
+     * Counts response body bytes and discards them.
+     */
+    private static final class ByteCounter implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private long bytes;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                bytes += buffer.remaining();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Load shape for one run.
+     *
+     * @param baseUri application root, e.g. {@code http://localhost:8080}
+     * @param ratePerSecond target request rate across both operations
+     * @param warmup unrecorded lead-in at the target rate
+     * @param duration measured period
+     * @param orderRatio fraction of requests that place an order
+     * @param listingRatio fraction of requests that list placed orders; the rest read inventory
+     * @param listingSize page size of order listings
+     * @param maxOrderQuantity orders ask for 1..maxOrderQuantity units
+     * @param maxInFlight bound on concurrent requests
+     * @param requestTimeout per-request timeout, counted as an error
+     * @param acceptEncoding Accept-Encoding sent with every request, blank for none
+     * @param seed random seed for the request mix
+     */
+    record Settings(URI baseUri, double ratePerSecond, Duration warmup, Duration duration, double orderRatio,
+                    double listingRatio, int listingSize, int maxOrderQuantity, int maxInFlight,
+                    Duration requestTimeout, String acceptEncoding, long seed) {
+    }
+}
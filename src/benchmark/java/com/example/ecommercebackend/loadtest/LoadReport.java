@@ -0,0 +1,133 @@
+package com.example.ecommercebackend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counters per operation for one load-test run.
+ * Latencies are recorded in microseconds from each request's scheduled start, so time spent
+ * queued behind a slow server counts against the server (no coordinated omission). Body bytes are
+ * counted as received, so compressed responses count at their compressed size; headers are not
+ * included. Requests shed by admission control ({@code 429}) are counted on their own and kept out
+ * of the latency histogram, so they neither pass for business rejections nor pull the percentiles
+ * down with their near-instant answers.
+ */
+final class LoadReport {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(2).toNanos() / 1_000;
+
+    private final Map<String, OperationStats> operations = new LinkedHashMap<>();
+    private final LongAdder missed = new LongAdder();
+
+    LoadReport(String... operationNames) {
+        for (String name : operationNames) {
+            operations.put(name, new OperationStats());
+        }
+    }
+
+    void recordOk(String operation, long latencyNanos) {
+        OperationStats stats = operations.get(operation);
+        stats.latency.recordValue(Math.min(latencyNanos / 1_000, MAX_LATENCY_MICROS));
+        stats.ok.increment();
+    }
+
+    void recordRejected(String operation, long latencyNanos) {
+        OperationStats stats = operations.get(operation);
+        stats.latency.recordValue(Math.min(latencyNanos / 1_000, MAX_LATENCY_MICROS));
+        stats.rejected.increment();
+    }
+
+    void recordThrottled(String operation) {
+        operations.get(operation).throttled.increment();
+    }
+
+    void recordError(String operation, long latencyNanos) {
+        OperationStats stats = operations.get(operation);
+        stats.latency.recordValue(Math.min(latencyNanos / 1_000, MAX_LATENCY_MICROS));
+        stats.errors.increment();
+    }
+
+    /**
+     * A response arrived, whatever its status.
+     *
+     * @param operation the operation
+     * @param bodyBytes body bytes as received
+     * @param http2 whether the response came over HTTP/2
+     */
+    void recordResponse(String operation, long bodyBytes, boolean http2) {
+        OperationStats stats = operations.get(operation);
+        stats.bytes.add(bodyBytes);
+        stats.responses.increment();
+        if (http2) {
+            stats.http2.increment();
+        }
+    }
+
+    /**
+     * A request could not be issued on schedule because the in-flight limit was reached.
+     */
+    void recordMissed() {
+        missed.increment();
+    }
+
+    long getMissed() {
+        return missed.sum();
+    }
+
+    long getErrors() {
+        return operations.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    void print(PrintStream out, Duration measured, double targetRate) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("Target rate %.0f req/s over %.1f s, %d requests missed their slot (in-flight limit)%n",
+                targetRate, seconds, missed.sum());
+        out.printf("%-10s %10s %10s %8s %8s %8s %9s %9s %9s %9s %9s %6s%n",
+                "operation", "requests", "req/s", "error%", "4xx%", "429%", "p50 ms", "p99 ms", "p99.9 ms", "max ms",
+                "B/resp", "h2%");
+        long totalBytes = 0;
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            Histogram latency = stats.latency;
+            long throttled = stats.throttled.sum();
+            long total = latency.getTotalCount() + throttled;
+            long responses = stats.responses.sum();
+            totalBytes += stats.bytes.sum();
+            out.printf("%-10s %10d %10.1f %8.3f %8.3f %8.3f %9.2f %9.2f %9.2f %9.2f %9.0f %6.1f%n",
+                    entry.getKey(), total, total / seconds,
+                    percent(stats.errors.sum(), total), percent(stats.rejected.sum(), total),
+                    percent(throttled, total),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()),
+                    responses == 0 ? 0 : (double) stats.bytes.sum() / responses,
+                    percent(stats.http2.sum(), responses));
+        }
+        out.printf("Response bodies on the wire: %.1f MB, %.1f KB/s%n",
+                totalBytes / 1e6, totalBytes / 1e3 / seconds);
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static final class OperationStats {
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder http2 = new LongAdder();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.ecommercebackend.loadtest;
+
+import com.example.ecommercebackend.EcoomerceBackend;
+import com.example.ecommercebackend.order.service.OrderRollupService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test on one box: starts the application in-process on a free port with its own
+ * in-memory database, loads a synthetic catalogue (inventory through the CSV import endpoint,
+ * historical orders with JDBC batch inserts) and drives an open-loop order/inventory mix against it.
+ * The client speaks HTTP/2 (h2c) unless {@code --http2 false} and asks for gzip unless
+ * {@code --accept-encoding} is blank, so runs with and without either can be compared. Admission
+ * control is off unless {@code --admission true}: the driver is one client on one address without an
+ * API key, so the per-client and per-product limits would shed most of the load.
+ * <p>
+ * Usage (all options optional):
+ * <pre>
+ * LoadTest --products 100000 --batches-per-product 3 --orders 1000000 --skew 1.0
+ *          --rate 2000 --warmup PT15S --duration PT60S --order-ratio 0.2
+ *          --listing-ratio 0.0 --listing-size 100 --http2 true --accept-encoding gzip
+ *          --max-order-quantity 3 --max-in-flight 512 --client-threads 16 --admission false --seed 42
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String INSERT_ORDER_SQL = "INSERT INTO orders " +
+            "(product_id, product_name, quantity, status, order_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int ORDER_INSERT_CHUNK = 1_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs options = LoadTestArgs.parse(args);
+        long seed = options.getLong("seed", 42L);
+        CatalogueGenerator catalogue = new CatalogueGenerator(
+                options.getLong("products", 100_000L),
+                options.getDouble("batches-per-product", 3.0),
+                options.getDouble("skew", 1.0),
+                seed);
+
+        int port = freePort();
+        URI baseUri = URI.create("http://localhost:" + port);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool((int) options.getLong("client-threads", 16));
+        boolean http2 = Boolean.parseBoolean(options.get("http2", "true"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        boolean admission = Boolean.parseBoolean(options.get("admission", "false"));
+        try (ConfigurableApplicationContext context = startApplication(port, admission)) {
+            loadInventory(client, baseUri, catalogue);
+            loadOrders(context.getBean(JdbcTemplate.class), catalogue, options.getLong("orders", 0L));
+            // historical orders bypass the order service, so count them into the rollups once
+            context.getBean(OrderRollupService.class).rebuild();
+
+            LoadDriver.Settings settings = new LoadDriver.Settings(
+                    baseUri,
+                    options.getDouble("rate", 1_000.0),
+                    options.getDuration("warmup", Duration.ofSeconds(15)),
+                    options.getDuration("duration", Duration.ofSeconds(60)),
+                    options.getDouble("order-ratio", 0.2),
+                    options.getDouble("listing-ratio", 0.0),
+                    (int) options.getLong("listing-size", 100),
+                    (int) options.getLong("max-order-quantity", 3),
+                    (int) options.getLong("max-in-flight", 512),
+                    Duration.ofSeconds(10),
+                    options.get("accept-encoding", "gzip"),
+                    seed);
+            System.out.printf("Driving %.0f req/s (%.0f%% orders, %.0f%% listings) for %s after %s warm-up, %s, "
+                            + "Accept-Encoding '%s', admission control %s%n",
+                    settings.ratePerSecond(), settings.orderRatio() * 100, settings.listingRatio() * 100,
+                    settings.duration(), settings.warmup(), http2 ? "HTTP/2" : "HTTP/1.1", settings.acceptEncoding(),
+                    admission ? "on" : "off");
+            LoadReport report = new LoadDriver(client, catalogue, settings).run();
+            report.print(System.out, settings.duration(), settings.ratePerSecond());
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(int port, boolean admission) {
+        // command-line arguments: application.properties would override default properties
+        return new SpringApplicationBuilder(EcoomerceBackend.class)
+                .run("--server.port=" + port,
+                        "--inventory.service.url=http://localhost:" + port,
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--inventory.archive.enabled=false",
+                        "--logging.config=classpath:logback-benchmark.xml",
+                        "--logging.request-sample-rate=0",
+                        "--admission.rate-limit.enabled=" + admission,
+                        "--admission.concurrency.enabled=" + admission);
+    }
+
+    private static void loadInventory(HttpClient client, URI baseUri, CatalogueGenerator catalogue)
+            throws IOException, InterruptedException {
+        Path csv = Files.createTempFile("inventory-catalogue", ".csv");
+        try {
+            long start = System.nanoTime();
+            long batches;
+            try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                batches = catalogue.writeInventoryCsv(out);
+            }
+            // HTTP/1.1: an h2c upgrade would have to buffer the whole CSV on the server
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/inventory/batches"))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofFile(csv))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Inventory import failed: " + response.statusCode() + " "
+                        + response.body());
+            }
+            System.out.printf("Loaded %d products / %d batches in %d ms: %s%n", catalogue.getProducts(), batches,
+                    (System.nanoTime() - start) / 1_000_000, response.body());
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static void loadOrders(JdbcTemplate jdbcTemplate, CatalogueGenerator catalogue, long orders)
+            throws IOException {
+        if (orders <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> chunk = new ArrayList<>(ORDER_INSERT_CHUNK);
+        catalogue.generateOrders(orders, (productId, name, quantity, status, orderDate) -> {
+            chunk.add(new Object[]{productId, name, quantity, status, Date.valueOf(orderDate), now, now});
+            if (chunk.size() == ORDER_INSERT_CHUNK) {
+                jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, chunk);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, chunk);
+        }
+        System.out.printf("Loaded %d historical orders in %d ms%n", orders, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
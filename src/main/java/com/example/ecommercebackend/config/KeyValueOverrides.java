@@ -0,0 +1,40 @@
+package com.example.ecommercebackend.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parses per-key overrides given as a list property of {@code key=value} entries, such as
+ * {@code 1001=25,2002=50}. The value starts after the last {@code =}, so keys may contain one.
+ */
+public final class KeyValueOverrides {
+
+    private KeyValueOverrides() {
+    }
+
+    /**
+     * Parse override entries.
+     *
+     * @param entries the property's entries
+     * @param format the expected form, for error messages, e.g. {@code "productId=threshold"}
+     * @param key parses a trimmed key
+     * @param value parses a trimmed value
+     * @return the overrides by key
+     * @throws IllegalArgumentException if an entry has no key or its key or value does not parse
+     */
+    public static <K, V> Map<K, V> parse(List<String> entries, String format,
+                                         Function<String, K> key, Function<String, V> value) {
+        Map<K, V> overrides = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Override must be " + format + ": " + entry);
+            }
+            overrides.put(key.apply(entry.substring(0, separator).trim()),
+                    value.apply(entry.substring(separator + 1).trim()));
+        }
+        return overrides;
+    }
+}
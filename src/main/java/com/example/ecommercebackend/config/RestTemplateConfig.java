@@ -1,9 +1,20 @@
 package com.example.ecommercebackend.config;
 
+import com.example.ecommercebackend.config.admission.InternalCallToken;
+import com.example.ecommercebackend.config.datasource.ReadRoutingContext;
+import com.example.ecommercebackend.config.datasource.ReadRoutingFilter;
+import com.example.ecommercebackend.inventory.codec.InventoryWireHttpMessageConverter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  * Configuration for REST communication between microservices.
  */
@@ -12,12 +23,47 @@ public class RestTemplateConfig {
 
     /**
      * Create a RestTemplate bean for inter-service communication.
+     * When the binary inventory client is enabled, the compact wire converter is placed first so
+     * inventory DTOs are requested and sent as {@code application/x-inventory-varint}; JSON remains
+     * the fallback for every other type. Calls are observed so they show up as
+     * {@code http.client.requests} timers. Inventory calls ask to be served from the primary
+     * database and carry the calling client's ID, so its read-your-writes window follows the order,
+     * plus the internal call token that exempts them from admission control.
+     * Requests go through the JDK HTTP client; with {@code inventory.client.http2-enabled} it upgrades
+     * plain-HTTP connections to HTTP/2 (h2c) and multiplexes concurrent calls over them instead of
+     * opening a connection per in-flight call.
      *
+     * @param binaryInventoryClient whether to use the compact inventory wire format
+     * @param http2 whether to negotiate HTTP/2 with the inventory service
+     * @param connectTimeout connect timeout for the inventory service
+     * @param observationRegistry the observation registry, if actuator is present
+     * @param internalCallToken token identifying calls between the services
      * @return configured RestTemplate
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${inventory.client.binary-enabled:true}") boolean binaryInventoryClient,
+                                     @Value("${inventory.client.http2-enabled:true}") boolean http2,
+                                     @Value("${inventory.client.connect-timeout:PT2S}") Duration connectTimeout,
+                                     ObjectProvider<ObservationRegistry> observationRegistry,
+                                     InternalCallToken internalCallToken) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient));
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        if (binaryInventoryClient) {
+            restTemplate.getMessageConverters().add(0, new InventoryWireHttpMessageConverter());
+        }
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set(ReadRoutingFilter.READ_FROM_HEADER, ReadRoutingFilter.READ_FROM_PRIMARY);
+            request.getHeaders().set(InternalCallToken.HEADER, internalCallToken.getValue());
+            String clientId = ReadRoutingContext.getClientId();
+            if (clientId != null) {
+                request.getHeaders().set(ReadRoutingFilter.CLIENT_ID_HEADER, clientId);
+            }
+            return execution.execute(request, body);
+        });
+        return restTemplate;
     }
 }
-
@@ -0,0 +1,56 @@
+package com.example.ecommercebackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request log that records only a sample of requests.
+ * Replaces per-request INFO lines in the controllers: one line with method, path, status and
+ * duration is written for roughly {@code logging.request-sample-rate} of all requests, on the
+ * dedicated {@code http.request} logger. A rate of 0 disables it, 1 logs every request.
+ */
+@Component
+public class SampledRequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger requestLog = LoggerFactory.getLogger("http.request");
+
+    private final double sampleRate;
+
+    public SampledRequestLogFilter(@Value("${logging.request-sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!isSampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestLog.info("{} {} -> {} in {} us", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), (System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    private boolean isSampled() {
+        if (sampleRate <= 0.0 || !requestLog.isInfoEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ecommercebackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the inventory expiry sweeper.
+ * Individual jobs are switched on and off through their own properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,154 @@
+package com.example.ecommercebackend.config.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to latency, following the gradient approach (as in TCP Vegas).
+ * Latencies are averaged over short sample windows; the ratio of the long-term average to the
+ * latest window estimates whether requests are queueing. While latency stays near its baseline the
+ * limit grows by about {@code sqrt(limit)} per window; when latency rises the gradient drops below 1
+ * and the limit shrinks in proportion. Requests beyond the limit are rejected at once instead of
+ * waiting behind the ones already running, which keeps latency flat for the requests admitted.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longRttDecay;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // guarded by this
+    private double longRttNanos;
+    private long windowStartNanos;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * @param initialLimit limit to start from
+     * @param minLimit lowest the limit may fall to
+     * @param maxLimit highest the limit may grow to
+     * @param tolerance how much latency may exceed its baseline before the limit shrinks (1.5 = 50%)
+     * @param smoothing weight of each new estimate in the limit (0 to 1)
+     * @param longWindow sample windows averaged into the latency baseline
+     * @param window length of a sample window
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing, int longWindow, Duration window) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longRttDecay = 2.0 / (longWindow + 1);
+        this.windowNanos = window.toNanos();
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Admit a request if fewer than the current limit are in flight.
+     * Every admitted request must be released through exactly one of {@link #onSuccess},
+     * {@link #onDropped} or {@link #onIgnore}.
+     *
+     * @return true if admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a request that completed normally and record its latency.
+     *
+     * @param rttNanos time the request took
+     */
+    public void onSuccess(long rttNanos) {
+        onSuccess(rttNanos, System.nanoTime());
+    }
+
+    void onSuccess(long rttNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            sample(rttNanos, inFlightBefore, nowNanos);
+        }
+    }
+
+    /**
+     * Release a request that failed or timed out; overload is assumed and the limit backs off.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+        }
+    }
+
+    /**
+     * Release a request whose latency says nothing about load, such as one rejected by validation.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore, long nowNanos) {
+        if (windowSamples == 0) {
+            windowStartNanos = nowNanos;
+        }
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+        if (nowNanos - windowStartNanos < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double shortRttNanos = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) * longRttDecay;
+        }
+        // after a long period of high latency, let the baseline come down quickly once it recovers
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // with most of the limit unused there is no evidence that a higher limit would be safe
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(smoothed, maxLimit));
+    }
+}
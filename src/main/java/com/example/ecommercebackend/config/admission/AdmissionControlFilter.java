@@ -0,0 +1,141 @@
+package com.example.ecommercebackend.config.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Admission control for the order and inventory APIs.
+ * Each request takes a token from its client's bucket (a known {@value #API_KEY_HEADER} header, or
+ * the remote address otherwise). {@code POST /order}, the synchronous order path, is additionally
+ * held to an {@link AdaptiveConcurrencyLimiter}. A request over either limit gets an empty
+ * {@code 429} with Retry-After straight away. Per-product limits need the request body and are
+ * applied by the order controller. Calls carrying the {@link InternalCallToken} are not limited.
+ */
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-Api-Key";
+    public static final String LIMIT_CONCURRENCY = "concurrency";
+
+    private static final String ORDER_PATH = "/order";
+    private static final String INVENTORY_PATH = "/inventory";
+    private static final Duration SAMPLE_WINDOW = Duration.ofSeconds(1);
+    private static final int BASELINE_WINDOWS = 600;
+
+    private final RequestRateLimiter rateLimiter;
+    private final InternalCallToken internalCallToken;
+    private final AdaptiveConcurrencyLimiter orderLimiter;
+    private final Counter rejectedConcurrency;
+
+    @Autowired
+    public AdmissionControlFilter(RequestRateLimiter rateLimiter,
+                                  InternalCallToken internalCallToken,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${admission.concurrency.enabled:true}") boolean concurrencyEnabled,
+                                  @Value("${admission.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${admission.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${admission.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${admission.concurrency.tolerance:1.5}") double tolerance) {
+        this.rateLimiter = rateLimiter;
+        this.internalCallToken = internalCallToken;
+        this.orderLimiter = concurrencyEnabled
+                ? new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, 0.2,
+                        BASELINE_WINDOWS, SAMPLE_WINDOW)
+                : null;
+        this.rejectedConcurrency = RequestRateLimiter.rejectedCounter(meterRegistry, LIMIT_CONCURRENCY);
+        if (orderLimiter != null) {
+            Gauge.builder("admission.concurrency.limit", orderLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current concurrency limit for POST /order")
+                    .register(meterRegistry);
+            Gauge.builder("admission.concurrency.in.flight", orderLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("POST /order requests in flight")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        boolean limited = path.equals(ORDER_PATH) || path.startsWith(ORDER_PATH + "/")
+                || path.equals(INVENTORY_PATH) || path.startsWith(INVENTORY_PATH + "/");
+        return !limited || internalCallToken.matches(request.getHeader(InternalCallToken.HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long clientWait = rateLimiter.tryAcquireClient(clientKey(request));
+        if (clientWait > 0) {
+            reject(response, RequestRateLimiter.retryAfterSeconds(clientWait));
+            return;
+        }
+        if (orderLimiter == null || !isOrderPlacement(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!orderLimiter.tryAcquire()) {
+            rejectedConcurrency.increment();
+            reject(response, 1);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            release(response.getStatus(), completed, System.nanoTime() - start);
+        }
+    }
+
+    private void release(int status, boolean completed, long elapsedNanos) {
+        if (!completed || status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            orderLimiter.onDropped();
+        } else if (status >= HttpStatus.BAD_REQUEST.value()) {
+            // rejected before doing the work; its latency says nothing about load
+            orderLimiter.onIgnore();
+        } else {
+            orderLimiter.onSuccess(elapsedNanos);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getOrderLimiter() {
+        return orderLimiter;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentLength(0);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        return rateLimiter.clientKey(request.getHeader(API_KEY_HEADER), request.getRemoteAddr());
+    }
+
+    private static boolean isOrderPlacement(HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod()) && path(request).equals(ORDER_PATH);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ecommercebackend.config.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Shared secret the order service sends on its inventory calls, so they are not rate limited a
+ * second time: the order that caused them was already admitted, and shedding an inventory update
+ * half way through an order would leave it inconsistent. Without {@code admission.internal-token}
+ * a random token is used, which works while both services run in one process; deployments that
+ * split them must configure the same token on both.
+ */
+@Component
+public class InternalCallToken {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private final String value;
+
+    public InternalCallToken(@Value("${admission.internal-token:}") String configured) {
+        this.value = configured == null || configured.isBlank() ? UUID.randomUUID().toString() : configured;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Compare a presented token in constant time.
+     *
+     * @param presented the header value, may be null
+     * @return true if it is this token
+     */
+    public boolean matches(String presented) {
+        return presented != null && MessageDigest.isEqual(
+                value.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
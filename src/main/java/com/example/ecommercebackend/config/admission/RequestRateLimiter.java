@@ -0,0 +1,188 @@
+package com.example.ecommercebackend.config.admission;
+
+import com.example.ecommercebackend.config.KeyValueOverrides;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Token-bucket rate limits per client (API key) and per product.
+ * Every client and every product gets its own bucket with the default rate and burst, unless
+ * {@code admission.rate-limit.*.overrides} lists a different rate for it as {@code key=rate}; an
+ * override keeps the default burst-to-rate ratio. A bucket that has refilled completely is dropped,
+ * so memory follows the number of recently active keys.
+ * <p>
+ * Only API keys listed in {@code admission.rate-limit.client.api-keys} or the client overrides get a
+ * bucket of their own; any other key is limited by remote address, so a caller cannot earn a fresh
+ * bucket by sending a new key on every request.
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    public static final String LIMIT_CLIENT = "client";
+    public static final String LIMIT_PRODUCT = "product";
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final BucketGroup clients;
+    private final BucketGroup products;
+
+    @Autowired
+    public RequestRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${admission.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${admission.rate-limit.client.rate:100}") double clientRate,
+                              @Value("${admission.rate-limit.client.burst:200}") int clientBurst,
+                              @Value("${admission.rate-limit.client.overrides:}") List<String> clientOverrides,
+                              @Value("${admission.rate-limit.client.api-keys:}") List<String> apiKeys,
+                              @Value("${admission.rate-limit.product.rate:50}") double productRate,
+                              @Value("${admission.rate-limit.product.burst:100}") int productBurst,
+                              @Value("${admission.rate-limit.product.overrides:}") List<String> productOverrides) {
+        this.enabled = enabled;
+        Map<String, Double> clientRates = parseOverrides(clientOverrides);
+        this.apiKeys = new HashSet<>(clientRates.keySet());
+        for (String apiKey : apiKeys) {
+            if (!apiKey.isBlank()) {
+                this.apiKeys.add(apiKey.trim());
+            }
+        }
+        this.clients = new BucketGroup(clientRate, clientBurst, clientRates,
+                rejectedCounter(meterRegistry, LIMIT_CLIENT));
+        this.products = new BucketGroup(productRate, productBurst, parseOverrides(productOverrides),
+                rejectedCounter(meterRegistry, LIMIT_PRODUCT));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The key a request is limited under.
+     *
+     * @param apiKey the request's API key, may be null
+     * @param remoteAddress the request's remote address
+     * @return the API key if it is a known one, otherwise the remote address
+     */
+    public String clientKey(String apiKey, String remoteAddress) {
+        return apiKey != null && apiKeys.contains(apiKey) ? apiKey : remoteAddress;
+    }
+
+    /**
+     * Take a token from the client's bucket.
+     *
+     * @param clientKey the key from {@link #clientKey(String, String)}
+     * @return 0 if admitted, otherwise nanoseconds until the client may retry
+     */
+    public long tryAcquireClient(String clientKey) {
+        return tryAcquireClient(clientKey, System.nanoTime());
+    }
+
+    /**
+     * Take a token from the product's bucket.
+     *
+     * @param productId the product ID; requests without one are not limited here
+     * @return 0 if admitted, otherwise nanoseconds until the product may be ordered again
+     */
+    public long tryAcquireProduct(Long productId) {
+        return tryAcquireProduct(productId, System.nanoTime());
+    }
+
+    long tryAcquireClient(String clientKey, long nowNanos) {
+        return enabled ? clients.tryAcquire(clientKey, nowNanos) : 0;
+    }
+
+    long tryAcquireProduct(Long productId, long nowNanos) {
+        return enabled && productId != null ? products.tryAcquire(productId.toString(), nowNanos) : 0;
+    }
+
+    /**
+     * Drop buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${admission.rate-limit.evict-interval:PT1M}")
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    void evictIdleBuckets(long nowNanos) {
+        int evicted = clients.evictIdle(nowNanos) + products.evictIdle(nowNanos);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    int bucketCount() {
+        return clients.buckets.size() + products.buckets.size();
+    }
+
+    /**
+     * Whole seconds to put in a Retry-After header, at least 1.
+     *
+     * @param retryAfterNanos wait returned by a limiter
+     * @return seconds to wait
+     */
+    public static long retryAfterSeconds(long retryAfterNanos) {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    static Counter rejectedCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("admission.rejected")
+                .description("Requests shed with 429 Too Many Requests")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, Double> parseOverrides(List<String> overrides) {
+        return KeyValueOverrides.parse(overrides, "key=rate", Function.identity(), Double::parseDouble);
+    }
+
+    private static final class BucketGroup {
+
+        private final double rate;
+        private final int burst;
+        private final Map<String, Double> overrides;
+        private final Counter rejected;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private BucketGroup(double rate, int burst, Map<String, Double> overrides, Counter rejected) {
+            this.rate = rate;
+            this.burst = burst;
+            this.overrides = overrides;
+            this.rejected = rejected;
+        }
+
+        private long tryAcquire(String key, long nowNanos) {
+            long wait = buckets.computeIfAbsent(key, k -> newBucket(k, nowNanos)).tryAcquire(nowNanos);
+            if (wait > 0) {
+                rejected.increment();
+            }
+            return wait;
+        }
+
+        private TokenBucket newBucket(String key, long nowNanos) {
+            Double override = overrides.get(key);
+            if (override == null) {
+                return new TokenBucket(rate, burst, nowNanos);
+            }
+            int scaledBurst = (int) Math.max(1, Math.ceil(burst * override / rate));
+            return new TokenBucket(override, scaledBurst, nowNanos);
+        }
+
+        private int evictIdle(long nowNanos) {
+            int before = buckets.size();
+            buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+            return before - buckets.size();
+        }
+    }
+}
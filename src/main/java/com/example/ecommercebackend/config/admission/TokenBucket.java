@@ -0,0 +1,58 @@
+package com.example.ecommercebackend.config.admission;
+
+/**
+ * Token bucket holding up to {@code burst} tokens, refilled continuously at {@code ratePerSecond}.
+ * Each admitted request takes one token. Callers pass the current {@link System#nanoTime()} so
+ * tests can drive the clock.
+ */
+public final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double ratePerSecond;
+    private final double burst;
+    private double tokens;
+    private long refilledAtNanos;
+    private volatile long usedAtNanos;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAtNanos = nowNanos;
+        this.usedAtNanos = nowNanos;
+    }
+
+    /**
+     * Take a token if one is available.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public synchronized long tryAcquire(long nowNanos) {
+        if (nowNanos > refilledAtNanos) {
+            tokens = Math.min(burst, tokens + (nowNanos - refilledAtNanos) * ratePerSecond / NANOS_PER_SECOND);
+            refilledAtNanos = nowNanos;
+        }
+        usedAtNanos = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    /**
+     * Whether the bucket has refilled completely since it was last used, so dropping it and
+     * starting a new one later is indistinguishable from keeping it.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return true if the bucket is full
+     */
+    public boolean isIdle(long nowNanos) {
+        return (nowNanos - usedAtNanos) * ratePerSecond / NANOS_PER_SECOND >= burst;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ecommercebackend.config.datasource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+
+/**
+ * Update a keyed row, creating it if it does not exist yet, without a database-specific MERGE.
+ * The update runs first because the row usually exists. A missing row is inserted, and if another
+ * transaction created it in between, the duplicate key is caught and the update retried. Inside a
+ * transaction the insert runs under a savepoint, so the failed insert does not abort the caller's
+ * transaction on databases such as PostgreSQL.
+ */
+public final class JdbcUpsert {
+
+    private JdbcUpsert() {
+    }
+
+    /**
+     * Apply an update, or the matching insert when the update finds no row.
+     *
+     * @param jdbcTemplate the template bound to the row's datasource
+     * @param updateSql update of the existing row
+     * @param updateArgs arguments of the update
+     * @param insertSql insert of the row with the update already applied
+     * @param insertArgs arguments of the insert
+     * @return true if this call created the row
+     */
+    public static boolean upsert(JdbcTemplate jdbcTemplate, String updateSql, Object[] updateArgs,
+                                 String insertSql, Object[] insertArgs) {
+        if (jdbcTemplate.update(updateSql, updateArgs) > 0) {
+            return false;
+        }
+        if (insert(jdbcTemplate, insertSql, insertArgs)) {
+            return true;
+        }
+        // another transaction created the row first
+        jdbcTemplate.update(updateSql, updateArgs);
+        return false;
+    }
+
+    private static boolean insert(JdbcTemplate jdbcTemplate, String insertSql, Object[] insertArgs) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                jdbcTemplate.update(insertSql, insertArgs);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.update(insertSql, insertArgs);
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+}
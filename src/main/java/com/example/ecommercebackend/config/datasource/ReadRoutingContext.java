@@ -0,0 +1,65 @@
+package com.example.ecommercebackend.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request routing hints, set by {@link ReadRoutingFilter} for the duration of a request.
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<String> CLIENT_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    static void set(String clientId, boolean forcePrimary) {
+        CLIENT_ID.set(clientId);
+        FORCE_PRIMARY.set(forcePrimary);
+    }
+
+    static void clear() {
+        CLIENT_ID.remove();
+        FORCE_PRIMARY.remove();
+    }
+
+    /**
+     * The client that issued the current request, or null outside a request.
+     *
+     * @return client ID
+     */
+    public static String getClientId() {
+        return CLIENT_ID.get();
+    }
+
+    /**
+     * Whether reads in the current request must go to the primary, either because the caller asked
+     * for it or because the client is inside its read-your-writes window.
+     *
+     * @return true to bypass the replica
+     */
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+
+    /**
+     * Run code with its reads forced to the primary. For background work that must see a change
+     * which has only just committed, before the replica has caught up.
+     *
+     * @param body the code to run
+     * @return the value returned by the body
+     */
+    public static <T> T onPrimary(Supplier<T> body) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(true);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ecommercebackend.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the client of each request and decides whether its reads may use the replica.
+ * The client is the {@value #CLIENT_ID_HEADER} header. Without it, the remote address stands in only
+ * when {@code server.forward-headers-strategy} is set, so that it is the forwarded client address:
+ * behind a load balancer the connection's own address is the balancer's, and pinning it would send
+ * every client's reads to the primary after any write. A request with no client is never pinned.
+ * Reads go to the primary when the client is inside its read-your-writes window, or when the
+ * request carries {@value #READ_FROM_HEADER}{@code : primary} (used by the order service's own
+ * inventory calls, which must see the latest stock).
+ */
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String READ_FROM_HEADER = "X-Read-From";
+    public static final String READ_FROM_PRIMARY = "primary";
+
+    private final ReadYourWritesTracker tracker;
+    private final boolean addressIdentifiesClient;
+
+    /**
+     * @param tracker read-your-writes windows by client
+     * @param addressIdentifiesClient whether the remote address is the forwarded client address and may
+     *                                identify requests without {@value #CLIENT_ID_HEADER}
+     */
+    public ReadRoutingFilter(ReadYourWritesTracker tracker, boolean addressIdentifiesClient) {
+        this.tracker = tracker;
+        this.addressIdentifiesClient = addressIdentifiesClient;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId == null || clientId.isBlank()) {
+            clientId = addressIdentifiesClient ? request.getRemoteAddr() : null;
+        }
+        boolean forcePrimary = READ_FROM_PRIMARY.equalsIgnoreCase(request.getHeader(READ_FROM_HEADER))
+                || clientId != null && tracker.isPinned(clientId);
+
+        ReadRoutingContext.set(clientId, forcePrimary);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ecommercebackend.config.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients committed a write recently. For the length of the window after a
+ * commit, that client's reads are served by the primary so it never reads its own order from a
+ * replica that has not caught up yet.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Pin the client's reads to the primary for the configured window, starting now.
+     *
+     * @param clientId the client
+     */
+    public void pin(String clientId) {
+        if (clientId == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(clientId, now + windowNanos);
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+
+    /**
+     * Whether the client committed a write within the window.
+     *
+     * @param clientId the client
+     * @return true if its reads should go to the primary
+     */
+    public boolean isPinned(String clientId) {
+        if (clientId == null) {
+            return false;
+        }
+        Long deadline = pinnedUntil.get(clientId);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() < 0) {
+            pinnedUntil.remove(clientId, deadline);
+            return false;
+        }
+        return true;
+    }
+}
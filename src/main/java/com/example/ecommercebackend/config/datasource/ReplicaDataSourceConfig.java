@@ -0,0 +1,90 @@
+package com.example.ecommercebackend.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary/replica datasource setup, active when {@code datasource.replica.enabled=true}.
+ * The primary pool is built from {@code spring.datasource.*} as before and the replica pool from
+ * {@code datasource.replica.*}; the application sees a single routing datasource, so repositories,
+ * JdbcTemplate and Liquibase need no changes. Liquibase migrates the primary only; a real replica
+ * gets the schema through replication, a local stand-in can set
+ * {@code datasource.replica.initialize-schema=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username:}") String username,
+                                              @Value("${spring.datasource.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary-pool");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-pool");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    /**
+     * The datasource the application uses: routes per transaction, connecting lazily so the
+     * read-only flag is known when the target is chosen.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 @Value("${datasource.replica.initialize-schema:false}") boolean initializeReplica,
+                                 @Value("${spring.liquibase.change-log}") String changeLog,
+                                 ResourceLoader resourceLoader) throws Exception {
+        if (initializeReplica) {
+            SpringLiquibase liquibase = new SpringLiquibase();
+            liquibase.setDataSource(replicaDataSource);
+            liquibase.setChangeLog(changeLog);
+            liquibase.setResourceLoader(resourceLoader);
+            liquibase.afterPropertiesSet();
+        }
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker));
+    }
+
+    @Bean
+    public ReadRoutingFilter readRoutingFilter(ReadYourWritesTracker readYourWritesTracker,
+                                               @Value("${server.forward-headers-strategy:none}") String forwardHeaders) {
+        return new ReadRoutingFilter(readYourWritesTracker, !"none".equalsIgnoreCase(forwardHeaders.trim()));
+    }
+}
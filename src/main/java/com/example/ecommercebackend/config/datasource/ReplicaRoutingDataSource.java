@@ -0,0 +1,58 @@
+package com.example.ecommercebackend.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction managers open a connection before they mark the transaction read-only, and the
+ * proxy defers the actual lookup to the first statement, when the flag is known.
+ * <p>
+ * Reads stay on the primary when the request asked for it or the client is inside its
+ * read-your-writes window; a read-write transaction opened for a client starts that window when it
+ * commits.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadRoutingContext.isPrimaryForced() ? Target.PRIMARY : Target.REPLICA;
+        }
+        pinClientAfterCommit();
+        return Target.PRIMARY;
+    }
+
+    private void pinClientAfterCommit() {
+        String clientId = ReadRoutingContext.getClientId();
+        if (clientId == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.pin(clientId);
+            }
+        });
+    }
+}
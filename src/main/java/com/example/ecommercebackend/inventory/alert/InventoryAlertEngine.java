@@ -0,0 +1,399 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.config.KeyValueOverrides;
+import com.example.ecommercebackend.config.datasource.JdbcUpsert;
+import com.example.ecommercebackend.config.datasource.ReadRoutingContext;
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Raises low-stock and near-expiry alerts as stock changes.
+ * Committed stock changes on this node mark their products dirty and a single worker thread
+ * re-evaluates just those products from the primary. Each evaluation also works out the next day the
+ * product's answer can change without a stock change (a batch entering the
+ * {@code inventory.alert.near-expiry-days} window, or expiring), and the daily expiry tick
+ * re-evaluates only the products due that day, so no pass ever scans every batch.
+ * <p>
+ * An alert is sent to every {@link InventoryAlertSink} when its condition starts (RAISED) and when it
+ * ends (RESOLVED); evaluations in between send nothing. Raised alerts are rows in
+ * {@code inventory_alert_active}, shared by every node: RAISED is sent by the node whose insert creates
+ * the row and RESOLVED by the node whose delete removes it. Nodes therefore neither repeat each
+ * other's alerts nor miss the end of one another node raised, and the
+ * {@code inventory.alert.bootstrap} pass after a restart only sends what changed while it was down.
+ * Each node keeps its own expiry schedule and runs its own bootstrap and tick; overlapping
+ * evaluations cost queries but send nothing twice.
+ * <p>
+ * Thresholds set through {@link #setLowStockThreshold} stay on the node that received them until it
+ * restarts, and nodes with different thresholds would raise and resolve the same alert in turn; use
+ * {@code inventory.alert.low-stock.overrides} for thresholds all nodes must share.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "inventory.alert.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryAlertEngine implements DisposableBean {
+
+    /**
+     * Kinds of alert.
+     */
+    public enum AlertType {
+        LOW_STOCK, NEAR_EXPIRY
+    }
+
+    /**
+     * Whether an alert starts or ends.
+     */
+    public enum AlertState {
+        RAISED, RESOLVED
+    }
+
+    private static final String PRODUCTS_SQL = "SELECT DISTINCT product_id FROM inventory_batch";
+    private static final String INSERT_ACTIVE_SQL = "INSERT INTO inventory_alert_active " +
+            "(product_id, alert_type, product_name, quantity, threshold, expiry_date, raised_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String REFRESH_ACTIVE_SQL = "UPDATE inventory_alert_active " +
+            "SET product_name = ?, quantity = ?, threshold = ?, expiry_date = ? " +
+            "WHERE product_id = ? AND alert_type = ?";
+    private static final String DELETE_ACTIVE_SQL =
+            "DELETE FROM inventory_alert_active WHERE product_id = ? AND alert_type = ?";
+    private static final String SELECT_ACTIVE_SQL = "SELECT product_id, alert_type, product_name, quantity, " +
+            "threshold, expiry_date, raised_at FROM inventory_alert_active ORDER BY product_id, alert_type";
+    private static final String COUNT_ACTIVE_SQL = "SELECT COUNT(*) FROM inventory_alert_active";
+
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<InventoryAlertSink> sinks;
+    private final MeterRegistry meterRegistry;
+    private final int defaultLowStockThreshold;
+    private final int nearExpiryDays;
+    private final boolean bootstrap;
+    private final Map<Long, Integer> lowStockThresholds = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<Long>> dueByDay = new TreeMap<>();
+    private final Map<Long, LocalDate> dueDays = new HashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService worker;
+
+    @Autowired
+    public InventoryAlertEngine(InventoryBatchRepository inventoryBatchRepository,
+                                InventoryShardRouter shardRouter,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectProvider<InventoryAlertSink> sinks,
+                                MeterRegistry meterRegistry,
+                                @Value("${inventory.alert.low-stock.default:10}") int defaultLowStockThreshold,
+                                @Value("${inventory.alert.low-stock.overrides:}") List<String> lowStockOverrides,
+                                @Value("${inventory.alert.near-expiry-days:30}") int nearExpiryDays,
+                                @Value("${inventory.alert.bootstrap:true}") boolean bootstrap) {
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sinks = sinks.orderedStream().toList();
+        this.meterRegistry = meterRegistry;
+        this.defaultLowStockThreshold = defaultLowStockThreshold;
+        this.nearExpiryDays = nearExpiryDays;
+        this.bootstrap = bootstrap;
+        lowStockThresholds.putAll(KeyValueOverrides.parse(lowStockOverrides, "productId=threshold",
+                Long::parseLong, Integer::parseInt));
+
+        Gauge.builder("inventory.alerts.active", jdbcTemplate,
+                        template -> template.queryForObject(COUNT_ACTIVE_SQL, Long.class))
+                .description("Alerts currently raised")
+                .register(meterRegistry);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue the changed products for evaluation once the change has committed.
+     *
+     * @param event the stock change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        markDirty(event.productIds());
+    }
+
+    /**
+     * Evaluate every product once after startup, if {@code inventory.alert.bootstrap} is set.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!bootstrap) {
+            return;
+        }
+        int products = 0;
+        for (String shard : shardRouter.getShards()) {
+            List<Long> productIds = shardRouter.onShard(shard, () -> jdbcTemplate.queryForList(PRODUCTS_SQL, Long.class));
+            markDirty(productIds);
+            products += productIds.size();
+        }
+        log.info("Evaluating {} products for inventory alerts", products);
+    }
+
+    /**
+     * Re-evaluate the products whose batches enter the near-expiry window or expire today.
+     *
+     * @return number of products queued
+     */
+    @Scheduled(cron = "${inventory.alert.expiry-tick-cron:0 5 0 * * *}")
+    public int expiryTick() {
+        Set<Long> due = takeDue(LocalDate.now());
+        markDirty(due);
+        log.debug("Expiry tick queued {} products for alert evaluation", due.size());
+        return due.size();
+    }
+
+    /**
+     * Queue products for evaluation on the alert worker.
+     *
+     * @param productIds the products
+     */
+    public void markDirty(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        dirty.addAll(productIds);
+        scheduleDrain();
+    }
+
+    /**
+     * Low-stock threshold for a product.
+     *
+     * @param productId the product ID
+     * @return its override, or the default
+     */
+    public int getLowStockThreshold(Long productId) {
+        return lowStockThresholds.getOrDefault(productId, defaultLowStockThreshold);
+    }
+
+    /**
+     * Set a product's low-stock threshold until restart and re-evaluate the product.
+     *
+     * @param productId the product ID
+     * @param threshold alert when unexpired stock is below this
+     */
+    public void setLowStockThreshold(Long productId, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        lowStockThresholds.put(productId, threshold);
+        markDirty(List.of(productId));
+    }
+
+    /**
+     * Alerts currently raised, by product and type.
+     *
+     * @return active alerts
+     */
+    public List<InventoryAlertDTO> getActiveAlerts() {
+        return jdbcTemplate.query(SELECT_ACTIVE_SQL, (rs, rowNum) -> {
+            Date expiryDate = rs.getDate("expiry_date");
+            return InventoryAlertDTO.builder()
+                    .type(rs.getString("alert_type"))
+                    .state(AlertState.RAISED.name())
+                    .productId(rs.getLong("product_id"))
+                    .productName(rs.getString("product_name"))
+                    .quantity(rs.getObject("quantity", Integer.class))
+                    .threshold(rs.getObject("threshold", Integer.class))
+                    .expiryDate(expiryDate != null ? expiryDate.toLocalDate() : null)
+                    .at(rs.getTimestamp("raised_at").toInstant())
+                    .build();
+        });
+    }
+
+    /**
+     * Evaluate one product now, on the calling thread.
+     *
+     * @param productId the product ID
+     * @param today the current date
+     */
+    void evaluate(Long productId, LocalDate today) {
+        List<InventoryBatch> batches = ReadRoutingContext.onPrimary(() -> shardRouter.onProductShard(productId,
+                () -> inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId)));
+
+        LocalDate horizon = today.plusDays(nearExpiryDays);
+        String productName = null;
+        int stock = 0;
+        int expiring = 0;
+        LocalDate earliestExpiring = null;
+        LocalDate nextDue = null;
+        for (InventoryBatch batch : batches) {
+            productName = batch.getProductName();
+            LocalDate expiry = batch.getExpiryDate();
+            if (batch.getQuantity() <= 0 || expiry.isBefore(today)) {
+                continue;
+            }
+            stock += batch.getQuantity();
+            if (expiry.isAfter(horizon)) {
+                nextDue = earliest(nextDue, expiry.minusDays(nearExpiryDays));
+            } else {
+                expiring += batch.getQuantity();
+                earliestExpiring = earliest(earliestExpiring, expiry);
+                nextDue = earliest(nextDue, expiry.plusDays(1));
+            }
+        }
+
+        int threshold = getLowStockThreshold(productId);
+        InventoryAlertDTO.InventoryAlertDTOBuilder alert = InventoryAlertDTO.builder()
+                .productId(productId)
+                .productName(productName)
+                .at(Instant.now());
+        update(stock < threshold,
+                alert.type(AlertType.LOW_STOCK.name()).quantity(stock).threshold(threshold).expiryDate(null));
+        update(expiring > 0,
+                alert.type(AlertType.NEAR_EXPIRY.name()).quantity(expiring).threshold(null).expiryDate(earliestExpiring));
+        scheduleDue(productId, nextDue);
+    }
+
+    /**
+     * Remove and return the products due on or before a day.
+     *
+     * @param today the current date
+     * @return products to re-evaluate
+     */
+    Set<Long> takeDue(LocalDate today) {
+        Set<Long> due = new HashSet<>();
+        synchronized (dueByDay) {
+            NavigableMap<LocalDate, Set<Long>> head = dueByDay.headMap(today, true);
+            head.values().forEach(due::addAll);
+            head.clear();
+            due.forEach(dueDays::remove);
+        }
+        return due;
+    }
+
+    private void update(boolean condition, InventoryAlertDTO.InventoryAlertDTOBuilder alert) {
+        if (condition) {
+            InventoryAlertDTO raised = alert.state(AlertState.RAISED.name()).build();
+            Date expiryDate = sqlDate(raised.getExpiryDate());
+            // still raised: keep the latest figures but the original time
+            boolean created = JdbcUpsert.upsert(jdbcTemplate, REFRESH_ACTIVE_SQL,
+                    new Object[]{raised.getProductName(), raised.getQuantity(), raised.getThreshold(), expiryDate,
+                            raised.getProductId(), raised.getType()},
+                    INSERT_ACTIVE_SQL,
+                    new Object[]{raised.getProductId(), raised.getType(), raised.getProductName(),
+                            raised.getQuantity(), raised.getThreshold(), expiryDate, Timestamp.from(raised.getAt())});
+            // a node that finds the row already there leaves the sending to the one that created it
+            if (created) {
+                send(raised);
+            }
+        } else {
+            InventoryAlertDTO resolved = alert.state(AlertState.RESOLVED.name()).build();
+            if (jdbcTemplate.update(DELETE_ACTIVE_SQL, resolved.getProductId(), resolved.getType()) > 0) {
+                send(resolved);
+            }
+        }
+    }
+
+    private void send(InventoryAlertDTO alert) {
+        meterRegistry.counter("inventory.alerts", "type", alert.getType(), "state", alert.getState()).increment();
+        for (InventoryAlertSink sink : sinks) {
+            try {
+                sink.send(alert);
+            } catch (Exception e) {
+                log.error("Alert sink {} failed for product ID: {}", sink.getClass().getSimpleName(),
+                        alert.getProductId(), e);
+            }
+        }
+    }
+
+    private void scheduleDue(Long productId, LocalDate day) {
+        synchronized (dueByDay) {
+            LocalDate previous = day != null ? dueDays.put(productId, day) : dueDays.remove(productId);
+            if (previous != null && !previous.equals(day)) {
+                Set<Long> products = dueByDay.get(previous);
+                products.remove(productId);
+                if (products.isEmpty()) {
+                    dueByDay.remove(previous);
+                }
+            }
+            if (day != null) {
+                dueByDay.computeIfAbsent(day, d -> new HashSet<>()).add(productId);
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                worker.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            LocalDate today = LocalDate.now();
+            Iterator<Long> iterator = dirty.iterator();
+            while (iterator.hasNext()) {
+                Long productId = iterator.next();
+                iterator.remove();
+                try {
+                    evaluate(productId, today);
+                } catch (Exception e) {
+                    log.error("Failed to evaluate inventory alerts for product ID: {}", productId, e);
+                }
+            }
+        } finally {
+            draining.set(false);
+            if (!dirty.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+
+    private static Date sqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static LocalDate earliest(LocalDate current, LocalDate candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+
+/**
+ * Destination for inventory alerts. Every sink bean receives every alert, once when it is raised and
+ * once when it is resolved, on the alert engine's thread; a sink that blocks delays later alerts.
+ */
+public interface InventoryAlertSink {
+
+    /**
+     * Deliver one alert. Failures are logged by the engine and not retried.
+     *
+     * @param alert the alert
+     */
+    void send(InventoryAlertDTO alert);
+}
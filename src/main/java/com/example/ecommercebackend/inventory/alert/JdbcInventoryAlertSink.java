@@ -0,0 +1,37 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Appends alerts to the inventory_alert table, one row per raise or resolve.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.alert.sink.table.enabled", havingValue = "true")
+public class JdbcInventoryAlertSink implements InventoryAlertSink {
+
+    static final String INSERT_SQL = "INSERT INTO inventory_alert " +
+            "(product_id, alert_type, alert_state, quantity, threshold, expiry_date, alerted_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JdbcInventoryAlertSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void send(InventoryAlertDTO alert) {
+        jdbcTemplate.update(INSERT_SQL, alert.getProductId(), alert.getType(), alert.getState(),
+                alert.getQuantity(), alert.getThreshold(),
+                alert.getExpiryDate() != null ? Date.valueOf(alert.getExpiryDate()) : null,
+                Timestamp.from(alert.getAt()));
+    }
+}
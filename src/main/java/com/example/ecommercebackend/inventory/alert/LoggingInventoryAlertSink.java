@@ -0,0 +1,22 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes alerts to the application log.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "inventory.alert.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingInventoryAlertSink implements InventoryAlertSink {
+
+    @Override
+    public void send(InventoryAlertDTO alert) {
+        log.warn("Inventory alert {} {} for product ID: {} ({}): quantity {}, threshold {}, expiry {}",
+                alert.getType(), alert.getState(), alert.getProductId(), alert.getProductName(),
+                alert.getQuantity(), alert.getThreshold(), alert.getExpiryDate());
+    }
+}
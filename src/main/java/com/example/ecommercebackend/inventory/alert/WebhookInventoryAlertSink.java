@@ -0,0 +1,45 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Posts each alert as JSON to {@code inventory.alert.sink.webhook.url}. A minimal integration point:
+ * no retries, no signing, and a slow endpoint holds up later alerts for up to the timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.alert.sink.webhook.enabled", havingValue = "true")
+public class WebhookInventoryAlertSink implements InventoryAlertSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    @Autowired
+    public WebhookInventoryAlertSink(@Value("${inventory.alert.sink.webhook.url}") String url,
+                                     @Value("${inventory.alert.sink.webhook.timeout:PT5S}") Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public void send(InventoryAlertDTO alert) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(alert)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.ecommercebackend.inventory.analytics;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAnalyticsResultDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryProductQuantityDTO;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics over an in-memory columnar snapshot of inventory_batch.
+ * The snapshot is rebuilt every {@code inventory.analytics.refresh-interval} with one read-only scan
+ * per shard (served by the replica when one is configured) and swapped in whole, so queries never
+ * touch the database and never see a half-built snapshot. Answers are as of the snapshot's
+ * {@code asOf} time.
+ */
+@Service
+@Slf4j
+public class InventoryAnalyticsService {
+
+    static final int MAX_DAYS = 3650;
+    static final int MAX_LIMIT = 1000;
+
+    private static final String SCAN_SQL = "SELECT product_id, quantity, expiry_date FROM inventory_batch " +
+            "ORDER BY product_id";
+
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InventoryShardRouter shardRouter;
+    private final Timer refreshTimer;
+    private volatile InventoryColumnarSnapshot snapshot;
+
+    @Autowired
+    public InventoryAnalyticsService(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     InventoryShardRouter shardRouter,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${inventory.analytics.fetch-size:5000}") int fetchSize) {
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.shardRouter = shardRouter;
+        this.refreshTimer = Timer.builder("inventory.analytics.refresh")
+                .description("Time to rebuild the columnar inventory snapshot")
+                .register(meterRegistry);
+        Gauge.builder("inventory.analytics.snapshot.rows", this,
+                        service -> service.snapshot != null ? service.snapshot.getRowCount() : 0)
+                .description("Batches in the columnar inventory snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the snapshot from every shard and swap it in.
+     *
+     * @return the new snapshot
+     */
+    @Scheduled(initialDelayString = "${inventory.analytics.initial-delay:PT5S}",
+            fixedDelayString = "${inventory.analytics.refresh-interval:PT1M}")
+    public synchronized InventoryColumnarSnapshot refresh() {
+        long start = System.nanoTime();
+        Instant asOf = Instant.now();
+        InventoryColumnarSnapshot.Builder builder = InventoryColumnarSnapshot.builder();
+        for (String shard : shardRouter.getShards()) {
+            builder.startRun();
+            shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status -> {
+                scanTemplate.query(SCAN_SQL, rs -> {
+                    builder.add(rs.getLong(1), rs.getInt(2), rs.getDate(3).toLocalDate());
+                });
+                return null;
+            }));
+        }
+        InventoryColumnarSnapshot built = builder.build(asOf);
+        snapshot = built;
+
+        long elapsed = System.nanoTime() - start;
+        refreshTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Inventory snapshot rebuilt: {} batches, {} products in {} ms",
+                built.getRowCount(), built.getProductCount(), elapsed / 1_000_000);
+        return built;
+    }
+
+    /**
+     * The current snapshot, built on first use if the scheduled refresh has not run yet.
+     *
+     * @return the snapshot
+     */
+    public InventoryColumnarSnapshot getSnapshot() {
+        InventoryColumnarSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Stock expiring from today through the next {@code days} days, per product, largest first.
+     *
+     * @param days how many days ahead to look (0 for today only)
+     * @param limit maximum number of products
+     * @return expiring quantity per product
+     * @throws IllegalArgumentException if days or limit are out of range
+     */
+    public InventoryAnalyticsResultDTO getExpiring(int days, int limit) {
+        if (days < 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 0 and " + MAX_DAYS);
+        }
+        checkLimit(limit);
+        InventoryColumnarSnapshot current = getSnapshot();
+        LocalDate today = LocalDate.now();
+        return result(current, current.expiringBetween(today, today.plusDays(days), limit));
+    }
+
+    /**
+     * Products whose unexpired stock is below a reorder level, lowest first.
+     *
+     * @param level the reorder level
+     * @param limit maximum number of products
+     * @return unexpired quantity per product below the level
+     * @throws IllegalArgumentException if level or limit are out of range
+     */
+    public InventoryAnalyticsResultDTO getBelowReorderLevel(long level, int limit) {
+        if (level <= 0) {
+            throw new IllegalArgumentException("level must be positive");
+        }
+        checkLimit(limit);
+        InventoryColumnarSnapshot current = getSnapshot();
+        return result(current, current.belowLevel(level, LocalDate.now(), limit));
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static InventoryAnalyticsResultDTO result(InventoryColumnarSnapshot snapshot,
+                                                      List<InventoryColumnarSnapshot.ProductQuantity> products) {
+        return InventoryAnalyticsResultDTO.builder()
+                .asOf(snapshot.getAsOf())
+                .batchesScanned(snapshot.getRowCount())
+                .products(products.stream()
+                        .map(product -> new InventoryProductQuantityDTO(product.productId(), product.quantity()))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.ecommercebackend.inventory.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable column-oriented copy of inventory_batch for analytics scans.
+ * Each batch is one row across three primitive arrays (product ID, quantity, expiry as epoch day),
+ * sorted by product so per-product aggregates are contiguous runs found through an offset index
+ * rather than a hash table. Scans are split into a filter pass over whole columns, written as a plain
+ * counted loop with branch-free masking so the JIT can vectorize it, and a per-product reduction over
+ * the runs. A snapshot takes 16 bytes per batch plus 12 per product.
+ */
+public final class InventoryColumnarSnapshot {
+
+    /**
+     * Epoch-day bounds that are safe to subtract from any realistic expiry date.
+     */
+    public static final int MIN_DAY = Integer.MIN_VALUE / 2;
+    public static final int MAX_DAY = Integer.MAX_VALUE / 2;
+
+    private final long[] productIds;
+    private final int[] quantities;
+    private final int[] expiryDays;
+    private final long[] products;
+    private final int[] productStarts;
+    private final Instant asOf;
+
+    private InventoryColumnarSnapshot(long[] productIds, int[] quantities, int[] expiryDays, Instant asOf) {
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.expiryDays = expiryDays;
+        this.asOf = asOf;
+
+        int productCount = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            if (i == 0 || productIds[i] != productIds[i - 1]) {
+                productCount++;
+            }
+        }
+        this.products = new long[productCount];
+        this.productStarts = new int[productCount + 1];
+        int product = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            if (i == 0 || productIds[i] != productIds[i - 1]) {
+                products[product] = productIds[i];
+                productStarts[product++] = i;
+            }
+        }
+        productStarts[productCount] = productIds.length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static InventoryColumnarSnapshot empty(Instant asOf) {
+        return new InventoryColumnarSnapshot(new long[0], new int[0], new int[0], asOf);
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public int getRowCount() {
+        return productIds.length;
+    }
+
+    public int getProductCount() {
+        return products.length;
+    }
+
+    /**
+     * Quantity of each row whose expiry falls in {@code [fromDay, toDay]}, zero for every other row.
+     *
+     * @param fromDay first epoch day (inclusive), at least {@link #MIN_DAY}
+     * @param toDay last epoch day (inclusive), at most {@link #MAX_DAY}
+     * @return masked quantity column
+     */
+    int[] quantityExpiringBetween(int fromDay, int toDay) {
+        int[] masked = new int[quantities.length];
+        for (int i = 0; i < masked.length; i++) {
+            int day = expiryDays[i];
+            // all ones when day is outside the range: one of the differences is negative
+            int outside = ((day - fromDay) | (toDay - day)) >> 31;
+            masked[i] = quantities[i] & ~outside;
+        }
+        return masked;
+    }
+
+    /**
+     * Sum a row-aligned column per product.
+     *
+     * @param column values, one per row
+     * @return totals, one per product in {@link #products} order
+     */
+    long[] sumByProduct(int[] column) {
+        long[] totals = new long[products.length];
+        for (int product = 0; product < products.length; product++) {
+            long sum = 0;
+            for (int i = productStarts[product], end = productStarts[product + 1]; i < end; i++) {
+                sum += column[i];
+            }
+            totals[product] = sum;
+        }
+        return totals;
+    }
+
+    /**
+     * Products with stock expiring between two dates, largest quantity first.
+     *
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @param limit maximum number of products
+     * @return products with a positive expiring quantity
+     */
+    public List<ProductQuantity> expiringBetween(LocalDate from, LocalDate to, int limit) {
+        long[] totals = sumByProduct(quantityExpiringBetween(toDay(from), toDay(to)));
+        return collect(totals, total -> total > 0, Comparator.comparingLong(ProductQuantity::quantity).reversed(), limit);
+    }
+
+    /**
+     * Products whose unexpired stock is below a level, smallest quantity first. Only products that
+     * still have at least one batch in the table are known to the snapshot.
+     *
+     * @param level the reorder level
+     * @param today first day that counts as unexpired
+     * @param limit maximum number of products
+     * @return products below the level
+     */
+    public List<ProductQuantity> belowLevel(long level, LocalDate today, int limit) {
+        long[] totals = sumByProduct(quantityExpiringBetween(toDay(today), MAX_DAY));
+        return collect(totals, total -> total < level, Comparator.comparingLong(ProductQuantity::quantity), limit);
+    }
+
+    private List<ProductQuantity> collect(long[] totals, LongPredicate include,
+                                          Comparator<ProductQuantity> order, int limit) {
+        List<ProductQuantity> matches = new ArrayList<>();
+        for (int product = 0; product < totals.length; product++) {
+            if (include.test(totals[product])) {
+                matches.add(new ProductQuantity(products[product], totals[product]));
+            }
+        }
+        matches.sort(order.thenComparingLong(ProductQuantity::productId));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    static int toDay(LocalDate date) {
+        return (int) Math.max(MIN_DAY, Math.min(MAX_DAY, date.toEpochDay()));
+    }
+
+    /**
+     * A product and an aggregated quantity.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity
+     */
+    public record ProductQuantity(long productId, long quantity) {
+    }
+
+    /**
+     * Collects rows in one or more runs, each sorted by product ID (e.g. one per shard), and merges
+     * the runs when building.
+     */
+    public static final class Builder {
+
+        private long[] productIds = new long[1024];
+        private int[] quantities = new int[1024];
+        private int[] expiryDays = new int[1024];
+        private int size;
+        private final List<Integer> runStarts = new ArrayList<>(List.of(0));
+
+        private Builder() {
+        }
+
+        /**
+         * Start a new run; rows added from now on must again be in product order.
+         *
+         * @return this builder
+         */
+        public Builder startRun() {
+            if (runStarts.get(runStarts.size() - 1) != size) {
+                runStarts.add(size);
+            }
+            return this;
+        }
+
+        /**
+         * Add one batch.
+         *
+         * @param productId the product ID, not less than the previous one in this run
+         * @param quantity the batch quantity
+         * @param expiryDate the expiry date
+         * @return this builder
+         */
+        public Builder add(long productId, int quantity, LocalDate expiryDate) {
+            if (size > 0 && size != runStarts.get(runStarts.size() - 1) && productId < productIds[size - 1]) {
+                throw new IllegalArgumentException("Rows within a run must be in product order");
+            }
+            if (size == productIds.length) {
+                int capacity = size * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                expiryDays = Arrays.copyOf(expiryDays, capacity);
+            }
+            productIds[size] = productId;
+            quantities[size] = quantity;
+            expiryDays[size] = toDay(expiryDate);
+            size++;
+            return this;
+        }
+
+        public InventoryColumnarSnapshot build(Instant asOf) {
+            int runs = runStarts.size();
+            if (runs == 1) {
+                return new InventoryColumnarSnapshot(Arrays.copyOf(productIds, size),
+                        Arrays.copyOf(quantities, size), Arrays.copyOf(expiryDays, size), asOf);
+            }
+
+            // k-way merge; k is the number of shards, so a linear scan of the run heads is enough
+            int[] heads = new int[runs];
+            int[] ends = new int[runs];
+            for (int run = 0; run < runs; run++) {
+                heads[run] = runStarts.get(run);
+                ends[run] = run + 1 < runs ? runStarts.get(run + 1) : size;
+            }
+            long[] mergedProducts = new long[size];
+            int[] mergedQuantities = new int[size];
+            int[] mergedDays = new int[size];
+            for (int out = 0; out < size; out++) {
+                int next = -1;
+                for (int run = 0; run < runs; run++) {
+                    if (heads[run] < ends[run] && (next < 0 || productIds[heads[run]] < productIds[heads[next]])) {
+                        next = run;
+                    }
+                }
+                int row = heads[next]++;
+                mergedProducts[out] = productIds[row];
+                mergedQuantities[out] = quantities[row];
+                mergedDays[out] = expiryDays[row];
+            }
+            return new InventoryColumnarSnapshot(mergedProducts, mergedQuantities, mergedDays, asOf);
+        }
+    }
+}
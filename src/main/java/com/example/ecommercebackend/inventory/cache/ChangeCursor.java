@@ -0,0 +1,83 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Read position in one database's inventory_change table.
+ * Change IDs are allocated when a row is inserted but become visible when its transaction commits,
+ * so a lower ID can appear after a higher one. Skipped IDs are remembered as gaps and looked up again
+ * until they show up or time out (the transaction rolled back), so late commits are not missed.
+ */
+class ChangeCursor {
+
+    /** Jumps larger than this are not tracked as gaps (e.g. after the table was purged). */
+    static final int MAX_TRACKED_GAP = 10_000;
+
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+    private final long gapTimeoutNanos;
+    private long highest;
+
+    ChangeCursor(long start, long gapTimeoutNanos) {
+        this.highest = start;
+        this.gapTimeoutNanos = gapTimeoutNanos;
+    }
+
+    /**
+     * Poll for change IDs greater than this.
+     *
+     * @return highest change ID seen
+     */
+    long highest() {
+        return highest;
+    }
+
+    /**
+     * Skipped change IDs still worth looking up, oldest first.
+     *
+     * @param limit maximum number to return
+     * @return pending gap IDs
+     */
+    List<Long> gaps(int limit) {
+        return gaps.keySet().stream().limit(limit).toList();
+    }
+
+    /**
+     * Record a change ID returned by a poll.
+     *
+     * @param changeId the change ID
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return true if the change is new and must be delivered, false if it was seen before
+     */
+    boolean accept(long changeId, long nowNanos) {
+        if (changeId > highest) {
+            long first = Math.max(highest + 1, changeId - MAX_TRACKED_GAP);
+            for (long missing = first; missing < changeId; missing++) {
+                gaps.put(missing, nowNanos);
+            }
+            highest = changeId;
+            return true;
+        }
+        return gaps.remove(changeId) != null;
+    }
+
+    /**
+     * Give up on gaps older than the timeout.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     */
+    void expireGaps(long nowNanos) {
+        Iterator<Long> noticedAt = gaps.values().iterator();
+        while (noticedAt.hasNext()) {
+            if (nowNanos - noticedAt.next() > gapTimeoutNanos) {
+                noticedAt.remove();
+            }
+        }
+    }
+
+    int gapCount() {
+        return gaps.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus for several nodes sharing a database, with no broker.
+ * {@link #publish} writes one inventory_change row per product inside the transaction that changed
+ * stock, so the notice commits or rolls back with the change itself, and notifies this node after
+ * commit. Every node polls the table (each shard, when inventory is sharded) and delivers rows written
+ * by other nodes. Worst-case staleness is the poll interval plus the commit-to-poll delay.
+ */
+@Slf4j
+public class DbPollingInvalidationBus implements InvalidationBus {
+
+    static final String INSERT_SQL = "INSERT INTO inventory_change (product_id, origin, changed_at) VALUES (?, ?, ?)";
+    static final String POLL_SQL = "SELECT change_id, product_id, origin, changed_at FROM inventory_change " +
+            "WHERE change_id > ? ORDER BY change_id LIMIT ?";
+    static final String GAP_SQL = "SELECT change_id, product_id, origin, changed_at FROM inventory_change " +
+            "WHERE change_id IN (%s)";
+    static final String MAX_ID_SQL = "SELECT COALESCE(MAX(change_id), 0) FROM inventory_change";
+    static final String PURGE_SQL = "DELETE FROM inventory_change WHERE changed_at < ?";
+
+    private static final int MAX_GAPS_PER_POLL = 100;
+
+    private final LocalInvalidationBus local;
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryShardRouter shardRouter;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final Map<String, ChangeCursor> cursors = new ConcurrentHashMap<>();
+
+    public DbPollingInvalidationBus(String nodeId,
+                                    JdbcTemplate jdbcTemplate,
+                                    InventoryShardRouter shardRouter,
+                                    int batchSize,
+                                    Duration gapTimeout,
+                                    Duration retention) {
+        this.local = new LocalInvalidationBus(nodeId);
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+    }
+
+    @Override
+    public String getNodeId() {
+        return local.getNodeId();
+    }
+
+    @Override
+    public void publish(Set<Long> productIds) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = productIds.stream()
+                .map(productId -> new Object[]{productId, getNodeId(), now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        local.publish(productIds);
+    }
+
+    @Override
+    public void subscribe(Consumer<InventoryInvalidation> subscriber) {
+        local.subscribe(subscriber);
+    }
+
+    /**
+     * Deliver changes other nodes committed since the last poll.
+     *
+     * @return number of invalidations delivered
+     */
+    @Scheduled(fixedDelayString = "${inventory.cache.bus.poll-interval:PT0.5S}")
+    public synchronized int poll() {
+        int delivered = 0;
+        for (String shard : shardRouter.getShards()) {
+            delivered += shardRouter.onShard(shard, () -> pollShard(shard));
+        }
+        return delivered;
+    }
+
+    private int pollShard(String shard) {
+        ChangeCursor cursor = cursors.computeIfAbsent(shard, name -> {
+            Long start = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+            return new ChangeCursor(start != null ? start : 0, gapTimeoutNanos);
+        });
+
+        long now = System.nanoTime();
+        // one invalidation per origin and change time, i.e. per publishing transaction
+        Map<ChangeKey, Set<Long>> changes = new LinkedHashMap<>();
+        RowCallbackHandler collect = rs -> {
+            String origin = rs.getString("origin");
+            if (cursor.accept(rs.getLong("change_id"), now) && !origin.equals(getNodeId())) {
+                ChangeKey key = new ChangeKey(origin, rs.getTimestamp("changed_at").getTime());
+                changes.computeIfAbsent(key, k -> new HashSet<>()).add(rs.getLong("product_id"));
+            }
+        };
+        List<Long> gaps = cursor.gaps(MAX_GAPS_PER_POLL);
+        if (!gaps.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+            jdbcTemplate.query(GAP_SQL.formatted(placeholders), collect, gaps.toArray());
+        }
+        jdbcTemplate.query(POLL_SQL, collect, cursor.highest(), batchSize);
+        cursor.expireGaps(now);
+
+        changes.forEach((key, productIds) ->
+                local.deliver(new InventoryInvalidation(key.origin(), productIds, key.changedAtMillis())));
+        if (cursor.gapCount() > 0) {
+            log.debug("{} inventory changes on {} not yet visible", cursor.gapCount(), shard);
+        }
+        return changes.size();
+    }
+
+    /**
+     * Delete change rows older than the retention period; every node has long since polled them.
+     */
+    @Scheduled(fixedDelayString = "${inventory.cache.bus.purge-interval:PT1M}")
+    public void purge() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retention.toMillis());
+        for (String shard : shardRouter.getShards()) {
+            int purged = shardRouter.onShard(shard, () -> jdbcTemplate.update(PURGE_SQL, cutoff));
+            if (purged > 0) {
+                log.debug("Purged {} inventory change rows on {}", purged, shard);
+            }
+        }
+    }
+
+    private record ChangeKey(String origin, long changedAtMillis) {
+    }
+}
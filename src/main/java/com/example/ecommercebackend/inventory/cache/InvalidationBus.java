@@ -0,0 +1,33 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Carries inventory invalidations to every node's cache, including the node that made the change.
+ * Implementations must not need an external broker.
+ */
+public interface InvalidationBus {
+
+    /**
+     * ID of this node, used as the origin of invalidations it publishes.
+     *
+     * @return node ID
+     */
+    String getNodeId();
+
+    /**
+     * Announce a stock change. Called inside the transaction that made it (or without one); subscribers
+     * are only notified once that transaction commits.
+     *
+     * @param productIds the products whose stock changed
+     */
+    void publish(Set<Long> productIds);
+
+    /**
+     * Register a subscriber for invalidations from this and other nodes.
+     *
+     * @param subscriber receives each invalidation
+     */
+    void subscribe(Consumer<InventoryInvalidation> subscriber);
+}
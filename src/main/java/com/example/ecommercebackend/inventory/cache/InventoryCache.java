@@ -0,0 +1,201 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of inventory responses, kept coherent across nodes by an {@link InvalidationBus}.
+ * <p>
+ * Entries are versioned so a slow load cannot overwrite a newer invalidation: every invalidation
+ * takes the next version and leaves a tombstone carrying it, and a load only stores its result if no
+ * invalidation for the product arrived after the load started. Entries also expire after
+ * {@code inventory.cache.ttl}, which bounds staleness if an invalidation is ever lost. The cache only
+ * serves reads; updates always check stock in the database, so a stale read cannot oversell.
+ */
+@Component
+@Slf4j
+public class InventoryCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final String nodeId;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejectedLoads;
+    private final Timer localLag;
+    private final Timer remoteLag;
+
+    @Autowired
+    public InventoryCache(InvalidationBus invalidationBus,
+                          MeterRegistry meterRegistry,
+                          @Value("${inventory.cache.enabled:true}") boolean enabled,
+                          @Value("${inventory.cache.ttl:PT30S}") Duration ttl,
+                          @Value("${inventory.cache.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nodeId = invalidationBus.getNodeId();
+        this.hits = meterRegistry.counter("inventory.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("inventory.cache.requests", "result", "miss");
+        this.rejectedLoads = meterRegistry.counter("inventory.cache.loads.rejected");
+        this.localLag = lagTimer(meterRegistry, "local");
+        this.remoteLag = lagTimer(meterRegistry, "remote");
+        if (enabled) {
+            invalidationBus.subscribe(this::invalidate);
+        }
+    }
+
+    /**
+     * A cache that never stores anything.
+     *
+     * @return pass-through cache
+     */
+    public static InventoryCache disabled() {
+        return new InventoryCache(new LocalInvalidationBus("local"), new SimpleMeterRegistry(),
+                false, Duration.ZERO, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The cached response for a product, or the loader's result, stored unless the product was
+     * invalidated while loading.
+     *
+     * @param productId the product ID
+     * @param loader reads the product's inventory from the database
+     * @return inventory response
+     */
+    public InventoryResponseDTO get(Long productId, Supplier<InventoryResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        InventoryResponseDTO cached = getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadVersion = currentVersion();
+        InventoryResponseDTO loaded = loader.get();
+        put(productId, loaded, loadVersion);
+        return loaded;
+    }
+
+    /**
+     * The cached response for a product, counting a hit or a miss.
+     *
+     * @param productId the product ID
+     * @return cached response, or null
+     */
+    public InventoryResponseDTO getIfPresent(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(productId);
+        if (entry != null && entry.value() != null && !entry.isExpired(System.nanoTime(), ttlNanos)) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Version to pass to {@link #put}; read it before loading from the database.
+     *
+     * @return current version
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Store a loaded response unless the product was invalidated after {@code loadVersion} was read.
+     *
+     * @param productId the product ID
+     * @param value the loaded response
+     * @param loadVersion {@link #currentVersion()} read before the load
+     * @return true if stored
+     */
+    public boolean put(Long productId, InventoryResponseDTO value, long loadVersion) {
+        if (!enabled) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Entry stored = entries.compute(productId, (id, current) ->
+                current != null && current.version() > loadVersion ? current : new Entry(value, loadVersion, now));
+        if (stored.value() != value) {
+            rejectedLoads.increment();
+            return false;
+        }
+        if (entries.size() > maxEntries) {
+            evict(now);
+        }
+        return true;
+    }
+
+    /**
+     * Drop products from the cache, leaving tombstones that reject loads started before now.
+     *
+     * @param invalidation the invalidation
+     */
+    void invalidate(InventoryInvalidation invalidation) {
+        long now = System.nanoTime();
+        long invalidationVersion = version.incrementAndGet();
+        invalidation.productIds().forEach(productId ->
+                entries.put(productId, new Entry(null, invalidationVersion, now)));
+
+        long lagMillis = Math.max(0, System.currentTimeMillis() - invalidation.changedAtMillis());
+        (nodeId.equals(invalidation.origin()) ? localLag : remoteLag).record(lagMillis, TimeUnit.MILLISECONDS);
+        log.trace("Invalidated {} from {} after {} ms", invalidation.productIds(), invalidation.origin(), lagMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        // expired entries first; then live values, but never a live tombstone
+        entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+        Iterator<Entry> iterator = entries.values().iterator();
+        int target = maxEntries - maxEntries / 10;
+        while (entries.size() > target && iterator.hasNext()) {
+            if (iterator.next().value() != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("inventory.cache.invalidation.lag")
+                .description("Time from a stock change to its cache invalidation on this node")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Entry(InventoryResponseDTO value, long version, long storedAtNanos) {
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - storedAtNanos > ttlNanos;
+        }
+    }
+}
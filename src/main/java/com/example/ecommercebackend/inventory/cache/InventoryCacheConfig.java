@@ -0,0 +1,41 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Chooses the invalidation bus with {@code inventory.cache.bus}: {@code local} (default) for a single
+ * node, {@code db} when several nodes share the database.
+ */
+@Configuration
+public class InventoryCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.cache.bus", havingValue = "local", matchIfMissing = true)
+    public LocalInvalidationBus localInvalidationBus(@Value("${inventory.cache.node-id:}") String nodeId) {
+        return new LocalInvalidationBus(nodeId(nodeId));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.cache.bus", havingValue = "db")
+    public DbPollingInvalidationBus dbPollingInvalidationBus(
+            @Value("${inventory.cache.node-id:}") String nodeId,
+            JdbcTemplate jdbcTemplate,
+            InventoryShardRouter shardRouter,
+            @Value("${inventory.cache.bus.batch-size:500}") int batchSize,
+            @Value("${inventory.cache.bus.gap-timeout:PT10S}") Duration gapTimeout,
+            @Value("${inventory.cache.bus.retention:PT10M}") Duration retention) {
+        return new DbPollingInvalidationBus(nodeId(nodeId), jdbcTemplate, shardRouter, batchSize, gapTimeout, retention);
+    }
+
+    private static String nodeId(String configured) {
+        return configured.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : configured;
+    }
+}
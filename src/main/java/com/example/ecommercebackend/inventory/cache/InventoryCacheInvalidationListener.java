@@ -0,0 +1,27 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes every stock change on the invalidation bus. Runs just before the changing transaction
+ * commits, so a bus that records the change in the database does so atomically with it.
+ */
+@Component
+public class InventoryCacheInvalidationListener {
+
+    private final InvalidationBus invalidationBus;
+
+    @Autowired
+    public InventoryCacheInvalidationListener(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidationBus.publish(event.productIds());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import java.util.Set;
+
+/**
+ * Notice that stock for some products changed on a node, so cached copies must be dropped.
+ * Carries no values: an invalidation is idempotent and safe to receive late, twice or out of order.
+ *
+ * @param origin node ID of the node that made the change
+ * @param productIds the products whose stock changed
+ * @param changedAtMillis wall-clock time of the change on the origin node, for lag measurement
+ */
+public record InventoryInvalidation(String origin, Set<Long> productIds, long changedAtMillis) {
+}
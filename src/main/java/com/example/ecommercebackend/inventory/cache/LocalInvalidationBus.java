@@ -0,0 +1,58 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM invalidation bus: delivers to every subscriber in this JVM once the publishing transaction
+ * commits. Enough for a single node, and used by {@link DbPollingInvalidationBus} for its own node.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final String nodeId;
+    private final List<Consumer<InventoryInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    public LocalInvalidationBus(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(Set<Long> productIds) {
+        InventoryInvalidation invalidation =
+                new InventoryInvalidation(nodeId, Set.copyOf(productIds), System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(invalidation);
+                }
+            });
+        } else {
+            deliver(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InventoryInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Hand an invalidation to every subscriber now.
+     *
+     * @param invalidation the invalidation
+     */
+    public void deliver(InventoryInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.ecommercebackend.inventory.codec;
+
+import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding for the inventory DTOs exchanged between Order and Inventory services.
+ * Integers are written as LEB128 varints (signed values zig-zag encoded), batch IDs and expiry
+ * dates are delta-encoded against the previous batch, and strings are length-prefixed UTF-8.
+ * Nullable fields are tracked in a presence bitmask so the decoded DTO matches the JSON form.
+ */
+public final class InventoryWireCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-inventory-varint";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int FORMAT_VERSION = 3;
+    private static final int TYPE_RESPONSE = 1;
+    private static final int TYPE_UPDATE = 2;
+
+    private static final int HAS_PRODUCT_ID = 1;
+    private static final int HAS_PRODUCT_NAME = 1 << 1;
+    private static final int HAS_TOTAL_QUANTITY = 1 << 2;
+    private static final int HAS_BATCHES = 1 << 3;
+    private static final int HAS_QUANTITY = 1 << 4;
+    private static final int HAS_BATCH_IDS = 1 << 5;
+    private static final int HAS_ORDER_DATE = 1 << 6;
+
+    private static final int BATCH_HAS_ID = 1;
+    private static final int BATCH_HAS_QUANTITY = 1 << 1;
+    private static final int BATCH_HAS_EXPIRY = 1 << 2;
+    private static final int BATCH_HAS_MARKDOWN = 1 << 3;
+
+    private InventoryWireCodec() {
+    }
+
+    /**
+     * Encode an inventory response.
+     *
+     * @param response the inventory response
+     * @return encoded bytes
+     */
+    public static byte[] encode(InventoryResponseDTO response) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimateSize(response));
+        try {
+            write(response, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode inventory response", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encode an inventory update request.
+     *
+     * @param update the inventory update request
+     * @return encoded bytes
+     */
+    public static byte[] encode(InventoryUpdateDTO update) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        try {
+            write(update, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode inventory update", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Write an inventory response to the given stream.
+     *
+     * @param response the inventory response
+     * @param out the target stream
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(InventoryResponseDTO response, OutputStream out) throws IOException {
+        writeHeader(out, TYPE_RESPONSE);
+
+        List<InventoryBatchDTO> batches = response.getBatches();
+        int flags = (response.getProductId() != null ? HAS_PRODUCT_ID : 0)
+                | (response.getProductName() != null ? HAS_PRODUCT_NAME : 0)
+                | (response.getTotalQuantity() != null ? HAS_TOTAL_QUANTITY : 0)
+                | (batches != null ? HAS_BATCHES : 0);
+        writeVarLong(out, flags);
+
+        if (response.getProductId() != null) {
+            writeSignedVarLong(out, response.getProductId());
+        }
+        if (response.getProductName() != null) {
+            writeString(out, response.getProductName());
+        }
+        if (response.getTotalQuantity() != null) {
+            writeSignedVarLong(out, response.getTotalQuantity());
+        }
+        if (batches != null) {
+            writeVarLong(out, batches.size());
+            long previousBatchId = 0;
+            long previousEpochDay = 0;
+            for (InventoryBatchDTO batch : batches) {
+                int batchFlags = (batch.getBatchId() != null ? BATCH_HAS_ID : 0)
+                        | (batch.getQuantity() != null ? BATCH_HAS_QUANTITY : 0)
+                        | (batch.getExpiryDate() != null ? BATCH_HAS_EXPIRY : 0)
+                        | (batch.getMarkdownPercent() != null ? BATCH_HAS_MARKDOWN : 0);
+                out.write(batchFlags);
+
+                if (batch.getBatchId() != null) {
+                    writeSignedVarLong(out, batch.getBatchId() - previousBatchId);
+                    previousBatchId = batch.getBatchId();
+                }
+                if (batch.getQuantity() != null) {
+                    writeSignedVarLong(out, batch.getQuantity());
+                }
+                if (batch.getExpiryDate() != null) {
+                    long epochDay = batch.getExpiryDate().toEpochDay();
+                    writeSignedVarLong(out, epochDay - previousEpochDay);
+                    previousEpochDay = epochDay;
+                }
+                if (batch.getMarkdownPercent() != null) {
+                    writeSignedVarLong(out, batch.getMarkdownPercent());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write an inventory update request to the given stream.
+     * The comma-separated batch ID list is sent as delta-encoded varints.
+     *
+     * @param update the inventory update request
+     * @param out the target stream
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(InventoryUpdateDTO update, OutputStream out) throws IOException {
+        writeHeader(out, TYPE_UPDATE);
+
+        int flags = (update.getProductId() != null ? HAS_PRODUCT_ID : 0)
+                | (update.getQuantityToReduce() != null ? HAS_QUANTITY : 0)
+                | (update.getBatchIds() != null ? HAS_BATCH_IDS : 0)
+                | (update.getOrderDate() != null ? HAS_ORDER_DATE : 0);
+        writeVarLong(out, flags);
+
+        if (update.getProductId() != null) {
+            writeSignedVarLong(out, update.getProductId());
+        }
+        if (update.getQuantityToReduce() != null) {
+            writeSignedVarLong(out, update.getQuantityToReduce());
+        }
+        if (update.getBatchIds() != null) {
+            List<Long> batchIds = parseBatchIds(update.getBatchIds());
+            writeVarLong(out, batchIds.size());
+            long previous = 0;
+            for (Long batchId : batchIds) {
+                writeSignedVarLong(out, batchId - previous);
+                previous = batchId;
+            }
+        }
+        if (update.getOrderDate() != null) {
+            writeSignedVarLong(out, update.getOrderDate().toEpochDay());
+        }
+    }
+
+    /**
+     * Read an inventory response from the given stream.
+     *
+     * @param in the source stream
+     * @return the decoded inventory response
+     * @throws IOException if the stream is truncated or not in this format
+     */
+    public static InventoryResponseDTO readResponse(InputStream in) throws IOException {
+        readHeader(in, TYPE_RESPONSE);
+        int flags = (int) readVarLong(in);
+
+        InventoryResponseDTO response = new InventoryResponseDTO();
+        if ((flags & HAS_PRODUCT_ID) != 0) {
+            response.setProductId(readSignedVarLong(in));
+        }
+        if ((flags & HAS_PRODUCT_NAME) != 0) {
+            response.setProductName(readString(in));
+        }
+        if ((flags & HAS_TOTAL_QUANTITY) != 0) {
+            response.setTotalQuantity((int) readSignedVarLong(in));
+        }
+        if ((flags & HAS_BATCHES) != 0) {
+            int count = readCount(in);
+            List<InventoryBatchDTO> batches = new ArrayList<>(count);
+            long previousBatchId = 0;
+            long previousEpochDay = 0;
+            for (int i = 0; i < count; i++) {
+                int batchFlags = readByte(in);
+                InventoryBatchDTO batch = new InventoryBatchDTO();
+                if ((batchFlags & BATCH_HAS_ID) != 0) {
+                    previousBatchId += readSignedVarLong(in);
+                    batch.setBatchId(previousBatchId);
+                }
+                if ((batchFlags & BATCH_HAS_QUANTITY) != 0) {
+                    batch.setQuantity((int) readSignedVarLong(in));
+                }
+                if ((batchFlags & BATCH_HAS_EXPIRY) != 0) {
+                    previousEpochDay += readSignedVarLong(in);
+                    batch.setExpiryDate(LocalDate.ofEpochDay(previousEpochDay));
+                }
+                if ((batchFlags & BATCH_HAS_MARKDOWN) != 0) {
+                    batch.setMarkdownPercent((int) readSignedVarLong(in));
+                }
+                batches.add(batch);
+            }
+            response.setBatches(batches);
+        }
+        return response;
+    }
+
+    /**
+     * Read an inventory update request from the given stream.
+     *
+     * @param in the source stream
+     * @return the decoded inventory update request
+     * @throws IOException if the stream is truncated or not in this format
+     */
+    public static InventoryUpdateDTO readUpdate(InputStream in) throws IOException {
+        readHeader(in, TYPE_UPDATE);
+        int flags = (int) readVarLong(in);
+
+        InventoryUpdateDTO update = new InventoryUpdateDTO();
+        if ((flags & HAS_PRODUCT_ID) != 0) {
+            update.setProductId(readSignedVarLong(in));
+        }
+        if ((flags & HAS_QUANTITY) != 0) {
+            update.setQuantityToReduce((int) readSignedVarLong(in));
+        }
+        if ((flags & HAS_BATCH_IDS) != 0) {
+            int count = readCount(in);
+            StringBuilder batchIds = new StringBuilder(count * 4);
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += readSignedVarLong(in);
+                if (i > 0) {
+                    batchIds.append(',');
+                }
+                batchIds.append(previous);
+            }
+            update.setBatchIds(batchIds.toString());
+        }
+        if ((flags & HAS_ORDER_DATE) != 0) {
+            update.setOrderDate(LocalDate.ofEpochDay(readSignedVarLong(in)));
+        }
+        return update;
+    }
+
+    private static List<Long> parseBatchIds(String batchIds) {
+        List<Long> ids = new ArrayList<>();
+        int start = 0;
+        int length = batchIds.length();
+        while (start < length) {
+            int end = batchIds.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            String token = batchIds.substring(start, end).trim();
+            if (!token.isEmpty()) {
+                ids.add(Long.parseLong(token));
+            }
+            start = end + 1;
+        }
+        return ids;
+    }
+
+    private static int estimateSize(InventoryResponseDTO response) {
+        int batches = response.getBatches() != null ? response.getBatches().size() : 0;
+        return 32 + batches * 8;
+    }
+
+    private static void writeHeader(OutputStream out, int type) throws IOException {
+        out.write(FORMAT_VERSION);
+        out.write(type);
+    }
+
+    private static void readHeader(InputStream in, int expectedType) throws IOException {
+        int version = readByte(in);
+        int type = readByte(in);
+        if (version != FORMAT_VERSION || type != expectedType) {
+            throw new IOException("Unsupported inventory wire format version " + version + ", type " + type);
+        }
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        int length = readCount(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated string in inventory wire format");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeSignedVarLong(OutputStream out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readSignedVarLong(InputStream in) throws IOException {
+        long raw = readVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in inventory wire format");
+    }
+
+    private static int readCount(InputStream in) throws IOException {
+        long count = readVarLong(in);
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IOException("Invalid element count in inventory wire format: " + count);
+        }
+        return (int) count;
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of inventory wire format");
+        }
+        return b;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommercebackend.inventory.codec;
+
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * HTTP message converter for the compact inventory wire format.
+ * Only handles the inventory DTOs used on the Order to Inventory hop; every other type
+ * (and every client that does not ask for {@link InventoryWireCodec#MEDIA_TYPE}) stays on JSON.
+ */
+@Component
+public class InventoryWireHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public InventoryWireHttpMessageConverter() {
+        super(InventoryWireCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return InventoryResponseDTO.class == clazz || InventoryUpdateDTO.class == clazz;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        InputStream body = new BufferedInputStream(inputMessage.getBody());
+        if (InventoryResponseDTO.class == clazz) {
+            return InventoryWireCodec.readResponse(body);
+        }
+        return InventoryWireCodec.readUpdate(body);
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = object instanceof InventoryResponseDTO response
+                ? InventoryWireCodec.encode(response)
+                : InventoryWireCodec.encode((InventoryUpdateDTO) object);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+}
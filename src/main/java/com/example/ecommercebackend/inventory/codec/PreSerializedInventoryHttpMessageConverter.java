@@ -0,0 +1,171 @@
+package com.example.ecommercebackend.inventory.codec;
+
+import com.example.ecommercebackend.inventory.cache.InvalidationBus;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes inventory responses as JSON from a cache of encoded bytes.
+ * Responses are keyed by product and by the ETag the controller set, which changes with every stock
+ * change, so the bytes written always match the DTO; entries are also dropped when the invalidation
+ * bus reports a change, so memory is not held for stale versions. With {@code gzip} enabled a
+ * compressed copy is kept as well and sent to clients that accept it, with the ETag made weak as
+ * the representation differs. Responses without an ETag are serialized as usual.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.http.byte-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PreSerializedInventoryHttpMessageConverter extends AbstractHttpMessageConverter<InventoryResponseDTO> {
+
+    private static final String GZIP = "gzip";
+
+    private final JsonMapper jsonMapper;
+    private final int maxEntries;
+    private final boolean gzipEnabled;
+    private final int gzipMinSize;
+    private final Map<Long, Encoded> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public PreSerializedInventoryHttpMessageConverter(JsonMapper jsonMapper,
+                                                      InvalidationBus invalidationBus,
+                                                      MeterRegistry meterRegistry,
+                                                      @Value("${inventory.http.byte-cache.max-entries:10000}") int maxEntries,
+                                                      @Value("${inventory.http.byte-cache.gzip:true}") boolean gzipEnabled,
+                                                      @Value("${inventory.http.byte-cache.gzip-min-size:512}") int gzipMinSize) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonMapper = jsonMapper;
+        this.maxEntries = maxEntries;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = gzipMinSize;
+        this.hits = meterRegistry.counter("inventory.http.byte-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("inventory.http.byte-cache.requests", "result", "miss");
+        invalidationBus.subscribe(invalidation -> invalidation.productIds().forEach(entries::remove));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return InventoryResponseDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected InventoryResponseDTO readInternal(Class<? extends InventoryResponseDTO> clazz,
+                                                HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(InventoryResponseDTO response, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        String eTag = headers.getETag();
+        if (eTag == null || response.getProductId() == null) {
+            write(jsonMapper.writeValueAsBytes(response), outputMessage);
+            return;
+        }
+
+        Encoded encoded = entries.get(response.getProductId());
+        if (encoded != null && encoded.eTag().equals(eTag)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            encoded = encode(response, eTag);
+            entries.put(response.getProductId(), encoded);
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+
+        if (gzipEnabled) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (encoded.gzip() != null && acceptsGzip()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.setETag("W/" + eTag);
+            write(encoded.gzip(), outputMessage);
+        } else {
+            write(encoded.json(), outputMessage);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Encoded encode(InventoryResponseDTO response, String eTag) {
+        byte[] json = jsonMapper.writeValueAsBytes(response);
+        byte[] gzip = null;
+        if (gzipEnabled && json.length >= gzipMinSize) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            gzip = compressed.toByteArray();
+        }
+        return new Encoded(eTag, json, gzip);
+    }
+
+    private void evict() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        int target = maxEntries - maxEntries / 10;
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static void write(byte[] bytes, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean acceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String acceptEncoding = servletAttributes.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Encoded(String eTag, byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ecommercebackend.inventory.controller;
+
+import com.example.ecommercebackend.inventory.alert.InventoryAlertEngine;
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for inventory alerts.
+ * Lists the alerts currently raised on this node and adjusts low-stock thresholds.
+ */
+@RestController
+@RequestMapping("/inventory/alerts")
+@Tag(name = "Inventory Alerts", description = "Low-stock and near-expiry alerts")
+@ConditionalOnProperty(name = "inventory.alert.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InventoryAlertController {
+
+    private final InventoryAlertEngine alertEngine;
+
+    @Autowired
+    public InventoryAlertController(InventoryAlertEngine alertEngine) {
+        this.alertEngine = alertEngine;
+    }
+
+    /**
+     * Alerts currently raised.
+     *
+     * @return active alerts by product and type
+     */
+    @GetMapping
+    @Operation(summary = "Active inventory alerts",
+            description = "Returns the low-stock and near-expiry alerts currently raised")
+    @ApiResponse(responseCode = "200", description = "Alerts retrieved successfully")
+    public ResponseEntity<List<InventoryAlertDTO>> getActiveAlerts() {
+        return ResponseEntity.ok(alertEngine.getActiveAlerts());
+    }
+
+    /**
+     * Set a product's low-stock threshold; the product is re-evaluated straight away.
+     *
+     * @param productId the product ID
+     * @param lowStock alert when unexpired stock is below this
+     * @return 204 once the threshold is set
+     */
+    @PutMapping("/thresholds/{productId}")
+    @Operation(summary = "Set low-stock threshold",
+            description = "Sets the low-stock threshold for a product until restart and re-evaluates its alerts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Threshold set"),
+            @ApiResponse(responseCode = "400", description = "Negative threshold")
+    })
+    public ResponseEntity<Void> setLowStockThreshold(
+            @Parameter(description = "Product ID", example = "1001")
+            @PathVariable Long productId,
+            @Parameter(description = "Low-stock threshold", example = "10")
+            @RequestParam int lowStock) {
+        try {
+            alertEngine.setLowStockThreshold(productId, lowStock);
+            log.info("Low-stock threshold for product ID {} set to {}", productId, lowStock);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid low-stock threshold: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ecommercebackend.inventory.controller;
+
+import com.example.ecommercebackend.inventory.analytics.InventoryAnalyticsService;
+import com.example.ecommercebackend.inventory.dto.InventoryAnalyticsResultDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for inventory analytics.
+ * Answers come from a periodically refreshed in-memory snapshot, not from the database.
+ */
+@RestController
+@RequestMapping("/inventory/analytics")
+@Tag(name = "Inventory Analytics", description = "Stock reports from an in-memory inventory snapshot")
+@Slf4j
+public class InventoryAnalyticsController {
+
+    private final InventoryAnalyticsService inventoryAnalyticsService;
+
+    @Autowired
+    public InventoryAnalyticsController(InventoryAnalyticsService inventoryAnalyticsService) {
+        this.inventoryAnalyticsService = inventoryAnalyticsService;
+    }
+
+    /**
+     * Stock expiring within the next days, per product.
+     *
+     * @param days how many days ahead to look
+     * @param limit maximum number of products
+     * @return expiring quantity per product, largest first
+     */
+    @GetMapping("/expiring")
+    @Operation(summary = "Stock expiring soon",
+            description = "Returns per product the quantity in batches expiring from today through the next days")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report computed successfully",
+                    content = @Content(schema = @Schema(implementation = InventoryAnalyticsResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid days or limit")
+    })
+    public ResponseEntity<InventoryAnalyticsResultDTO> getExpiring(
+            @Parameter(description = "Days ahead (max 3650)", example = "30")
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Maximum number of products (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(inventoryAnalyticsService.getExpiring(days, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid expiring stock request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Products whose unexpired stock is below a reorder level.
+     *
+     * @param level the reorder level
+     * @param limit maximum number of products
+     * @return unexpired quantity per product, lowest first
+     */
+    @GetMapping("/below-reorder-level")
+    @Operation(summary = "Products below reorder level",
+            description = "Returns products whose unexpired stock is below the given level")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report computed successfully",
+                    content = @Content(schema = @Schema(implementation = InventoryAnalyticsResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid level or limit")
+    })
+    public ResponseEntity<InventoryAnalyticsResultDTO> getBelowReorderLevel(
+            @Parameter(description = "Reorder level", example = "10")
+            @RequestParam long level,
+            @Parameter(description = "Maximum number of products (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(inventoryAnalyticsService.getBelowReorderLevel(level, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid reorder level request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
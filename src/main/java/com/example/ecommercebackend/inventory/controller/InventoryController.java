@@ -1,8 +1,17 @@
 package com.example.ecommercebackend.inventory.controller;
 
+import com.example.ecommercebackend.config.admission.AdmissionControlFilter;
+import com.example.ecommercebackend.config.admission.InternalCallToken;
+import com.example.ecommercebackend.inventory.codec.InventoryWireCodec;
+import com.example.ecommercebackend.inventory.dto.InventoryImportResultDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryReceiptDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryStockChangeDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import com.example.ecommercebackend.inventory.factory.InventoryStrategyType;
+import com.example.ecommercebackend.inventory.service.InventoryImportService;
 import com.example.ecommercebackend.inventory.service.InventoryService;
+import com.example.ecommercebackend.inventory.stream.InventoryStockStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +21,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST controller for Inventory Service.
@@ -27,32 +48,140 @@ import org.springframework.web.bind.annotation.*;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventoryImportService inventoryImportService;
+    private final InventoryStockStream stockStream;
+    private final CacheControl anonymousCacheControl;
 
     @Autowired
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService,
+                               InventoryImportService inventoryImportService,
+                               InventoryStockStream stockStream,
+                               @Value("${inventory.http.max-age:PT2S}") Duration maxAge) {
         this.inventoryService = inventoryService;
+        this.inventoryImportService = inventoryImportService;
+        this.stockStream = stockStream;
+        this.anonymousCacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
     /**
      * Get inventory for a specific product with batches sorted by expiry date.
+     * The response carries a strong ETag; a request whose If-None-Match matches it gets 304 with no
+     * body. Anonymous reads may be cached for {@code inventory.http.max-age}; clients with an API key
+     * and internal calls must revalidate every time.
      *
      * @param productId the product ID
-     * @return inventory response with batches sorted by expiry date
+     * @param strategy inventory strategy to apply instead of the product's configured one
+     * @param ifNoneMatch entity tags the client already has
+     * @param accept the Accept header, which selects the representation
+     * @param apiKey the client's API key, absent for anonymous reads
+     * @param internalToken present on calls from the order service
+     * @return inventory response with batches sorted by expiry date, or 304
      */
-    @GetMapping("/{productId}")
+    @GetMapping(value = "/{productId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, InventoryWireCodec.MEDIA_TYPE_VALUE})
     @Operation(summary = "Get inventory by product ID",
-            description = "Returns inventory batches for a product sorted by expiry date (earliest first)")
+            description = "Returns inventory batches for a product sorted by expiry date (earliest first). " +
+                    "JSON by default; internal clients may request " + InventoryWireCodec.MEDIA_TYPE_VALUE + ". " +
+                    "Supports conditional requests with If-None-Match. The strategy parameter overrides " +
+                    "the product's configured inventory strategy")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory retrieved successfully",
                     content = @Content(schema = @Schema(implementation = InventoryResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Inventory unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Unknown inventory strategy"),
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
     public ResponseEntity<InventoryResponseDTO> getInventoryByProduct(
             @Parameter(description = "Product ID", example = "1001")
-            @PathVariable Long productId) {
-        log.info("GET request for inventory of product ID: {}", productId);
-        InventoryResponseDTO response = inventoryService.getInventoryByProduct(productId);
-        return ResponseEntity.ok(response);
+            @PathVariable Long productId,
+            @Parameter(description = "Inventory strategy (DEFAULT or EXPIRY_PRIORITY)", example = "EXPIRY_PRIORITY")
+            @RequestParam(required = false) String strategy,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = AdmissionControlFilter.API_KEY_HEADER, required = false) String apiKey,
+            @RequestHeader(value = InternalCallToken.HEADER, required = false) String internalToken) {
+        log.debug("GET request for inventory of product ID: {}", productId);
+        InventoryStrategyType strategyType;
+        try {
+            strategyType = strategy != null ? InventoryStrategyType.parse(strategy) : null;
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid inventory request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        // served from the inventory cache when it is current, so a 304 costs no query
+        InventoryResponseDTO response = inventoryService.getInventoryByProduct(productId, strategyType);
+        boolean wireFormat = accept != null && accept.contains(InventoryWireCodec.MEDIA_TYPE_VALUE);
+        String eTag = InventoryETag.of(response, wireFormat);
+        CacheControl cacheControl = apiKey == null && internalToken == null
+                ? anonymousCacheControl
+                : CacheControl.noCache();
+
+        if (InventoryETag.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
+    }
+
+    /**
+     * Get inventory for several products in one call.
+     *
+     * @param productIds the product IDs
+     * @return one inventory response per product
+     */
+    @GetMapping
+    @Operation(summary = "Get inventory for several products",
+            description = "Returns inventory for each requested product; products on different shards are read in parallel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Inventory retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No product IDs given")
+    })
+    public ResponseEntity<List<InventoryResponseDTO>> getInventoryByProducts(
+            @Parameter(description = "Comma-separated product IDs", example = "1001,1002")
+            @RequestParam List<Long> productIds) {
+        log.debug("GET request for inventory of {} products", productIds.size());
+        if (productIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(inventoryService.getInventoryByProducts(productIds));
+    }
+
+    /**
+     * Stream stock changes for several products as server-sent events.
+     *
+     * @param productIds the products to watch
+     * @return event stream: the current stock of each product, then every change to it
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream stock changes",
+            description = "Server-sent events named '" + InventoryStockStream.EVENT_NAME + "' with the total quantity " +
+                    "of each product, first its current stock and then after every committed change. Rapid " +
+                    "changes are coalesced; a slow client only receives the latest quantity per product")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "No or too many product IDs"),
+            @ApiResponse(responseCode = "503", description = "Too many open streams")
+    })
+    public ResponseEntity<Flux<ServerSentEvent<InventoryStockChangeDTO>>> streamStockChanges(
+            @Parameter(description = "Comma-separated product IDs", example = "1001,1002")
+            @RequestParam List<Long> productIds) {
+        log.debug("Stock stream requested for {} products", productIds.size());
+        try {
+            return ResponseEntity.ok(stockStream.watch(productIds));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid stock stream request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Stock stream not opened: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     /**
@@ -64,7 +193,8 @@ public class InventoryController {
      */
     @PostMapping("/update")
     @Operation(summary = "Update inventory",
-            description = "Updates inventory by reducing quantity from specified batches")
+            description = "Updates inventory by reducing quantity from specified batches. " +
+                    "Accepts JSON or " + InventoryWireCodec.MEDIA_TYPE_VALUE)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
@@ -72,7 +202,7 @@ public class InventoryController {
     })
     public ResponseEntity<String> updateInventory(
             @RequestBody InventoryUpdateDTO updateDTO) {
-        log.info("POST request to update inventory for product ID: {}", updateDTO.getProductId());
+        log.debug("POST request to update inventory for product ID: {}", updateDTO.getProductId());
 
         boolean success = inventoryService.updateInventory(updateDTO);
 
@@ -100,9 +230,59 @@ public class InventoryController {
             @PathVariable Long productId,
             @Parameter(description = "Required quantity")
             @PathVariable Integer quantity) {
-        log.info("Checking availability for product ID: {} with quantity: {}", productId, quantity);
+        log.debug("Checking availability for product ID: {} with quantity: {}", productId, quantity);
         boolean available = inventoryService.isSufficientInventory(productId, quantity);
         return ResponseEntity.ok(available);
     }
-}
 
+    /**
+     * Receive new inventory batches.
+     *
+     * @param receipts the batches to add to stock
+     * @return import summary
+     */
+    @PostMapping(value = "/batches", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Receive inventory batches",
+            description = "Adds a JSON array of batches to stock; the whole array is inserted or rejected together")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Batches received",
+                    content = @Content(schema = @Schema(implementation = InventoryImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid batch in request")
+    })
+    public ResponseEntity<InventoryImportResultDTO> receiveBatches(
+            @RequestBody List<InventoryReceiptDTO> receipts) {
+        log.info("POST request to receive {} inventory batches", receipts.size());
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(inventoryImportService.receiveBatches(receipts));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid inventory receipt: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Import inventory batches from a CSV upload, streamed line by line.
+     *
+     * @param csv the request body
+     * @return import summary
+     * @throws IOException if the upload cannot be read
+     */
+    @PostMapping(value = "/batches", consumes = "text/csv")
+    @Operation(summary = "Import inventory batches from CSV",
+            description = "Streams a CSV body (product_id,product_name,quantity,expiry_date with optional header) " +
+                    "and inserts it in chunks; malformed rows are skipped and counted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "CSV imported",
+                    content = @Content(schema = @Schema(implementation = InventoryImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "CSV header is missing required columns")
+    })
+    public ResponseEntity<InventoryImportResultDTO> importBatchesCsv(InputStream csv) throws IOException {
+        log.info("POST request to import inventory batches from CSV");
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(inventoryImportService.importCsv(csv));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid inventory CSV: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ecommercebackend.inventory.controller;
+
+import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong entity tags for inventory responses.
+ * The tag is a 64-bit FNV-1a fingerprint of the product's stock (name, and the ID, quantity,
+ * expiry and markdown of every batch), so it acts as a version of the product that changes with every
+ * reservation, update or receipt and is the same on every node and across restarts. The compact
+ * wire format gets its own tag, since a strong tag identifies one exact representation.
+ */
+final class InventoryETag {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private InventoryETag() {
+    }
+
+    /**
+     * @param response the inventory response
+     * @param wireFormat whether the response is sent in the compact wire format
+     * @return quoted entity tag
+     */
+    static String of(InventoryResponseDTO response, boolean wireFormat) {
+        long hash = FNV_OFFSET;
+        hash = add(hash, response.getProductId());
+        if (response.getProductName() != null) {
+            for (byte b : response.getProductName().getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ b) * FNV_PRIME;
+            }
+        }
+        if (response.getBatches() != null) {
+            hash = add(hash, (long) response.getBatches().size());
+            for (InventoryBatchDTO batch : response.getBatches()) {
+                hash = add(hash, batch.getBatchId());
+                hash = add(hash, batch.getQuantity() != null ? batch.getQuantity().longValue() : null);
+                hash = add(hash, batch.getExpiryDate() != null ? batch.getExpiryDate().toEpochDay() : null);
+                hash = add(hash, batch.getMarkdownPercent() != null ? batch.getMarkdownPercent().longValue() : null);
+            }
+        }
+        return "\"" + Long.toHexString(hash) + (wireFormat ? "-w" : "") + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the tag. As required for If-None-Match, tags are
+     * compared weakly, so a {@code W/} prefix added by a proxy still matches.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param eTag the current tag
+     * @return true if the client's copy is current
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long add(long hash, Long value) {
+        if (value == null) {
+            return (hash ^ 0xff) * FNV_PRIME;
+        }
+        long v = value;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (v & 0xff)) * FNV_PRIME;
+            v >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO for a low-stock or near-expiry alert, as sent to alert sinks and listed by the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Inventory alert raised or resolved for a product")
+public class InventoryAlertDTO {
+
+    @Schema(description = "Alert type", example = "LOW_STOCK", allowableValues = {"LOW_STOCK", "NEAR_EXPIRY"})
+    private String type;
+
+    @Schema(description = "RAISED when the condition starts, RESOLVED when it ends", example = "RAISED")
+    private String state;
+
+    @Schema(description = "Product ID", example = "1001")
+    private Long productId;
+
+    @Schema(description = "Product name", example = "Laptop")
+    private String productName;
+
+    @Schema(description = "Unexpired stock (LOW_STOCK) or units expiring soon (NEAR_EXPIRY)", example = "4")
+    private Integer quantity;
+
+    @Schema(description = "Low-stock threshold in effect", example = "10")
+    private Integer threshold;
+
+    @Schema(description = "Earliest expiry among the units expiring soon (NEAR_EXPIRY)", example = "2026-03-15")
+    private LocalDate expiryDate;
+
+    @Schema(description = "When the alert was raised or resolved", example = "2026-10-19T10:15:30Z")
+    private Instant at;
+}
@@ -0,0 +1,30 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO for an inventory analytics answer computed from the columnar snapshot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Per-product answer from the inventory snapshot")
+public class InventoryAnalyticsResultDTO {
+
+    @Schema(description = "When the snapshot was taken", example = "2026-10-19T10:15:30Z")
+    private Instant asOf;
+
+    @Schema(description = "Batches in the snapshot", example = "30000")
+    private Integer batchesScanned;
+
+    @Schema(description = "Matching products, in result order")
+    private List<InventoryProductQuantityDTO> products;
+}
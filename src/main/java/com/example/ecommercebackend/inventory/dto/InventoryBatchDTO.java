@@ -26,5 +26,9 @@ public class InventoryBatchDTO {
 
     @Schema(description = "Expiry date of the batch", example = "2025-12-31")
     private LocalDate expiryDate;
+
+    @Schema(description = "Percentage off list price for this batch as it nears expiry; 0 when not marked down",
+            example = "25")
+    private Integer markdownPercent;
 }
 
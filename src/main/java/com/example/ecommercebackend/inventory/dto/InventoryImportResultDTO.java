@@ -0,0 +1,30 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarising a batch receiving or CSV import run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of an inventory batch import")
+public class InventoryImportResultDTO {
+
+    @Schema(description = "Number of batches inserted", example = "1000000")
+    private Long imported;
+
+    @Schema(description = "Number of rows rejected as malformed", example = "3")
+    private Long rejected;
+
+    @Schema(description = "Number of committed insert chunks", example = "1000")
+    private Integer chunks;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "4200")
+    private Long elapsedMillis;
+}
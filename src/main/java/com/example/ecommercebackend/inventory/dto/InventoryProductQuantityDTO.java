@@ -0,0 +1,24 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an aggregated quantity of one product.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Aggregated quantity of one product")
+public class InventoryProductQuantityDTO {
+
+    @Schema(description = "Product ID", example = "1001")
+    private Long productId;
+
+    @Schema(description = "Quantity", example = "42")
+    private Long quantity;
+}
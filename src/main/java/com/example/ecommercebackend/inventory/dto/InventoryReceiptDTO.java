@@ -0,0 +1,32 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a newly received inventory batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Inventory batch to receive into stock")
+public class InventoryReceiptDTO {
+
+    @Schema(description = "Product ID", example = "1001", required = true)
+    private Long productId;
+
+    @Schema(description = "Product name", example = "Laptop", required = true)
+    private String productName;
+
+    @Schema(description = "Quantity received", example = "50", required = true)
+    private Integer quantity;
+
+    @Schema(description = "Expiry date of the batch", example = "2026-12-31", required = true)
+    private LocalDate expiryDate;
+}
@@ -0,0 +1,29 @@
+package com.example.ecommercebackend.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for a stock change pushed to stream subscribers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Current stock of a product, sent when it changes")
+public class InventoryStockChangeDTO {
+
+    @Schema(description = "Product ID", example = "1001")
+    private Long productId;
+
+    @Schema(description = "Total available quantity across all batches", example = "75")
+    private Integer totalQuantity;
+
+    @Schema(description = "When this quantity was read", example = "2026-10-19T10:15:30Z")
+    private Instant asOf;
+}
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO for updating inventory after an order is placed.
  */
@@ -25,5 +27,9 @@ public class InventoryUpdateDTO {
     @Schema(description = "List of batch IDs from which to reduce inventory (comma-separated)",
             example = "1,2", required = true)
     private String batchIds;
+
+    @Schema(description = "Day the order was placed; the units are recorded as consumed on that day " +
+            "(defaults to today)", example = "2026-03-01")
+    private LocalDate orderDate;
 }
 
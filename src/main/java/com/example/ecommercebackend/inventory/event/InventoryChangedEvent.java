@@ -0,0 +1,18 @@
+package com.example.ecommercebackend.inventory.event;
+
+import java.util.Set;
+
+/**
+ * Application event published whenever stock for one or more products changes
+ * (inventory updates after an order, batch receiving and imports).
+ * Always published inside the transaction that made the change; listeners that cache or
+ * aggregate inventory should use {@code @TransactionalEventListener} so they only react after commit.
+ *
+ * @param productIds the products whose batches changed
+ */
+public record InventoryChangedEvent(Set<Long> productIds) {
+
+    public static InventoryChangedEvent of(Long productId) {
+        return new InventoryChangedEvent(Set.of(productId));
+    }
+}
@@ -18,12 +18,13 @@ public class ExpiryPriorityInventoryStrategy implements InventoryStrategy {
 
     @Override
     public List<InventoryBatch> getAvailableInventory(List<InventoryBatch> batches) {
+        LocalDate today = LocalDate.now();
         return batches.stream()
-                .filter(batch -> batch.getExpiryDate().isAfter(LocalDate.now()))
+                .filter(batch -> batch.getExpiryDate().isAfter(today))
                 .sorted((b1, b2) -> {
                     // Prioritize batches expiring soon
-                    long daysToExpiry1 = ChronoUnit.DAYS.between(LocalDate.now(), b1.getExpiryDate());
-                    long daysToExpiry2 = ChronoUnit.DAYS.between(LocalDate.now(), b2.getExpiryDate());
+                    long daysToExpiry1 = ChronoUnit.DAYS.between(today, b1.getExpiryDate());
+                    long daysToExpiry2 = ChronoUnit.DAYS.between(today, b2.getExpiryDate());
 
                     boolean exp1Soon = daysToExpiry1 <= EXPIRY_THRESHOLD_DAYS;
                     boolean exp2Soon = daysToExpiry2 <= EXPIRY_THRESHOLD_DAYS;
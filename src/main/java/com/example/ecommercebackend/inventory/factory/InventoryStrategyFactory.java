@@ -1,37 +1,90 @@
 package com.example.ecommercebackend.inventory.factory;
 
+import com.example.ecommercebackend.config.KeyValueOverrides;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Factory for creating inventory strategy implementations.
  * Allows runtime selection of different inventory handling strategies.
+ * <p>
+ * Every product uses {@code inventory.strategy.default} unless {@code inventory.strategy.products}
+ * assigns it another strategy. Both are resolved once at startup into a per-product table, so picking
+ * a product's strategy on the hot path is a map lookup rather than a string comparison.
  */
 @Component
 public class InventoryStrategyFactory {
 
-    private final DefaultInventoryStrategy defaultStrategy;
-    private final ExpiryPriorityInventoryStrategy expiryPriorityStrategy;
+    private final Map<InventoryStrategyType, InventoryStrategy> strategies = new EnumMap<>(InventoryStrategyType.class);
+    private final InventoryStrategyType defaultType;
+    private final Map<Long, InventoryStrategyType> productTypes;
 
     @Autowired
+    public InventoryStrategyFactory(DefaultInventoryStrategy defaultStrategy,
+                                   ExpiryPriorityInventoryStrategy expiryPriorityStrategy,
+                                   @Value("${inventory.strategy.default:DEFAULT}") String defaultType,
+                                   @Value("${inventory.strategy.products:}") List<String> productStrategies) {
+        strategies.put(InventoryStrategyType.DEFAULT, defaultStrategy);
+        strategies.put(InventoryStrategyType.EXPIRY_PRIORITY, expiryPriorityStrategy);
+        this.defaultType = InventoryStrategyType.parse(defaultType);
+        this.productTypes = KeyValueOverrides.parse(productStrategies, "productId=strategy",
+                Long::parseLong, InventoryStrategyType::parse);
+    }
+
+    /**
+     * Factory using the default strategy for every product.
+     *
+     * @param defaultStrategy the default strategy
+     * @param expiryPriorityStrategy the expiry priority strategy
+     */
     public InventoryStrategyFactory(DefaultInventoryStrategy defaultStrategy,
                                    ExpiryPriorityInventoryStrategy expiryPriorityStrategy) {
-        this.defaultStrategy = defaultStrategy;
-        this.expiryPriorityStrategy = expiryPriorityStrategy;
+        this(defaultStrategy, expiryPriorityStrategy, InventoryStrategyType.DEFAULT.name(), List.of());
     }
 
     /**
      * Get inventory strategy based on type.
      *
+     * @param strategyType the type of strategy
+     * @return the corresponding inventory strategy
+     */
+    public InventoryStrategy getStrategy(InventoryStrategyType strategyType) {
+        return strategies.get(strategyType);
+    }
+
+    /**
+     * Get inventory strategy based on its name.
+     *
      * @param strategyType the type of strategy ("DEFAULT" or "EXPIRY_PRIORITY")
      * @return the corresponding inventory strategy
+     * @throws IllegalArgumentException if the name is not a known strategy
      */
     public InventoryStrategy getStrategy(String strategyType) {
-        if(strategyType.equalsIgnoreCase("EXPIRY_PRIORITY")) {
-            return expiryPriorityStrategy;
-        } else{
-            return defaultStrategy;
-        }
+        return getStrategy(InventoryStrategyType.parse(strategyType));
+    }
+
+    /**
+     * The strategy configured for a product.
+     *
+     * @param productId the product ID
+     * @return the product's strategy type
+     */
+    public InventoryStrategyType typeFor(Long productId) {
+        return productTypes.getOrDefault(productId, defaultType);
     }
-}
 
+    /**
+     * The strategy configured for a product.
+     *
+     * @param productId the product ID
+     * @return the product's strategy
+     */
+    public InventoryStrategy strategyFor(Long productId) {
+        return strategies.get(typeFor(productId));
+    }
+}
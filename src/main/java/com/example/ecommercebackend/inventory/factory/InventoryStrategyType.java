@@ -0,0 +1,33 @@
+package com.example.ecommercebackend.inventory.factory;
+
+import java.util.Locale;
+
+/**
+ * The inventory strategies {@link InventoryStrategyFactory} can hand out.
+ */
+public enum InventoryStrategyType {
+
+    /** Unexpired batches in expiry order; see {@link DefaultInventoryStrategy}. */
+    DEFAULT,
+
+    /** Batches expiring within 30 days first; see {@link ExpiryPriorityInventoryStrategy}. */
+    EXPIRY_PRIORITY;
+
+    /**
+     * Parse a strategy name, ignoring case and surrounding whitespace.
+     *
+     * @param name the strategy name, e.g. "expiry_priority"
+     * @return the strategy type
+     * @throws IllegalArgumentException if the name is not a known strategy
+     */
+    public static InventoryStrategyType parse(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Inventory strategy is required");
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown inventory strategy: " + name);
+        }
+    }
+}
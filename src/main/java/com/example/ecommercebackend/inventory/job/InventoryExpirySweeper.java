@@ -0,0 +1,175 @@
+package com.example.ecommercebackend.inventory.job;
+
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job that moves dead inventory batches out of the hot inventory_batch table.
+ * A batch is dead once it expired, or was emptied, more than the retention period ago.
+ * Candidates are selected in index order (idx_expiry_date, idx_quantity_batch_id) in chunks, and each
+ * chunk is copied to inventory_batch_archive and deleted in its own short transaction, so the
+ * order path never waits on a long-running sweep. With sharded inventory every shard is swept in turn.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "inventory.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryExpirySweeper {
+
+    static final String REASON_EXPIRED = "EXPIRED";
+    static final String REASON_EMPTY = "EMPTY";
+
+    private static final String SELECT_EXPIRED_SQL = "SELECT batch_id, product_id FROM inventory_batch " +
+            "WHERE expiry_date < ? ORDER BY expiry_date, batch_id LIMIT ?";
+    private static final String SELECT_EMPTY_SQL = "SELECT batch_id, product_id FROM inventory_batch " +
+            "WHERE quantity = 0 AND updated_at < ? ORDER BY batch_id LIMIT ?";
+    private static final String ARCHIVE_SQL = "INSERT INTO inventory_batch_archive " +
+            "(batch_id, product_id, product_name, quantity, expiry_date, created_at, updated_at, " +
+            "archived_at, archive_reason) " +
+            "SELECT batch_id, product_id, product_name, quantity, expiry_date, created_at, updated_at, " +
+            ":archivedAt, :reason FROM inventory_batch WHERE batch_id IN (:batchIds)";
+    private static final String DELETE_SQL = "DELETE FROM inventory_batch WHERE batch_id IN (:batchIds)";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM inventory_batch";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final InventoryShardRouter shardRouter;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final AtomicLong hotRows = new AtomicLong(-1);
+
+    @Autowired
+    public InventoryExpirySweeper(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  InventoryShardRouter shardRouter,
+                                  @Value("${inventory.archive.retention-days:30}") int retentionDays,
+                                  @Value("${inventory.archive.chunk-size:500}") int chunkSize,
+                                  @Value("${inventory.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.shardRouter = shardRouter;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        Gauge.builder("inventory.batch.hot.rows", hotRows, AtomicLong::get)
+                .description("Rows in the live inventory_batch table as of the last sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archive dead batches. Runs on a fixed delay; each run handles at most
+     * {@code inventory.archive.max-chunks-per-run} chunks per reason and the next run picks up the rest.
+     *
+     * @return number of batches archived in this run
+     */
+    @Scheduled(initialDelayString = "${inventory.archive.initial-delay:PT1M}",
+            fixedDelayString = "${inventory.archive.interval:PT15M}")
+    public int sweep() {
+        long start = System.currentTimeMillis();
+        LocalDate expiredBefore = LocalDate.now().minusDays(retentionDays);
+        LocalDateTime emptiedBefore = LocalDateTime.now().minusDays(retentionDays);
+
+        int expired = 0;
+        int emptied = 0;
+        long remaining = 0;
+        for (String shard : shardRouter.getShards()) {
+            expired += shardRouter.onShard(shard,
+                    () -> drain(SELECT_EXPIRED_SQL, Date.valueOf(expiredBefore), REASON_EXPIRED));
+            emptied += shardRouter.onShard(shard,
+                    () -> drain(SELECT_EMPTY_SQL, Timestamp.valueOf(emptiedBefore), REASON_EMPTY));
+            Long count = shardRouter.onShard(shard, () -> jdbcTemplate.queryForObject(COUNT_SQL, Long.class));
+            remaining += count != null ? count : 0;
+        }
+        hotRows.set(remaining);
+
+        if (expired + emptied > 0) {
+            log.info("Archived {} expired and {} empty batches in {} ms; {} live batches remain",
+                    expired, emptied, System.currentTimeMillis() - start, hotRows.get());
+        }
+        return expired + emptied;
+    }
+
+    /**
+     * Rows in inventory_batch as of the last sweep, or -1 before the first sweep.
+     *
+     * @return hot table row count
+     */
+    public long getHotRowCount() {
+        return hotRows.get();
+    }
+
+    private int drain(String selectSql, Object cutoff, String reason) {
+        Counter archivedCounter = Counter.builder("inventory.batch.archived")
+                .description("Inventory batches moved to inventory_batch_archive")
+                .tag("reason", reason)
+                .register(meterRegistry);
+
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer archived = transactionTemplate.execute(status -> archiveChunk(selectSql, cutoff, reason));
+            int moved = archived != null ? archived : 0;
+            total += moved;
+            archivedCounter.increment(moved);
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveChunk(String selectSql, Object cutoff, String reason) {
+        List<long[]> candidates = jdbcTemplate.query(selectSql,
+                (rs, rowNum) -> new long[]{rs.getLong("batch_id"), rs.getLong("product_id")},
+                cutoff, chunkSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> batchIds = candidates.stream().map(candidate -> candidate[0]).toList();
+        Set<Long> productIds = new HashSet<>();
+        candidates.forEach(candidate -> productIds.add(candidate[1]));
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("batchIds", batchIds)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("reason", reason);
+        namedJdbcTemplate.update(ARCHIVE_SQL, params);
+        int deleted = namedJdbcTemplate.update(DELETE_SQL, params);
+
+        eventPublisher.publishEvent(new InventoryChangedEvent(productIds));
+        return deleted;
+    }
+}
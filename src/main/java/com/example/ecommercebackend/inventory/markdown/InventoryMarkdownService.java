@@ -0,0 +1,239 @@
+package com.example.ecommercebackend.inventory.markdown;
+
+import com.example.ecommercebackend.config.KeyValueOverrides;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Expiry-aware markdowns for inventory batches.
+ * Once a night the markdown of every batch within reach of a {@link MarkdownCurve} is computed into an
+ * {@link InventoryMarkdownTable} and swapped in whole, so prices hold for the day and a read only looks
+ * the batch up. The computation splits each shard's candidate batches (in stock and expiring within the
+ * longest curve) into {@code inventory.markdown.chunk-size} batch-ID ranges and scans them in parallel
+ * on {@code inventory.markdown.parallelism} threads, each range in its own read-only transaction on the
+ * replica when one is configured.
+ * <p>
+ * Products use {@code inventory.markdown.curve} unless {@code inventory.markdown.product-curves} gives
+ * them their own. Batches received after the nightly run are not marked down until the next one; the
+ * table is also computed once at startup.
+ */
+@Service
+@Slf4j
+public class InventoryMarkdownService implements DisposableBean {
+
+    private static final String RANGE_SQL = "SELECT MIN(batch_id), MAX(batch_id) FROM inventory_batch " +
+            "WHERE quantity > 0 AND expiry_date BETWEEN ? AND ?";
+    private static final String CHUNK_SQL = "SELECT product_id, batch_id, expiry_date FROM inventory_batch " +
+            "WHERE batch_id BETWEEN ? AND ? AND quantity > 0 AND expiry_date BETWEEN ? AND ?";
+
+    private final boolean enabled;
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InventoryShardRouter shardRouter;
+    private final MarkdownCurve defaultCurve;
+    private final Map<Long, MarkdownCurve> productCurves;
+    private final int maxDays;
+    private final int chunkSize;
+    private final ExecutorService workers;
+    private final Timer refreshTimer;
+    private volatile InventoryMarkdownTable table = InventoryMarkdownTable.empty();
+
+    @Autowired
+    public InventoryMarkdownService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    InventoryShardRouter shardRouter,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${inventory.markdown.enabled:true}") boolean enabled,
+                                    @Value("${inventory.markdown.curve:30:10 14:25 7:40 2:60}") String curve,
+                                    @Value("${inventory.markdown.product-curves:}") List<String> productCurves,
+                                    @Value("${inventory.markdown.chunk-size:50000}") int chunkSize,
+                                    @Value("${inventory.markdown.parallelism:4}") int parallelism,
+                                    @Value("${inventory.markdown.fetch-size:5000}") int fetchSize) {
+        this.enabled = enabled;
+        this.shardRouter = shardRouter;
+        this.defaultCurve = MarkdownCurve.parse(curve);
+        this.productCurves = KeyValueOverrides.parse(productCurves, "productId=curve",
+                Long::parseLong, MarkdownCurve::parse);
+        this.maxDays = this.productCurves.values().stream()
+                .mapToInt(MarkdownCurve::getMaxDays)
+                .reduce(defaultCurve.getMaxDays(), Math::max);
+        this.chunkSize = chunkSize;
+        if (enabled) {
+            this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+            this.scanTemplate.setFetchSize(fetchSize);
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "inventory-markdown-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.scanTemplate = null;
+            this.readOnlyTransaction = null;
+            this.workers = null;
+        }
+        this.refreshTimer = Timer.builder("inventory.markdown.refresh")
+                .description("Time to compute the markdown table")
+                .register(meterRegistry);
+        Gauge.builder("inventory.markdown.batches", this, service -> service.table.getBatchCount())
+                .description("Batches currently marked down")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A service that never marks anything down.
+     *
+     * @return disabled markdown service
+     */
+    public static InventoryMarkdownService disabled() {
+        return new InventoryMarkdownService(null, null, InventoryShardRouter.unsharded(), new SimpleMeterRegistry(),
+                false, "", List.of(), 1, 1, 1);
+    }
+
+    /**
+     * Percentage off for a batch, as of the last computation.
+     *
+     * @param productId the product ID
+     * @param batchId the batch ID
+     * @return percentage off, 0 if the batch is not marked down
+     */
+    public int getMarkdownPercent(Long productId, Long batchId) {
+        return productId != null && batchId != null ? table.percentFor(productId, batchId) : 0;
+    }
+
+    public InventoryMarkdownTable getTable() {
+        return table;
+    }
+
+    /**
+     * Compute the table once at startup, off the main thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void computeOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread startup = new Thread(() -> {
+            try {
+                recompute();
+            } catch (RuntimeException e) {
+                log.error("Failed to compute inventory markdowns at startup", e);
+            }
+        }, "inventory-markdown-startup");
+        startup.setDaemon(true);
+        startup.start();
+    }
+
+    /**
+     * Compute the markdowns for today and swap them in. If the computation fails the previous table
+     * stays in place.
+     *
+     * @return the new table
+     */
+    @Scheduled(cron = "${inventory.markdown.cron:0 10 0 * * *}")
+    public synchronized InventoryMarkdownTable recompute() {
+        if (!enabled || maxDays < 0) {
+            return table;
+        }
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Date from = Date.valueOf(today);
+        Date to = Date.valueOf(today.plusDays(maxDays));
+
+        List<Callable<InventoryMarkdownTable.Builder>> chunks = new ArrayList<>();
+        for (String shard : shardRouter.getShards()) {
+            long[] range = shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status ->
+                    scanTemplate.query(RANGE_SQL, rs -> {
+                        rs.next();
+                        long min = rs.getLong(1);
+                        return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+                    }, from, to)));
+            if (range == null) {
+                continue;
+            }
+            for (long low = range[0]; low <= range[1]; low += chunkSize) {
+                long chunkLow = low;
+                long chunkHigh = Math.min(range[1], low + chunkSize - 1);
+                chunks.add(() -> scanChunk(shard, chunkLow, chunkHigh, today, from, to));
+            }
+        }
+
+        InventoryMarkdownTable.Builder builder = InventoryMarkdownTable.builder();
+        try {
+            for (Future<InventoryMarkdownTable.Builder> chunk : workers.invokeAll(chunks)) {
+                builder.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Markdown computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Markdown computation failed", e.getCause());
+        }
+        InventoryMarkdownTable built = builder.build(today);
+        table = built;
+
+        long elapsed = System.nanoTime() - start;
+        refreshTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Inventory markdowns for {}: {} batches of {} products in {} chunks, {} ms",
+                today, built.getBatchCount(), built.getProductCount(), chunks.size(), elapsed / 1_000_000);
+        return built;
+    }
+
+    private InventoryMarkdownTable.Builder scanChunk(String shard, long low, long high, LocalDate today,
+                                                     Date from, Date to) {
+        InventoryMarkdownTable.Builder chunk = InventoryMarkdownTable.builder();
+        long todayEpochDay = today.toEpochDay();
+        shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status -> {
+            scanTemplate.query(CHUNK_SQL, rs -> {
+                long productId = rs.getLong(1);
+                long daysToExpiry = rs.getDate(3).toLocalDate().toEpochDay() - todayEpochDay;
+                int percent = curveFor(productId).percentFor(daysToExpiry);
+                if (percent > 0) {
+                    chunk.add(productId, rs.getLong(2), percent);
+                }
+            }, low, high, from, to);
+            return null;
+        }));
+        return chunk;
+    }
+
+    private MarkdownCurve curveFor(long productId) {
+        return productCurves.getOrDefault(productId, defaultCurve);
+    }
+
+    @Override
+    public void destroy() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
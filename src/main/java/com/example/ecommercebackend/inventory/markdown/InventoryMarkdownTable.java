@@ -0,0 +1,168 @@
+package com.example.ecommercebackend.inventory.markdown;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable per-product table of batch markdowns, computed for one day.
+ * Only marked-down batches are stored: product IDs sorted and distinct with an offset index into the
+ * batch columns, batch IDs sorted within each product, and the percentage off as a byte, about 9 bytes
+ * per batch plus 12 per product. Batch IDs are only unique within a shard, so a lookup always goes
+ * through the product, which lives on exactly one shard.
+ */
+public final class InventoryMarkdownTable {
+
+    private static final InventoryMarkdownTable EMPTY = new InventoryMarkdownTable(null,
+            new long[0], new int[]{0}, new long[0], new byte[0]);
+
+    private final LocalDate day;
+    private final long[] productIds;
+    private final int[] productStarts;
+    private final long[] batchIds;
+    private final byte[] percents;
+
+    private InventoryMarkdownTable(LocalDate day, long[] productIds, int[] productStarts,
+                                   long[] batchIds, byte[] percents) {
+        this.day = day;
+        this.productIds = productIds;
+        this.productStarts = productStarts;
+        this.batchIds = batchIds;
+        this.percents = percents;
+    }
+
+    /**
+     * A table with no markdowns.
+     *
+     * @return empty table
+     */
+    public static InventoryMarkdownTable empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Percentage off for a batch.
+     *
+     * @param productId the product ID
+     * @param batchId the batch ID
+     * @return percentage off, 0 if the batch is not marked down
+     */
+    public int percentFor(long productId, long batchId) {
+        int product = Arrays.binarySearch(productIds, productId);
+        if (product < 0) {
+            return 0;
+        }
+        int batch = Arrays.binarySearch(batchIds, productStarts[product], productStarts[product + 1], batchId);
+        return batch >= 0 ? percents[batch] : 0;
+    }
+
+    /**
+     * @return the day the markdowns were computed for, or null for the empty table
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public int getBatchCount() {
+        return batchIds.length;
+    }
+
+    public int getProductCount() {
+        return productIds.length;
+    }
+
+    /**
+     * Collects markdowns in any order. Not thread-safe; give each worker its own builder and
+     * {@link #addAll} them afterwards.
+     */
+    public static final class Builder {
+
+        private long[] productIds = new long[256];
+        private long[] batchIds = new long[256];
+        private byte[] percents = new byte[256];
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Add one marked-down batch.
+         *
+         * @param productId the product ID
+         * @param batchId the batch ID
+         * @param percent percentage off, 1 to 99
+         * @return this builder
+         */
+        public Builder add(long productId, long batchId, int percent) {
+            if (percent <= 0 || percent > 99) {
+                throw new IllegalArgumentException("percent must be between 1 and 99");
+            }
+            ensureCapacity(size + 1);
+            productIds[size] = productId;
+            batchIds[size] = batchId;
+            percents[size] = (byte) percent;
+            size++;
+            return this;
+        }
+
+        /**
+         * Add everything another builder collected.
+         *
+         * @param other the other builder
+         * @return this builder
+         */
+        public Builder addAll(Builder other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.productIds, 0, productIds, size, other.size);
+            System.arraycopy(other.batchIds, 0, batchIds, size, other.size);
+            System.arraycopy(other.percents, 0, percents, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public InventoryMarkdownTable build(LocalDate day) {
+            Integer[] order = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.<Integer>comparingLong(i -> productIds[i]).thenComparingLong(i -> batchIds[i]));
+
+            long[] sortedBatchIds = new long[size];
+            byte[] sortedPercents = new byte[size];
+            long[] products = new long[size];
+            int[] starts = new int[size + 1];
+            int productCount = 0;
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                if (i > 0 && productIds[row] == productIds[order[i - 1]] && batchIds[row] == batchIds[order[i - 1]]) {
+                    throw new IllegalStateException("Batch " + batchIds[row] + " of product " + productIds[row]
+                            + " added twice");
+                }
+                if (i == 0 || productIds[row] != productIds[order[i - 1]]) {
+                    products[productCount] = productIds[row];
+                    starts[productCount++] = i;
+                }
+                sortedBatchIds[i] = batchIds[row];
+                sortedPercents[i] = percents[row];
+            }
+            starts[productCount] = size;
+            return new InventoryMarkdownTable(day, Arrays.copyOf(products, productCount),
+                    Arrays.copyOf(starts, productCount + 1), sortedBatchIds, sortedPercents);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > productIds.length) {
+                int grown = Math.max(capacity, productIds.length * 2);
+                productIds = Arrays.copyOf(productIds, grown);
+                batchIds = Arrays.copyOf(batchIds, grown);
+                percents = Arrays.copyOf(percents, grown);
+            }
+        }
+    }
+}
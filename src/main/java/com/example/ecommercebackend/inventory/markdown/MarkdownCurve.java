@@ -0,0 +1,92 @@
+package com.example.ecommercebackend.inventory.markdown;
+
+import java.util.Arrays;
+
+/**
+ * Markdown by days to expiry, as a step curve.
+ * A curve is written as {@code days:percent} steps separated by spaces, e.g. {@code 30:10 14:25 7:40 2:60}:
+ * a batch expiring in at most 30 days is 10% off, in at most 14 days 25% off, and so on; the step with
+ * the fewest days that still covers the batch applies. Batches further out than the largest step are not
+ * marked down. The steps are expanded into one percentage per day when parsed, so a lookup is an array read.
+ */
+public final class MarkdownCurve {
+
+    private static final MarkdownCurve NONE = new MarkdownCurve(new byte[0]);
+
+    private final byte[] percentByDays;
+
+    private MarkdownCurve(byte[] percentByDays) {
+        this.percentByDays = percentByDays;
+    }
+
+    /**
+     * A curve that never marks anything down.
+     *
+     * @return empty curve
+     */
+    public static MarkdownCurve none() {
+        return NONE;
+    }
+
+    /**
+     * Parse a curve.
+     *
+     * @param spec {@code days:percent} steps separated by spaces; blank for no markdown
+     * @return the curve
+     * @throws IllegalArgumentException if a step is malformed, days are negative or repeated, or a
+     * percentage is not between 0 and 99
+     */
+    public static MarkdownCurve parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return NONE;
+        }
+        String[] steps = spec.trim().split("\\s+");
+        int[] days = new int[steps.length];
+        int[] percents = new int[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            int separator = steps[i].indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Markdown step must be days:percent: " + steps[i]);
+            }
+            days[i] = Integer.parseInt(steps[i].substring(0, separator));
+            percents[i] = Integer.parseInt(steps[i].substring(separator + 1));
+            if (days[i] < 0 || percents[i] < 0 || percents[i] > 99) {
+                throw new IllegalArgumentException("Markdown step out of range: " + steps[i]);
+            }
+        }
+
+        int maxDays = Arrays.stream(days).max().orElse(-1);
+        byte[] percentByDays = new byte[maxDays + 1];
+        int[] covering = new int[maxDays + 1];
+        Arrays.fill(covering, Integer.MAX_VALUE);
+        for (int i = 0; i < steps.length; i++) {
+            for (int day = 0; day <= days[i]; day++) {
+                if (days[i] == covering[day]) {
+                    throw new IllegalArgumentException("Markdown step repeated for " + days[i] + " days");
+                }
+                if (days[i] < covering[day]) {
+                    covering[day] = days[i];
+                    percentByDays[day] = (byte) percents[i];
+                }
+            }
+        }
+        return new MarkdownCurve(percentByDays);
+    }
+
+    /**
+     * Percentage off for a batch.
+     *
+     * @param daysToExpiry days from today until the batch expires
+     * @return percentage off, 0 for none
+     */
+    public int percentFor(long daysToExpiry) {
+        return daysToExpiry >= 0 && daysToExpiry < percentByDays.length ? percentByDays[(int) daysToExpiry] : 0;
+    }
+
+    /**
+     * @return largest days to expiry that can be marked down, or -1 if none can
+     */
+    public int getMaxDays() {
+        return percentByDays.length - 1;
+    }
+}
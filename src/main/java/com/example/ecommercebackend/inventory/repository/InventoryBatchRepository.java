@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,6 +24,15 @@ public interface InventoryBatchRepository extends JpaRepository<InventoryBatch,
     @Query("SELECT ib FROM InventoryBatch ib WHERE ib.productId = :productId ORDER BY ib.expiryDate ASC")
     List<InventoryBatch> findByProductIdOrderByExpiryDate(@Param("productId") Long productId);
 
+    /**
+     * Find all batches for several products, grouped by product and sorted by expiry date within each.
+     *
+     * @param productIds the product IDs
+     * @return list of batches ordered by product ID, then expiry date
+     */
+    @Query("SELECT ib FROM InventoryBatch ib WHERE ib.productId IN :productIds ORDER BY ib.productId ASC, ib.expiryDate ASC")
+    List<InventoryBatch> findByProductIdInOrderByExpiryDate(@Param("productIds") Collection<Long> productIds);
+
     /**
      * Find a batch by batch ID.
      *
@@ -0,0 +1,65 @@
+package com.example.ecommercebackend.inventory.service;
+
+import com.example.ecommercebackend.config.datasource.JdbcUpsert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Units taken out of stock per product and day, in {@code inventory_consumption}.
+ * Written in the transaction that changes the batches, on the product's shard, so the ledger commits
+ * or rolls back with the stock itself and records what inventory actually gave up, which can differ
+ * from what was ordered. Nightly reconciliation compares it with the order rollups. The row is locked
+ * in the same transaction as the product's batches, so it adds no contention of its own.
+ */
+@Component
+public class InventoryConsumptionLedger {
+
+    static final String UPDATE_SQL = "UPDATE inventory_consumption SET quantity = quantity + ? " +
+            "WHERE product_id = ? AND consumed_day = ?";
+    static final String INSERT_SQL = "INSERT INTO inventory_consumption (product_id, consumed_day, quantity) " +
+            "VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    @Autowired
+    public InventoryConsumptionLedger(JdbcTemplate jdbcTemplate,
+                                      @Value("${inventory.ledger.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * A ledger that records nothing.
+     *
+     * @return disabled ledger
+     */
+    public static InventoryConsumptionLedger disabled() {
+        return new InventoryConsumptionLedger(null, false);
+    }
+
+    /**
+     * Record units taken out of (or, if negative, put back into) stock. Call from the transaction that
+     * changes the batches, bound to the product's shard.
+     *
+     * @param productId the product ID
+     * @param day the day of the change
+     * @param quantity units consumed; negative for units restored
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long productId, LocalDate day, long quantity) {
+        if (!enabled || quantity == 0) {
+            return;
+        }
+        Date consumedDay = Date.valueOf(day);
+        JdbcUpsert.upsert(jdbcTemplate, UPDATE_SQL, new Object[]{quantity, productId, consumedDay},
+                INSERT_SQL, new Object[]{productId, consumedDay, quantity});
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.ecommercebackend.inventory.service;
+
+import com.example.ecommercebackend.inventory.dto.InventoryImportResultDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryReceiptDTO;
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for receiving new inventory batches at runtime.
+ * Rows are inserted with JDBC batching in fixed-size chunks, each chunk in its own transaction,
+ * so memory stays bounded by the chunk size however large the upload is. When inventory is sharded,
+ * each chunk is split by owning shard and every part is written in its own transaction on that shard.
+ */
+@Service
+@Slf4j
+public class InventoryImportService {
+
+    static final String INSERT_SQL = "INSERT INTO inventory_batch " +
+            "(product_id, product_name, quantity, expiry_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_LOGGED_REJECTIONS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventoryShardRouter shardRouter;
+    private final int chunkSize;
+
+    @Autowired
+    public InventoryImportService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  InventoryShardRouter shardRouter,
+                                  @Value("${inventory.import.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("inventory.import.chunk-size must be positive: " + chunkSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Receive a list of batches. The list is validated up front and inserted all-or-nothing
+     * (per shard when inventory is sharded).
+     *
+     * @param receipts the batches to receive
+     * @return import summary
+     * @throws IllegalArgumentException if any batch is invalid
+     */
+    public InventoryImportResultDTO receiveBatches(List<InventoryReceiptDTO> receipts) {
+        long start = System.currentTimeMillis();
+        if (receipts == null || receipts.isEmpty()) {
+            throw new IllegalArgumentException("At least one batch is required");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(receipts.size());
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < receipts.size(); i++) {
+            InventoryReceiptDTO receipt = receipts.get(i);
+            if (receipt == null) {
+                throw new IllegalArgumentException("Batch " + i + ": batch is required");
+            }
+            String problem = validate(receipt.getProductId(), receipt.getProductName(),
+                    receipt.getQuantity(), receipt.getExpiryDate());
+            if (problem != null) {
+                throw new IllegalArgumentException("Batch " + i + ": " + problem);
+            }
+            rows.add(toRow(receipt.getProductId(), receipt.getProductName(), receipt.getQuantity(),
+                    receipt.getExpiryDate(), now));
+            productIds.add(receipt.getProductId());
+        }
+
+        byShard(rows).forEach((shard, shardRows) -> shardRouter.onShard(shard, () ->
+                transactionTemplate.execute(status -> {
+                    for (int from = 0; from < shardRows.size(); from += chunkSize) {
+                        jdbcTemplate.batchUpdate(INSERT_SQL,
+                                shardRows.subList(from, Math.min(from + chunkSize, shardRows.size())));
+                    }
+                    eventPublisher.publishEvent(new InventoryChangedEvent(productIdsOf(shardRows)));
+                    return null;
+                })));
+
+        log.info("Received {} batches for {} products", rows.size(), productIds.size());
+        return InventoryImportResultDTO.builder()
+                .imported((long) rows.size())
+                .rejected(0L)
+                .chunks((rows.size() + chunkSize - 1) / chunkSize)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    /**
+     * Import batches from a CSV stream, parsing one line at a time.
+     * The first line may be a header naming the columns (product_id, product_name, quantity,
+     * expiry_date, any others such as batch_id are ignored), which makes the seed file format
+     * importable as-is; without a header that column order is assumed. Malformed rows are
+     * counted and skipped.
+     *
+     * @param csv the CSV stream (UTF-8)
+     * @return import summary
+     * @throws IOException if the stream cannot be read
+     */
+    public InventoryImportResultDTO importCsv(InputStream csv) throws IOException {
+        long start = System.currentTimeMillis();
+        long imported = 0;
+        long rejected = 0;
+        int chunks = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024);
+        int[] columns = {0, 1, 2, 3};
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = parseLine(line);
+            if (lineNumber == 1 && isHeader(fields)) {
+                columns = resolveColumns(fields);
+                continue;
+            }
+
+            Object[] row = parseRow(fields, columns, now);
+            if (row == null) {
+                if (rejected++ < MAX_LOGGED_REJECTIONS) {
+                    log.warn("Rejected CSV line {}: {}", lineNumber, line);
+                }
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                imported += flush(chunk);
+                chunks++;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += flush(chunk);
+            chunks++;
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Imported {} batches in {} chunks ({} rejected) in {} ms", imported, chunks, rejected, elapsed);
+        return InventoryImportResultDTO.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .chunks(chunks)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    private int flush(List<Object[]> chunk) {
+        int size = chunk.size();
+        byShard(chunk).forEach((shard, shardRows) -> shardRouter.onShard(shard, () ->
+                transactionTemplate.execute(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, shardRows);
+                    eventPublisher.publishEvent(new InventoryChangedEvent(productIdsOf(shardRows)));
+                    return null;
+                })));
+        chunk.clear();
+        return size;
+    }
+
+    private Map<String, List<Object[]>> byShard(List<Object[]> rows) {
+        if (!shardRouter.isSharded()) {
+            return Map.of(shardRouter.shardFor((Long) rows.get(0)[0]), rows);
+        }
+        Map<String, List<Object[]>> byShard = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            byShard.computeIfAbsent(shardRouter.shardFor((Long) row[0]), shard -> new ArrayList<>()).add(row);
+        }
+        return byShard;
+    }
+
+    private static Set<Long> productIdsOf(List<Object[]> rows) {
+        Set<Long> productIds = new HashSet<>();
+        rows.forEach(row -> productIds.add((Long) row[0]));
+        return productIds;
+    }
+
+    private static Object[] parseRow(List<String> fields, int[] columns, Timestamp now) {
+        for (int column : columns) {
+            if (column < 0 || column >= fields.size()) {
+                return null;
+            }
+        }
+        try {
+            Long productId = Long.parseLong(fields.get(columns[0]).trim());
+            String productName = fields.get(columns[1]).trim();
+            Integer quantity = Integer.parseInt(fields.get(columns[2]).trim());
+            LocalDate expiryDate = LocalDate.parse(fields.get(columns[3]).trim());
+            if (validate(productId, productName, quantity, expiryDate) != null) {
+                return null;
+            }
+            return toRow(productId, productName, quantity, expiryDate, now);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String validate(Long productId, String productName, Integer quantity, LocalDate expiryDate) {
+        if (productId == null) {
+            return "productId is required";
+        }
+        if (productName == null || productName.isBlank()) {
+            return "productName is required";
+        }
+        if (quantity == null || quantity < 0) {
+            return "quantity must be zero or positive";
+        }
+        if (expiryDate == null) {
+            return "expiryDate is required";
+        }
+        return null;
+    }
+
+    private static Object[] toRow(Long productId, String productName, Integer quantity,
+                                  LocalDate expiryDate, Timestamp now) {
+        return new Object[]{productId, productName, quantity, Date.valueOf(expiryDate), now, now};
+    }
+
+    private static boolean isHeader(List<String> fields) {
+        return fields.stream().anyMatch(field -> field.trim().equalsIgnoreCase("product_id"));
+    }
+
+    private static int[] resolveColumns(List<String> header) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "product_id" -> columns[0] = i;
+                case "product_name" -> columns[1] = i;
+                case "quantity" -> columns[2] = i;
+                case "expiry_date" -> columns[3] = i;
+                default -> {
+                    // extra columns such as batch_id are ignored
+                }
+            }
+        }
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException(
+                        "CSV header must contain product_id, product_name, quantity and expiry_date");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Split one CSV line into fields. Supports double-quoted fields containing commas and
+     * escaped quotes ({@code ""}); quoted fields spanning several lines are not supported.
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(6);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,24 +1,45 @@
 package com.example.ecommercebackend.inventory.service;
 
+import com.example.ecommercebackend.config.datasource.ReadRoutingContext;
+import com.example.ecommercebackend.inventory.cache.InventoryCache;
 import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
 import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
 import com.example.ecommercebackend.inventory.factory.InventoryStrategy;
 import com.example.ecommercebackend.inventory.factory.InventoryStrategyFactory;
+import com.example.ecommercebackend.inventory.factory.InventoryStrategyType;
+import com.example.ecommercebackend.inventory.markdown.InventoryMarkdownService;
 import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import com.example.ecommercebackend.metrics.HotPathMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing inventory operations.
- * Handles inventory queries, updates, and batch reservations.
+ * Handles inventory queries, updates, and batch reservations. Single-product operations run on
+ * the shard that owns the product (see {@link InventoryShardRouter}); multi-product reads fan out
+ * to every shard involved. Reads are served from the node's {@link InventoryCache} when possible;
+ * updates and reservations always go to the database. Batches are filtered and ordered by the
+ * product's configured strategy (see {@link InventoryStrategyFactory}) unless the caller names another.
+ * <p>
+ * While the cache is on, cache loads read from the primary even in read-only transactions. An
+ * invalidation fires when the primary commits, so a load from a replica that has not caught up
+ * would put the old stock back into the cache, on every node, until the entry expires.
  */
 @Service
 @Slf4j
@@ -26,12 +47,30 @@ public class InventoryService {
 
     private final InventoryBatchRepository inventoryBatchRepository;
     private final InventoryStrategyFactory strategyFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotPathMetrics metrics;
+    private final InventoryShardRouter shardRouter;
+    private final InventoryCache inventoryCache;
+    private final InventoryMarkdownService markdownService;
+    private final InventoryConsumptionLedger consumptionLedger;
 
     @Autowired
     public InventoryService(InventoryBatchRepository inventoryBatchRepository,
-                            InventoryStrategyFactory strategyFactory) {
+                            InventoryStrategyFactory strategyFactory,
+                            ApplicationEventPublisher eventPublisher,
+                            HotPathMetrics metrics,
+                            InventoryShardRouter shardRouter,
+                            InventoryCache inventoryCache,
+                            InventoryMarkdownService markdownService,
+                            InventoryConsumptionLedger consumptionLedger) {
         this.inventoryBatchRepository = inventoryBatchRepository;
         this.strategyFactory = strategyFactory;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.shardRouter = shardRouter;
+        this.inventoryCache = inventoryCache;
+        this.markdownService = markdownService;
+        this.consumptionLedger = consumptionLedger;
     }
 
     /**
@@ -42,10 +81,77 @@ public class InventoryService {
      */
     @Transactional(readOnly = true)
     public InventoryResponseDTO getInventoryByProduct(Long productId) {
-        log.info("Fetching inventory for product ID: {}", productId);
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "getInventoryByProduct",
+                () -> inventoryCache.get(productId, () -> forCache(
+                        () -> shardRouter.onProductShard(productId, () -> loadInventory(productId)))));
+    }
 
-        List<InventoryBatch> batches = inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId);
+    /**
+     * Get inventory for a specific product using the given strategy instead of the product's own.
+     * Only responses under the product's own strategy are cached; any other is read from the database.
+     *
+     * @param productId the product ID
+     * @param strategyType the strategy to apply, or null for the product's own
+     * @return inventory response with batches in the strategy's order
+     */
+    @Transactional(readOnly = true)
+    public InventoryResponseDTO getInventoryByProduct(Long productId, InventoryStrategyType strategyType) {
+        if (strategyType == null || strategyType == strategyFactory.typeFor(productId)) {
+            return getInventoryByProduct(productId);
+        }
+        InventoryStrategy strategy = strategyFactory.getStrategy(strategyType);
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "getInventoryByProduct",
+                () -> shardRouter.onProductShard(productId, () -> toResponse(productId,
+                        inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId), strategy)));
+    }
 
+    /**
+     * Get inventory for several products at once. Cached products are served from the cache; the rest
+     * are grouped by shard and each shard is queried once, in parallel.
+     *
+     * @param productIds the product IDs
+     * @return one inventory response per distinct product, in request order
+     */
+    public List<InventoryResponseDTO> getInventoryByProducts(List<Long> productIds) {
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "getInventoryByProducts", () -> {
+            Map<Long, InventoryResponseDTO> responses = new LinkedHashMap<>();
+            Map<Long, List<InventoryBatch>> misses = new LinkedHashMap<>();
+            for (Long productId : new LinkedHashSet<>(productIds)) {
+                InventoryResponseDTO cached = inventoryCache.getIfPresent(productId);
+                responses.put(productId, cached);
+                if (cached == null) {
+                    misses.put(productId, new java.util.ArrayList<>());
+                }
+            }
+            if (misses.isEmpty()) {
+                return List.copyOf(responses.values());
+            }
+
+            long loadVersion = inventoryCache.currentVersion();
+            // bound on the thread that runs each shard's query
+            shardRouter.scatter(misses.keySet(),
+                            ids -> forCache(() -> inventoryBatchRepository.findByProductIdInOrderByExpiryDate(ids)))
+                    .forEach(batch -> misses.get(batch.getProductId()).add(batch));
+            misses.forEach((productId, batches) -> {
+                InventoryResponseDTO loaded = toResponse(productId, batches, strategyFactory.strategyFor(productId));
+                inventoryCache.put(productId, loaded, loadVersion);
+                responses.put(productId, loaded);
+            });
+            return List.copyOf(responses.values());
+        });
+    }
+
+    private <T> T forCache(Supplier<T> load) {
+        return inventoryCache.isEnabled() ? ReadRoutingContext.onPrimary(load) : load.get();
+    }
+
+    private InventoryResponseDTO loadInventory(Long productId) {
+        log.debug("Fetching inventory for product ID: {}", productId);
+        return toResponse(productId, inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId),
+                strategyFactory.strategyFor(productId));
+    }
+
+    private InventoryResponseDTO toResponse(Long productId, List<InventoryBatch> batches, InventoryStrategy strategy) {
         if (batches.isEmpty()) {
             log.warn("No inventory found for product ID: {}", productId);
             return InventoryResponseDTO.builder()
@@ -56,8 +162,6 @@ public class InventoryService {
                     .build();
         }
 
-        // Use default strategy to get available inventory
-        InventoryStrategy strategy = strategyFactory.getStrategy("DEFAULT");
         List<InventoryBatch> availableBatches = strategy.getAvailableInventory(batches);
         Integer totalQuantity = strategy.calculateTotalQuantity(availableBatches);
 
@@ -66,6 +170,7 @@ public class InventoryService {
                         .batchId(batch.getBatchId())
                         .quantity(batch.getQuantity())
                         .expiryDate(batch.getExpiryDate())
+                        .markdownPercent(markdownService.getMarkdownPercent(productId, batch.getBatchId()))
                         .build())
                 .collect(Collectors.toList());
 
@@ -86,7 +191,12 @@ public class InventoryService {
      */
     @Transactional
     public boolean updateInventory(InventoryUpdateDTO updateDTO) {
-        log.info("Updating inventory for product ID: {} with quantity: {}",
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "updateInventory",
+                () -> shardRouter.onProductShard(updateDTO.getProductId(), () -> reduceInventory(updateDTO)));
+    }
+
+    private boolean reduceInventory(InventoryUpdateDTO updateDTO) {
+        log.debug("Updating inventory for product ID: {} with quantity: {}",
                 updateDTO.getProductId(), updateDTO.getQuantityToReduce());
 
         // Parse batch IDs
@@ -96,6 +206,7 @@ public class InventoryService {
                 .toList();
 
         int remainingQuantity = updateDTO.getQuantityToReduce();
+        boolean changed = false;
 
         // Reduce inventory from batches in order
         for (Long batchId : batchIds) {
@@ -108,25 +219,87 @@ public class InventoryService {
             if (batch.getQuantity() >= remainingQuantity) {
                 batch.setQuantity(batch.getQuantity() - remainingQuantity);
                 inventoryBatchRepository.save(batch);
-                log.info("Reduced quantity {} from batch ID {}", remainingQuantity, batchId);
+                changed = true;
+                log.trace("Reduced quantity {} from batch ID {}", remainingQuantity, batchId);
                 remainingQuantity = 0;
                 break;
             } else {
                 remainingQuantity -= batch.getQuantity();
                 batch.setQuantity(0);
                 inventoryBatchRepository.save(batch);
-                log.info("Exhausted batch ID {}, remaining quantity to reduce: {}", batchId, remainingQuantity);
+                changed = true;
+                log.trace("Exhausted batch ID {}, remaining quantity to reduce: {}", batchId, remainingQuantity);
             }
         }
 
+        if (changed) {
+            // on the order's day, so reconciliation matches it with the order across midnight
+            LocalDate consumedDay = updateDTO.getOrderDate() != null ? updateDTO.getOrderDate() : LocalDate.now();
+            consumptionLedger.record(updateDTO.getProductId(), consumedDay,
+                    updateDTO.getQuantityToReduce() - remainingQuantity);
+            eventPublisher.publishEvent(InventoryChangedEvent.of(updateDTO.getProductId()));
+        }
+
         if (remainingQuantity > 0) {
             log.warn("Could not reduce all quantity. Remaining: {}", remainingQuantity);
+            metrics.count(HotPathMetrics.INVENTORY_OUTCOMES, "updateInventory", "insufficient");
             return false;
         }
 
         return true;
     }
 
+    /**
+     * Correct a product's stock after reconciliation found it out of line with the product's orders.
+     * Units are put back into the unexpired batch that expires last, or taken out first-expiry-first,
+     * and the correction is recorded in the consumption ledger on {@code ledgerDay} so the same
+     * discrepancy is not reported again.
+     *
+     * @param productId the product ID
+     * @param delta units to add (positive) or remove (negative)
+     * @param ledgerDay the day to record the correction on
+     * @return units actually added (positive) or removed (negative); less than asked if stock ran out
+     */
+    @Transactional
+    public int correctStock(Long productId, int delta, LocalDate ledgerDay) {
+        return shardRouter.onProductShard(productId, () -> applyCorrection(productId, delta, ledgerDay));
+    }
+
+    private int applyCorrection(Long productId, int delta, LocalDate ledgerDay) {
+        LocalDate today = LocalDate.now();
+        List<InventoryBatch> unexpired = inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId).stream()
+                .filter(batch -> !batch.getExpiryDate().isBefore(today))
+                .toList();
+        int applied = 0;
+        if (delta > 0 && !unexpired.isEmpty()) {
+            InventoryBatch latest = unexpired.get(unexpired.size() - 1);
+            latest.setQuantity(latest.getQuantity() + delta);
+            inventoryBatchRepository.save(latest);
+            applied = delta;
+        } else if (delta < 0) {
+            int remaining = -delta;
+            for (InventoryBatch batch : unexpired) {
+                int taken = Math.min(batch.getQuantity(), remaining);
+                if (taken > 0) {
+                    batch.setQuantity(batch.getQuantity() - taken);
+                    inventoryBatchRepository.save(batch);
+                    remaining -= taken;
+                }
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            applied = delta + remaining;
+        }
+
+        if (applied != 0) {
+            consumptionLedger.record(productId, ledgerDay, -applied);
+            eventPublisher.publishEvent(InventoryChangedEvent.of(productId));
+            log.info("Corrected stock of product ID {} by {} units", productId, applied);
+        }
+        return applied;
+    }
+
     /**
      * Check if sufficient inventory is available for a product.
      *
@@ -136,14 +309,25 @@ public class InventoryService {
      */
     @Transactional(readOnly = true)
     public boolean isSufficientInventory(Long productId, Integer requiredQuantity) {
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "isSufficientInventory",
+                () -> {
+                    InventoryResponseDTO cached = inventoryCache.getIfPresent(productId);
+                    if (cached != null) {
+                        return cached.getTotalQuantity() >= requiredQuantity;
+                    }
+                    return shardRouter.onProductShard(productId, () -> checkSufficient(productId, requiredQuantity));
+                });
+    }
+
+    private boolean checkSufficient(Long productId, Integer requiredQuantity) {
         List<InventoryBatch> batches = inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId);
 
-        InventoryStrategy strategy = strategyFactory.getStrategy("DEFAULT");
+        InventoryStrategy strategy = strategyFactory.strategyFor(productId);
         List<InventoryBatch> availableBatches = strategy.getAvailableInventory(batches);
         Integer totalQuantity = strategy.calculateTotalQuantity(availableBatches);
 
         boolean sufficient = totalQuantity >= requiredQuantity;
-        log.info("Checking inventory for product ID: {}. Required: {}, Available: {}, Sufficient: {}",
+        log.debug("Checking inventory for product ID: {}. Required: {}, Available: {}, Sufficient: {}",
                 productId, requiredQuantity, totalQuantity, sufficient);
 
         return sufficient;
@@ -151,7 +335,8 @@ public class InventoryService {
 
     /**
      * Reserve batches for an order based on required quantity.
-     * Returns the list of batch IDs from which inventory should be reserved.
+     * Returns the list of batch IDs from which inventory should be reserved, in the order of the
+     * product's strategy.
      *
      * @param productId the product ID
      * @param requiredQuantity the required quantity
@@ -159,7 +344,29 @@ public class InventoryService {
      */
     @Transactional(readOnly = true)
     public List<Long> reserveBatches(Long productId, Integer requiredQuantity) {
-        List<InventoryBatch> batches = inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId);
+        return reserveBatches(productId, requiredQuantity, null);
+    }
+
+    /**
+     * Reserve batches for an order using the given strategy instead of the product's own.
+     *
+     * @param productId the product ID
+     * @param requiredQuantity the required quantity
+     * @param strategyType the strategy to apply, or null for the product's own
+     * @return list of batch IDs to reserve from
+     */
+    @Transactional(readOnly = true)
+    public List<Long> reserveBatches(Long productId, Integer requiredQuantity, InventoryStrategyType strategyType) {
+        InventoryStrategy strategy = strategyType != null
+                ? strategyFactory.getStrategy(strategyType)
+                : strategyFactory.strategyFor(productId);
+        return metrics.time(HotPathMetrics.INVENTORY_SERVICE, "reserveBatches",
+                () -> shardRouter.onProductShard(productId, () -> selectBatches(productId, requiredQuantity, strategy)));
+    }
+
+    private List<Long> selectBatches(Long productId, Integer requiredQuantity, InventoryStrategy strategy) {
+        List<InventoryBatch> batches = strategy.getAvailableInventory(
+                inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId));
 
         List<Long> reservedBatchIds = new java.util.ArrayList<>();
         int remainingQuantity = requiredQuantity;
@@ -173,7 +380,7 @@ public class InventoryService {
             }
         }
 
-        log.info("Reserved batches {} for product ID: {} with quantity: {}",
+        log.debug("Reserved batches {} for product ID: {} with quantity: {}",
                 reservedBatchIds, productId, requiredQuantity);
 
         return reservedBatchIds;
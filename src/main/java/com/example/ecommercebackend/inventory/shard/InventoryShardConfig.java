@@ -0,0 +1,111 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory shard datasources, active when {@code inventory.shard.enabled=true}.
+ * Each URL in {@code inventory.shard.urls} gets its own Hikari pool and is migrated with the
+ * application's Liquibase changelog (contexts {@code inventory.shard.liquibase-contexts}, seed data
+ * excluded by default), then checked against the {@link ShardLayout} it was first deployed with, so a
+ * changed shard list fails startup. The application's {@code dataSource} bean is wrapped in a
+ * {@link ShardRoutingDataSource}, so repositories and JdbcTemplate follow {@link ShardContext}
+ * and everything that binds no shard (orders) keeps using the original datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.shard.enabled", havingValue = "true")
+public class InventoryShardConfig {
+
+    @Bean
+    public static ShardDataSourcePostProcessor shardDataSourcePostProcessor() {
+        return new ShardDataSourcePostProcessor();
+    }
+
+    @Slf4j
+    static class ShardDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, DisposableBean {
+
+        private Environment environment;
+        private final Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource defaultDataSource)) {
+                return bean;
+            }
+            List<String> urls = List.of(environment.getRequiredProperty("inventory.shard.urls", String[].class));
+            List<String> names = InventoryShardRouter.shardNames(urls.size());
+            int virtualNodes = environment.getProperty("inventory.shard.virtual-nodes", Integer.class, 128);
+            for (int i = 0; i < urls.size(); i++) {
+                HikariDataSource shard = shardPool(names.get(i), urls.get(i).trim());
+                shards.put(names.get(i), shard);
+                migrate(names.get(i), shard);
+                verifyLayout(new ShardLayout(names.get(i), urls.size(), virtualNodes), shard);
+            }
+            log.info("Routing inventory over shards {}", shards.keySet());
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(defaultDataSource, shards));
+        }
+
+        private HikariDataSource shardPool(String name, String url) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("inventory-" + name);
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(environment.getProperty("inventory.shard.username",
+                    environment.getProperty("spring.datasource.username", "")));
+            dataSource.setPassword(environment.getProperty("inventory.shard.password",
+                    environment.getProperty("spring.datasource.password", "")));
+            dataSource.setMaximumPoolSize(environment.getProperty("inventory.shard.pool-size", Integer.class, 10));
+            dataSource.setConnectionTimeout(environment.getProperty(
+                    "spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+            return dataSource;
+        }
+
+        private void migrate(String name, DataSource shard) {
+            SpringLiquibase liquibase = new SpringLiquibase();
+            liquibase.setDataSource(shard);
+            liquibase.setChangeLog(environment.getRequiredProperty("spring.liquibase.change-log"));
+            liquibase.setContexts(environment.getProperty("inventory.shard.liquibase-contexts", "!seed"));
+            liquibase.setResourceLoader(new DefaultResourceLoader());
+            try {
+                liquibase.afterPropertiesSet();
+            } catch (Exception e) {
+                throw new BeanCreationException("Failed to migrate inventory " + name, e);
+            }
+        }
+
+        private void verifyLayout(ShardLayout layout, DataSource shard) {
+            try {
+                layout.verify(new JdbcTemplate(shard));
+            } catch (IllegalStateException e) {
+                throw new BeanCreationException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void destroy() {
+            shards.values().forEach(HikariDataSource::close);
+        }
+    }
+}
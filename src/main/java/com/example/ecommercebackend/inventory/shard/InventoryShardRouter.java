@@ -0,0 +1,191 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Decides which shard holds a product's inventory and runs work against it.
+ * With {@code inventory.shard.enabled=true}, products are spread over the databases listed in
+ * {@code inventory.shard.urls} (named shard-0, shard-1, ... in list order) through a
+ * {@link ConsistentHashRing}. The list is fixed once inventory is stored: nothing moves rows a changed
+ * ring would assign elsewhere, and {@link ShardLayout} fails startup if it changes. Otherwise every
+ * call runs on the default datasource and the router is a pass-through.
+ */
+@Component
+@Slf4j
+public class InventoryShardRouter implements DisposableBean {
+
+    private final ConsistentHashRing ring;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scatterExecutor;
+
+    @Autowired
+    public InventoryShardRouter(@Value("${inventory.shard.enabled:false}") boolean enabled,
+                                @Value("${inventory.shard.urls:}") List<String> urls,
+                                @Value("${inventory.shard.virtual-nodes:128}") int virtualNodes,
+                                ObjectProvider<PlatformTransactionManager> transactionManager) {
+        if (enabled) {
+            if (urls.isEmpty()) {
+                throw new IllegalStateException("inventory.shard.urls must list at least one shard");
+            }
+            this.ring = new ConsistentHashRing(shardNames(urls.size()), virtualNodes);
+            this.scatterExecutor = Executors.newFixedThreadPool(urls.size(), scatterThreadFactory());
+            log.info("Inventory sharded over {} databases", urls.size());
+        } else {
+            this.ring = null;
+            this.scatterExecutor = null;
+        }
+        PlatformTransactionManager manager = transactionManager.getIfAvailable();
+        if (manager != null) {
+            this.readOnlyTransaction = new TransactionTemplate(manager);
+            this.readOnlyTransaction.setReadOnly(true);
+        } else {
+            this.readOnlyTransaction = null;
+        }
+    }
+
+    /**
+     * A router that keeps everything on the default datasource.
+     *
+     * @return pass-through router
+     */
+    public static InventoryShardRouter unsharded() {
+        return new InventoryShardRouter(false, List.of(), 0,
+                new StaticListableBeanFactory().getBeanProvider(PlatformTransactionManager.class));
+    }
+
+    static List<String> shardNames(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "shard-" + i).toList();
+    }
+
+    public boolean isSharded() {
+        return ring != null;
+    }
+
+    /**
+     * All shards, or just {@link ShardContext#DEFAULT} when unsharded.
+     *
+     * @return shard names
+     */
+    public List<String> getShards() {
+        return ring != null ? ring.getShards() : List.of(ShardContext.DEFAULT);
+    }
+
+    /**
+     * The shard holding a product's batches.
+     *
+     * @param productId the product ID
+     * @return shard name
+     */
+    public String shardFor(Long productId) {
+        return ring != null ? ring.shardFor(productId) : ShardContext.DEFAULT;
+    }
+
+    /**
+     * Run work against one shard. Connections opened inside go to that shard; inside a transaction
+     * this must be called before the transaction's first statement.
+     *
+     * @param shard the shard name
+     * @param work the work
+     * @return the work's result
+     */
+    public <T> T onShard(String shard, Supplier<T> work) {
+        String previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Run work against the shard that holds a product.
+     *
+     * @param productId the product ID
+     * @param work the work
+     * @return the work's result
+     */
+    public <T> T onProductShard(Long productId, Supplier<T> work) {
+        return onShard(shardFor(productId), work);
+    }
+
+    /**
+     * Group products by shard and read each group in its own read-only transaction, in parallel
+     * when more than one shard is involved. Results are concatenated in shard order.
+     *
+     * @param productIds the products to read
+     * @param query reads the given products from the bound shard
+     * @return all results
+     */
+    public <T> List<T> scatter(Collection<Long> productIds, Function<List<Long>, List<T>> query) {
+        Map<String, List<Long>> byShard = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            byShard.computeIfAbsent(shardFor(productId), shard -> new ArrayList<>()).add(productId);
+        }
+        if (byShard.size() <= 1) {
+            return byShard.entrySet().stream()
+                    .findFirst()
+                    .map(group -> readOnShard(group.getKey(), group.getValue(), query))
+                    .orElse(List.of());
+        }
+
+        List<CompletableFuture<List<T>>> parts = byShard.entrySet().stream()
+                .map(group -> CompletableFuture.supplyAsync(
+                        () -> readOnShard(group.getKey(), group.getValue(), query), scatterExecutor))
+                .toList();
+        List<T> results = new ArrayList<>();
+        try {
+            parts.forEach(part -> results.addAll(part.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private <T> List<T> readOnShard(String shard, List<Long> productIds, Function<List<Long>, List<T>> query) {
+        return onShard(shard, () -> readOnlyTransaction != null
+                ? readOnlyTransaction.execute(status -> query.apply(productIds))
+                : query.apply(productIds));
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+
+    private static ThreadFactory scatterThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "inventory-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
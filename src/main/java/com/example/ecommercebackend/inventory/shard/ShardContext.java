@@ -0,0 +1,43 @@
+package com.example.ecommercebackend.inventory.shard;
+
+/**
+ * The inventory shard the current thread works against. Read by {@link ShardRoutingDataSource}
+ * when a connection is opened; bound and restored through {@link InventoryShardRouter}.
+ */
+public final class ShardContext {
+
+    /**
+     * The application's own datasource, used when sharding is off and for everything that is not
+     * inventory (orders).
+     */
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * The bound shard, or {@link #DEFAULT} if none is bound.
+     *
+     * @return shard name
+     */
+    public static String current() {
+        String shard = CURRENT.get();
+        return shard != null ? shard : DEFAULT;
+    }
+
+    static String bind(String shard) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
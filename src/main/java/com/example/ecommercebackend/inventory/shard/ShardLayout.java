@@ -0,0 +1,72 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The ring a shard database was first deployed with, kept in its own {@code inventory_shard_layout}
+ * table. The ring decides where every product's rows live and nothing moves them when it changes, so
+ * a shard whose recorded name, shard count or virtual nodes differ from the configuration stops the
+ * application instead of serving the wrong products.
+ */
+final class ShardLayout {
+
+    private static final String SELECT_SQL =
+            "SELECT shard_name, shard_count, virtual_nodes FROM inventory_shard_layout";
+    private static final String INSERT_SQL = "INSERT INTO inventory_shard_layout " +
+            "(shard_name, shard_count, virtual_nodes, recorded_at) VALUES (?, ?, ?, ?)";
+
+    private final String name;
+    private final int shardCount;
+    private final int virtualNodes;
+
+    ShardLayout(String name, int shardCount, int virtualNodes) {
+        this.name = name;
+        this.shardCount = shardCount;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Record this layout in an empty shard, or check it against the one recorded.
+     *
+     * @param shard the shard database
+     * @throws IllegalStateException if the shard was deployed with a different layout
+     */
+    void verify(JdbcTemplate shard) {
+        List<ShardLayout> recorded = read(shard);
+        if (recorded.isEmpty()) {
+            try {
+                shard.update(INSERT_SQL, name, shardCount, virtualNodes, Timestamp.from(Instant.now()));
+                return;
+            } catch (DuplicateKeyException e) {
+                // another node recorded it first
+                recorded = read(shard);
+            }
+        }
+        for (ShardLayout layout : recorded) {
+            if (!layout.matches(this)) {
+                throw new IllegalStateException("Inventory database at " + name + " was deployed as " + layout
+                        + " but is now configured as " + this + "; the shard list in inventory.shard.urls and "
+                        + "inventory.shard.virtual-nodes cannot change once inventory is stored");
+            }
+        }
+    }
+
+    private boolean matches(ShardLayout other) {
+        return name.equals(other.name) && shardCount == other.shardCount && virtualNodes == other.virtualNodes;
+    }
+
+    private static List<ShardLayout> read(JdbcTemplate shard) {
+        return shard.query(SELECT_SQL, (rs, rowNum) -> new ShardLayout(rs.getString("shard_name"),
+                rs.getInt("shard_count"), rs.getInt("virtual_nodes")));
+    }
+
+    @Override
+    public String toString() {
+        return name + " of " + shardCount + " with " + virtualNodes + " virtual nodes";
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opens connections on the shard bound in {@link ShardContext}, or on the application's default
+ * datasource when none is. Wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the shard can be
+ * bound after a transaction has begun, as long as it is before the first statement.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(DataSource defaultDataSource, Map<String, ? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>(shards);
+        targets.put(ShardContext.DEFAULT, defaultDataSource);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(defaultDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.ecommercebackend.inventory.stream;
+
+import com.example.ecommercebackend.config.datasource.ReadRoutingContext;
+import com.example.ecommercebackend.inventory.cache.InvalidationBus;
+import com.example.ecommercebackend.inventory.cache.InventoryInvalidation;
+import com.example.ecommercebackend.inventory.dto.InventoryStockChangeDTO;
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes stock changes to subscribers as server-sent events.
+ * Listens on the {@link InvalidationBus}, so it sees every committed change: this node's right after
+ * commit, other nodes' when the bus delivers them. Changed products that someone watches are marked
+ * dirty and re-read on one background thread, once per product however many changes arrived in the
+ * meantime and however many subscribers watch it; the read usually reloads the inventory cache.
+ * <p>
+ * Each subscriber keeps only the latest unsent quantity per product and is sent only what it has
+ * requested, so a slow consumer sees fewer, newer updates and its buffer never grows beyond the
+ * number of products it watches. Subscribers hold no thread while idle; the response is written
+ * asynchronously.
+ */
+@Service
+@Slf4j
+public class InventoryStockStream implements DisposableBean {
+
+    public static final String EVENT_NAME = "stock";
+
+    private final InventoryService inventoryService;
+    private final int maxSubscribers;
+    private final int maxProducts;
+    private final Duration heartbeat;
+    private final Duration maxDuration;
+    private final Map<Long, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService refresher;
+    private final Counter events;
+
+    @Autowired
+    public InventoryStockStream(InventoryService inventoryService,
+                                InvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry,
+                                @Value("${inventory.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${inventory.stream.max-products:100}") int maxProducts,
+                                @Value("${inventory.stream.heartbeat:PT15S}") Duration heartbeat,
+                                @Value("${inventory.stream.max-duration:PT30M}") Duration maxDuration) {
+        this.inventoryService = inventoryService;
+        this.maxSubscribers = maxSubscribers;
+        this.maxProducts = maxProducts;
+        this.heartbeat = heartbeat;
+        this.maxDuration = maxDuration;
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.events = meterRegistry.counter("inventory.stream.events");
+        Gauge.builder("inventory.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open stock change streams")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Stream the current stock of the given products, then every change to it, with a comment line
+     * every {@code inventory.stream.heartbeat}. The stream ends after {@code inventory.stream.max-duration};
+     * SSE clients reconnect on their own.
+     *
+     * @param productIds the products to watch
+     * @return stream of {@value #EVENT_NAME} events
+     * @throws IllegalArgumentException if no or too many products are given
+     * @throws RejectedExecutionException if the subscriber limit is reached
+     */
+    public Flux<ServerSentEvent<InventoryStockChangeDTO>> watch(Collection<Long> productIds) {
+        Set<Long> products = new LinkedHashSet<>(productIds);
+        products.remove(null);
+        if (products.isEmpty() || products.size() > maxProducts) {
+            throw new IllegalArgumentException("Between 1 and " + maxProducts + " product IDs are required");
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new RejectedExecutionException("Too many stock stream subscribers");
+        }
+
+        Flux<ServerSentEvent<InventoryStockChangeDTO>> changes = Flux.create(sink -> {
+            Watcher watcher = new Watcher(products, sink);
+            Disposable ticker = Flux.interval(heartbeat).subscribe(tick -> watcher.heartbeat());
+            sink.onRequest(requested -> watcher.drain());
+            sink.onDispose(() -> {
+                ticker.dispose();
+                unregister(watcher);
+            });
+            products.forEach(productId -> watchers.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet())
+                    .add(watcher));
+            // on the refresh thread, so the first values can never overtake a later change
+            refresher.execute(() -> products.forEach(productId -> refresh(productId, Set.of(watcher))));
+        });
+        // nothing may buffer between the sink and the subscriber, or coalescing would not see demand
+        return changes.take(maxDuration);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    private void onInvalidation(InventoryInvalidation invalidation) {
+        boolean watched = false;
+        for (Long productId : invalidation.productIds()) {
+            if (watchers.containsKey(productId)) {
+                dirty.add(productId);
+                watched = true;
+            }
+        }
+        if (watched && refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refreshDirty);
+            } catch (RejectedExecutionException e) {
+                log.debug("Stock stream stopped; change to {} not pushed", invalidation.productIds());
+            }
+        }
+    }
+
+    private void refreshDirty() {
+        // cleared first: a change arriving from here on schedules another pass
+        refreshScheduled.set(false);
+        Iterator<Long> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            Long productId = iterator.next();
+            iterator.remove();
+            Set<Watcher> productWatchers = watchers.get(productId);
+            if (productWatchers != null && !productWatchers.isEmpty()) {
+                refresh(productId, productWatchers);
+            }
+        }
+    }
+
+    private void refresh(Long productId, Set<Watcher> targets) {
+        try {
+            Integer quantity = ReadRoutingContext.onPrimary(
+                    () -> inventoryService.getInventoryByProduct(productId).getTotalQuantity());
+            InventoryStockChangeDTO change = InventoryStockChangeDTO.builder()
+                    .productId(productId)
+                    .totalQuantity(quantity)
+                    .asOf(Instant.now())
+                    .build();
+            targets.forEach(watcher -> watcher.offer(change));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read stock of product ID: {} for stream subscribers", productId, e);
+        }
+    }
+
+    private void unregister(Watcher watcher) {
+        watcher.productIds.forEach(productId -> watchers.computeIfPresent(productId, (id, productWatchers) -> {
+            productWatchers.remove(watcher);
+            return productWatchers.isEmpty() ? null : productWatchers;
+        }));
+        subscribers.decrementAndGet();
+    }
+
+    /**
+     * Close every open stream, so clients see a clean end and reconnect to another node.
+     */
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+        watchers.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .toList()
+                .forEach(watcher -> watcher.sink.complete());
+    }
+
+    private final class Watcher {
+
+        private final Set<Long> productIds;
+        private final FluxSink<ServerSentEvent<InventoryStockChangeDTO>> sink;
+        // latest unsent change per product; a newer one replaces it
+        private final Map<Long, InventoryStockChangeDTO> pending = new ConcurrentHashMap<>();
+        private final AtomicInteger drainers = new AtomicInteger();
+        private volatile boolean heartbeatDue;
+
+        private Watcher(Set<Long> productIds, FluxSink<ServerSentEvent<InventoryStockChangeDTO>> sink) {
+            this.productIds = productIds;
+            this.sink = sink;
+        }
+
+        private void offer(InventoryStockChangeDTO change) {
+            pending.put(change.getProductId(), change);
+            drain();
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainers.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (heartbeatDue && sink.requestedFromDownstream() > 0) {
+                    heartbeatDue = false;
+                    sink.next(ServerSentEvent.<InventoryStockChangeDTO>builder().comment("keep-alive").build());
+                }
+                Iterator<Long> iterator = pending.keySet().iterator();
+                while (sink.requestedFromDownstream() > 0 && iterator.hasNext()) {
+                    InventoryStockChangeDTO change = pending.remove(iterator.next());
+                    if (change != null) {
+                        events.increment();
+                        sink.next(ServerSentEvent.builder(change)
+                                .event(EVENT_NAME)
+                                .id(change.getProductId() + "-" + change.getAsOf().toEpochMilli())
+                                .build());
+                    }
+                }
+                missed = drainers.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ecommercebackend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers for the order and inventory hot paths.
+ * Every timer carries an {@code operation} tag (service method or order phase) and an
+ * {@code outcome} tag, and publishes a percentile histogram so p99 latency can be read per phase.
+ */
+@Component
+public class HotPathMetrics {
+
+    public static final String ORDER_PLACE = "order.place";
+    public static final String ORDER_PHASE = "order.place.phase";
+    public static final String INVENTORY_SERVICE = "inventory.service";
+    public static final String INVENTORY_OUTCOMES = "inventory.service.outcomes";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public HotPathMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a block of code, tagging the outcome as success or, if it throws, error.
+     *
+     * @param name the timer name
+     * @param operation the operation tag
+     * @param body the code to time
+     * @return the value returned by the body
+     */
+    public <T> T time(String name, String operation, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = body.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            sample.stop(timer(name, operation, outcome));
+        }
+    }
+
+    /**
+     * Time a block of code that returns nothing.
+     *
+     * @param name the timer name
+     * @param operation the operation tag
+     * @param body the code to time
+     */
+    public void record(String name, String operation, Runnable body) {
+        time(name, operation, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Start timing an operation whose outcome is only known at the end.
+     *
+     * @return a running sample
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stop a sample started with {@link #start()}.
+     *
+     * @param sample the running sample
+     * @param name the timer name
+     * @param operation the operation tag
+     * @param outcome the outcome tag
+     */
+    public void stop(Timer.Sample sample, String name, String operation, String outcome) {
+        sample.stop(timer(name, operation, outcome));
+    }
+
+    /**
+     * Count an event on a hot path, such as a rejected order or an inventory update that ran short.
+     *
+     * @param name the counter name
+     * @param operation the operation tag
+     * @param outcome the outcome tag
+     */
+    public void count(String name, String operation, String outcome) {
+        meterRegistry.counter(name, "operation", operation, "outcome", outcome).increment();
+    }
+
+    private Timer timer(String name, String operation, String outcome) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ecommercebackend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records time-to-first-request: JVM uptime when the first HTTP response completes, which covers
+ * JVM start, context refresh and any work deferred to the first request. Logged once and published
+ * as the {@code application.first.request.time} gauge, next to Spring Boot's
+ * {@code application.started.time} and {@code application.ready.time}.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    @Autowired
+    public StartupTimingFilter(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.first.request.time", firstRequestMillis, TimeUnit.MILLISECONDS,
+                        AtomicLong::get)
+                .description("JVM uptime when the first HTTP request completed, -1 until then")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (firstRequestMillis.get() < 0) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                if (firstRequestMillis.compareAndSet(-1, uptime)) {
+                    log.info("First request ({} {}) completed {} ms after JVM start",
+                            request.getMethod(), request.getRequestURI(), uptime);
+                }
+            }
+        }
+    }
+
+    /**
+     * JVM uptime in milliseconds when the first request completed, or -1 before that.
+     *
+     * @return time to first request
+     */
+    public long getFirstRequestMillis() {
+        return firstRequestMillis.get();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ecommercebackend.order.controller;
+
+import com.example.ecommercebackend.order.dto.OrderProductRollupDTO;
+import com.example.ecommercebackend.order.dto.OrderStatusCountsDTO;
+import com.example.ecommercebackend.order.service.OrderRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for order reports.
+ * Answers come from rollups maintained with every order, so their cost does not grow with the
+ * number of orders.
+ */
+@RestController
+@RequestMapping("/order/analytics")
+@Tag(name = "Order Analytics", description = "Order counts and quantities from maintained rollups")
+@Slf4j
+public class OrderAnalyticsController {
+
+    private final OrderRollupService orderRollupService;
+
+    @Autowired
+    public OrderAnalyticsController(OrderRollupService orderRollupService) {
+        this.orderRollupService = orderRollupService;
+    }
+
+    /**
+     * Orders placed and units ordered for a product per day.
+     *
+     * @param productId the product ID
+     * @param from first day (inclusive)
+     * @param to last day (inclusive), defaults to from
+     * @return totals and per-day figures
+     */
+    @GetMapping("/products/{productId}/daily")
+    @Operation(summary = "Orders per product per day",
+            description = "Returns orders placed and units ordered per day for one product over at most 366 days")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollup retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OrderProductRollupDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<OrderProductRollupDTO> getProductDaily(
+            @Parameter(description = "Product ID", example = "1001")
+            @PathVariable Long productId,
+            @Parameter(description = "First day (inclusive)", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), defaults to from", example = "2026-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(orderRollupService.getProductRollup(productId, from, to != null ? to : from));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid order rollup request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Number of orders in each status.
+     *
+     * @return counts per status
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Orders per status", description = "Returns the number of orders in each status")
+    @ApiResponse(responseCode = "200", description = "Counts retrieved successfully",
+            content = @Content(schema = @Schema(implementation = OrderStatusCountsDTO.class)))
+    public ResponseEntity<OrderStatusCountsDTO> getStatusCounts() {
+        return ResponseEntity.ok(orderRollupService.getStatusCounts());
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.ecommercebackend.order.controller;
 
+import com.example.ecommercebackend.config.admission.RequestRateLimiter;
+import com.example.ecommercebackend.order.dto.OrderBulkTransitionRequestDTO;
+import com.example.ecommercebackend.order.dto.OrderBulkTransitionResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderPageDTO;
 import com.example.ecommercebackend.order.dto.OrderRequestDTO;
 import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderTicketDTO;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import com.example.ecommercebackend.order.entity.OrderTransition;
+import com.example.ecommercebackend.order.service.OrderIntakeService;
 import com.example.ecommercebackend.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,10 +20,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * REST controller for Order Service.
  * Provides endpoints for order placement and management.
@@ -25,11 +40,20 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class OrderController {
 
+    static final long MAX_WAIT_SECONDS = 25;
+    static final String RETRY_AFTER_SECONDS = "1";
+
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final RequestRateLimiter rateLimiter;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderIntakeService orderIntakeService,
+                           RequestRateLimiter rateLimiter) {
         this.orderService = orderService;
+        this.orderIntakeService = orderIntakeService;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -46,13 +70,18 @@ public class OrderController {
             @ApiResponse(responseCode = "201", description = "Order placed successfully",
                     content = @Content(schema = @Schema(implementation = OrderResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request or insufficient inventory"),
+            @ApiResponse(responseCode = "429", description = "Rate limit for the client or product exceeded"),
             @ApiResponse(responseCode = "500", description = "Failed to place order")
     })
     public ResponseEntity<OrderResponseDTO> placeOrder(
             @RequestBody OrderRequestDTO orderRequest) {
-        log.info("POST request to place order for product ID: {} with quantity: {}",
+        log.debug("POST request to place order for product ID: {} with quantity: {}",
                 orderRequest.getProductId(), orderRequest.getQuantity());
 
+        long productWait = rateLimiter.tryAcquireProduct(orderRequest.getProductId());
+        if (productWait > 0) {
+            return tooManyRequests(productWait);
+        }
         try {
             OrderResponseDTO response = orderService.placeOrder(orderRequest);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -64,5 +93,192 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    /**
+     * Accept an order for asynchronous processing.
+     * Returns as soon as the order is queued; the result is read from the ticket.
+     *
+     * @param orderRequest the order request
+     * @return ticket to poll, with its URL in the Location header
+     */
+    @PostMapping("/async")
+    @Operation(summary = "Place an order asynchronously",
+            description = "Queues the order and returns a ticket immediately; poll GET /order/async/{ticketId} for the result")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Order accepted",
+                    content = @Content(schema = @Schema(implementation = OrderTicketDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "429", description = "Rate limit for the client or product exceeded"),
+            @ApiResponse(responseCode = "503", description = "Order queue is full; retry after the Retry-After delay")
+    })
+    public ResponseEntity<OrderTicketDTO> placeOrderAsync(
+            @RequestBody OrderRequestDTO orderRequest) {
+        long productWait = rateLimiter.tryAcquireProduct(orderRequest.getProductId());
+        if (productWait > 0) {
+            return tooManyRequests(productWait);
+        }
+        try {
+            OrderTicketDTO ticket = orderIntakeService.submit(orderRequest);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/order/async/" + ticket.getTicketId()))
+                    .body(ticket);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid order request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Order not accepted: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+    }
+
+    /**
+     * Get the state of an asynchronous order, optionally waiting for it to complete.
+     *
+     * @param ticketId the ticket ID
+     * @param waitSeconds seconds to wait for completion (long poll), 0 to return at once
+     * @return the ticket
+     */
+    @GetMapping("/async/{ticketId}")
+    @Operation(summary = "Get an asynchronous order",
+            description = "Returns the ticket state; with waitSeconds the response is held until the order completes " +
+                    "or the wait is over (max " + MAX_WAIT_SECONDS + ")")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket state",
+                    content = @Content(schema = @Schema(implementation = OrderTicketDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired ticket")
+    })
+    public CompletableFuture<ResponseEntity<OrderTicketDTO>> getOrderTicket(
+            @Parameter(description = "Ticket ID")
+            @PathVariable String ticketId,
+            @Parameter(description = "Seconds to wait for completion", example = "10")
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        Duration wait = Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS)));
+        CompletableFuture<OrderTicketDTO> ticket = orderIntakeService.awaitTicket(ticketId, wait);
+        if (ticket == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return ticket.thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Get an order by ID.
+     *
+     * @param orderId the order ID
+     * @return the order details
+     */
+    @GetMapping("/{orderId}")
+    @Operation(summary = "Get order by ID", description = "Returns the current state of an order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order found",
+                    content = @Content(schema = @Schema(implementation = OrderResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    public ResponseEntity<OrderResponseDTO> getOrder(
+            @Parameter(description = "Order ID", example = "1")
+            @PathVariable Long orderId) {
+        OrderResponseDTO response = orderService.getOrderDetails(orderId);
+        return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * List orders with a given status using keyset pagination.
+     * Fulfilment workers drain a queue by passing back nextAfterOrderId until it is null.
+     *
+     * @param status the order status
+     * @param afterOrderId return orders with an ID greater than this
+     * @param size page size
+     * @return one page of orders
+     */
+    @GetMapping
+    @Operation(summary = "List orders by status",
+            description = "Returns orders with the given status ordered by ID, resuming after afterOrderId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OrderPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid status or page size")
+    })
+    public ResponseEntity<OrderPageDTO> getOrdersByStatus(
+            @Parameter(description = "Order status", example = "PLACED")
+            @RequestParam OrderStatus status,
+            @Parameter(description = "Return orders with an ID greater than this", example = "0")
+            @RequestParam(defaultValue = "0") Long afterOrderId,
+            @Parameter(description = "Page size (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersByStatus(status, afterOrderId, size));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid order listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Apply a lifecycle action to a single order.
+     *
+     * @param orderId the order ID
+     * @param action ship, deliver or cancel
+     * @return the updated order
+     */
+    @PostMapping("/{orderId}/{action}")
+    @Operation(summary = "Ship, deliver or cancel an order",
+            description = "PLACED orders can be shipped or cancelled; SHIPPED orders can be delivered")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order status updated",
+                    content = @Content(schema = @Schema(implementation = OrderResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown action"),
+            @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "409", description = "Order is not in a status that allows the action")
+    })
+    public ResponseEntity<OrderResponseDTO> transitionOrder(
+            @Parameter(description = "Order ID", example = "1")
+            @PathVariable Long orderId,
+            @Parameter(description = "Action: ship, deliver or cancel", example = "ship")
+            @PathVariable String action) {
+        try {
+            OrderResponseDTO response = orderService.transitionOrder(orderId, OrderTransition.fromAction(action));
+            return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid order action: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Rejected order transition: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Apply a lifecycle action to many orders in one statement.
+     *
+     * @param action ship, deliver or cancel
+     * @param request the order IDs
+     * @return requested and updated counts
+     */
+    @PostMapping("/bulk/{action}")
+    @Operation(summary = "Bulk ship, deliver or cancel orders",
+            description = "Transitions up to 10000 orders in a single statement; orders in the wrong status are skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders transitioned",
+                    content = @Content(schema = @Schema(implementation = OrderBulkTransitionResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown action or invalid order ID list")
+    })
+    public ResponseEntity<OrderBulkTransitionResponseDTO> transitionOrders(
+            @Parameter(description = "Action: ship, deliver or cancel", example = "ship")
+            @PathVariable String action,
+            @RequestBody OrderBulkTransitionRequestDTO request) {
+        try {
+            return ResponseEntity.ok(orderService.transitionOrders(request.getOrderIds(),
+                    OrderTransition.fromAction(action)));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk order action: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static <T> ResponseEntity<T> tooManyRequests(long retryAfterNanos) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(RequestRateLimiter.retryAfterSeconds(retryAfterNanos)))
+                .build();
+    }
+}
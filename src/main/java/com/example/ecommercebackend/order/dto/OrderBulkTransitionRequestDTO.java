@@ -0,0 +1,23 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for transitioning many orders to a new status at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk order status transition request")
+public class OrderBulkTransitionRequestDTO {
+
+    @Schema(description = "IDs of the orders to transition", example = "[1, 2, 3]", required = true)
+    private List<Long> orderIds;
+}
@@ -0,0 +1,31 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a bulk order status transition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk order status transition result")
+public class OrderBulkTransitionResponseDTO {
+
+    @Schema(description = "Applied transition", example = "SHIP")
+    private String transition;
+
+    @Schema(description = "Status the orders were moved to", example = "SHIPPED")
+    private String status;
+
+    @Schema(description = "Number of order IDs in the request", example = "3")
+    private Integer requested;
+
+    @Schema(description = "Number of orders actually transitioned; orders not in the source status are skipped",
+            example = "2")
+    private Integer updated;
+}
@@ -0,0 +1,29 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the orders placed for one product on one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Orders placed for a product on one day")
+public class OrderDayRollupDTO {
+
+    @Schema(description = "Order date", example = "2026-03-01")
+    private LocalDate day;
+
+    @Schema(description = "Orders placed", example = "12")
+    private Long orderCount;
+
+    @Schema(description = "Units ordered", example = "31")
+    private Long quantity;
+}
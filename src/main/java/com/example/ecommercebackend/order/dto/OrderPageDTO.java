@@ -0,0 +1,27 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset page of orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page of orders ordered by order ID")
+public class OrderPageDTO {
+
+    @Schema(description = "Orders in this page")
+    private List<OrderResponseDTO> orders;
+
+    @Schema(description = "Pass as afterOrderId to fetch the next page; null when this is the last page",
+            example = "5012")
+    private Long nextAfterOrderId;
+}
@@ -0,0 +1,39 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the orders placed for one product over a date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Orders placed for a product per day over a date range")
+public class OrderProductRollupDTO {
+
+    @Schema(description = "Product ID", example = "1001")
+    private Long productId;
+
+    @Schema(description = "First day of the range (inclusive)", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2026-03-31")
+    private LocalDate to;
+
+    @Schema(description = "Orders placed in the range", example = "240")
+    private Long orderCount;
+
+    @Schema(description = "Units ordered in the range", example = "615")
+    private Long quantity;
+
+    @Schema(description = "Days with at least one order, in date order")
+    private List<OrderDayRollupDTO> days;
+}
@@ -0,0 +1,26 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for the number of orders in each status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Number of orders in each status")
+public class OrderStatusCountsDTO {
+
+    @Schema(description = "Orders per status, every status listed", example = "{\"PLACED\": 120, \"SHIPPED\": 40}")
+    private Map<String, Long> counts;
+
+    @Schema(description = "All orders", example = "160")
+    private Long total;
+}
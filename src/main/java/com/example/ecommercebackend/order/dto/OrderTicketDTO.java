@@ -0,0 +1,33 @@
+package com.example.ecommercebackend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an order accepted for asynchronous processing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Handle for an order accepted for asynchronous processing")
+public class OrderTicketDTO {
+
+    @Schema(description = "Ticket ID to poll", example = "3f2a9c1e-7d4b-4b8e-9a51-0c6e2d7f1b22")
+    private String ticketId;
+
+    @Schema(description = "QUEUED, PROCESSING, PLACED, REJECTED or FAILED", example = "QUEUED")
+    private String state;
+
+    @Schema(description = "ID of the placed order, once state is PLACED", example = "5012")
+    private Long orderId;
+
+    @Schema(description = "The placed order, once state is PLACED")
+    private OrderResponseDTO order;
+
+    @Schema(description = "Why the order was rejected or failed", example = "Insufficient inventory for product ID: 1002")
+    private String message;
+}
@@ -0,0 +1,12 @@
+package com.example.ecommercebackend.order.entity;
+
+/**
+ * Lifecycle states of a customer order.
+ * Stored by name in the {@code status} column so the existing idx_order_status index serves status queries.
+ */
+public enum OrderStatus {
+    PLACED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED
+}
@@ -0,0 +1,45 @@
+package com.example.ecommercebackend.order.entity;
+
+import java.util.Locale;
+
+/**
+ * Allowed order status transitions.
+ * Each transition has exactly one source status, so a bulk update can be expressed as a single
+ * {@code UPDATE ... WHERE status = :from} statement without re-reading the affected orders.
+ */
+public enum OrderTransition {
+    SHIP(OrderStatus.PLACED, OrderStatus.SHIPPED),
+    DELIVER(OrderStatus.SHIPPED, OrderStatus.DELIVERED),
+    CANCEL(OrderStatus.PLACED, OrderStatus.CANCELLED);
+
+    private final OrderStatus from;
+    private final OrderStatus to;
+
+    OrderTransition(OrderStatus from, OrderStatus to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public OrderStatus getFrom() {
+        return from;
+    }
+
+    public OrderStatus getTo() {
+        return to;
+    }
+
+    /**
+     * Resolve a transition from its action name as used in the REST API ("ship", "deliver", "cancel").
+     *
+     * @param action the action name, case-insensitive
+     * @return the matching transition
+     * @throws IllegalArgumentException if the action is unknown
+     */
+    public static OrderTransition fromAction(String action) {
+        try {
+            return valueOf(action.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown order action: " + action);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.ecommercebackend.order.repository;
 
 import com.example.ecommercebackend.order.entity.Order;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,11 +28,35 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByProductId(Long productId);
 
     /**
-     * Find all orders with a specific status.
+     * Find one page of orders with a specific status, resuming after the given order ID.
+     * Keyset pagination on (status, order_id) is served by idx_order_status, so draining a
+     * status queue never needs an OFFSET scan.
      *
      * @param status the order status
-     * @return list of orders with the given status
+     * @param afterOrderId only orders with a greater ID are returned
+     * @param pageable page size (the sort is fixed to order ID ascending)
+     * @return orders with the given status, ordered by order ID
      */
-    List<Order> findByStatus(String status);
-}
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.orderId > :afterOrderId ORDER BY o.orderId ASC")
+    List<Order> findByStatusAfter(@Param("status") OrderStatus status,
+                                  @Param("afterOrderId") Long afterOrderId,
+                                  Pageable pageable);
 
+    /**
+     * Move the given orders from one status to another in a single statement.
+     * Orders that are not currently in the source status are left untouched.
+     *
+     * @param orderIds the order IDs to transition
+     * @param from the required current status
+     * @param to the new status
+     * @param updatedAt the update timestamp
+     * @return number of orders updated
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :updatedAt " +
+            "WHERE o.status = :from AND o.orderId IN :orderIds")
+    int transitionStatus(@Param("orderIds") Collection<Long> orderIds,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+}
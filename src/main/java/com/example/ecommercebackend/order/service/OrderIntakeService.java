@@ -0,0 +1,304 @@
+package com.example.ecommercebackend.order.service;
+
+import com.example.ecommercebackend.order.dto.OrderRequestDTO;
+import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderTicketDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous order intake.
+ * Accepted orders go into a bounded in-process queue and the caller gets a ticket straight away;
+ * a fixed pool of workers takes up to {@code order.async.batch-size} orders at a time, sorts them by
+ * product so orders for the same stock run back to back, and places each through
+ * {@link OrderService#placeOrder} in its own transaction. The ingress rate is therefore limited only
+ * by the queue capacity, and a burst is worked off at the pool's pace instead of holding connections.
+ * Tickets live in memory for {@code order.async.ticket-ttl} after completion; queued orders are lost
+ * if the process dies.
+ * <p>
+ * On shutdown the queue is drained before the web server stops taking requests: placing an order calls
+ * the inventory endpoints over HTTP, on this same process, so the lifecycle phase is just above the web
+ * server's graceful shutdown.
+ */
+@Service
+@Slf4j
+public class OrderIntakeService implements SmartLifecycle {
+
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE + 1;
+
+    /**
+     * Lifecycle of an asynchronous order.
+     */
+    public enum TicketState {
+        QUEUED, PROCESSING, PLACED, REJECTED, FAILED
+    }
+
+    private static final long POLL_MILLIS = 100;
+
+    private final OrderService orderService;
+    private final BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration ticketTtl;
+    private final Duration shutdownTimeout;
+    private final Timer queueWait;
+    private final Counter rejectedFull;
+    private volatile ExecutorService workers;
+    private volatile boolean running;
+
+    @Autowired
+    public OrderIntakeService(OrderService orderService,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.async.queue-capacity:10000}") int queueCapacity,
+                              @Value("${order.async.workers:4}") int workerCount,
+                              @Value("${order.async.batch-size:32}") int batchSize,
+                              @Value("${order.async.ticket-ttl:PT5M}") Duration ticketTtl,
+                              @Value("${order.async.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.ticketTtl = ticketTtl;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("order.async.queue.size", queue, BlockingQueue::size)
+                .description("Orders waiting for a worker")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("order.async.queue.wait")
+                .description("Time from acceptance until a worker picks the order up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedFull = meterRegistry.counter("order.async.rejected", "reason", "queue_full");
+
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * Start the workers.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "order-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * Accept an order for asynchronous processing.
+     *
+     * @param orderRequest the order request
+     * @return ticket in state QUEUED
+     * @throws IllegalArgumentException if the request is incomplete
+     * @throws RejectedExecutionException if the queue is full or the service is not running
+     */
+    public OrderTicketDTO submit(OrderRequestDTO orderRequest) {
+        if (orderRequest == null || orderRequest.getProductId() == null
+                || orderRequest.getQuantity() == null || orderRequest.getQuantity() <= 0) {
+            throw new IllegalArgumentException("productId and a positive quantity are required");
+        }
+        if (!running) {
+            throw new RejectedExecutionException("Order intake is not running");
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), orderRequest);
+        // taken before queueing; a worker may pick the ticket up as soon as it is offered
+        OrderTicketDTO queued = ticket.toDto();
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            rejectedFull.increment();
+            throw new RejectedExecutionException("Order queue is full");
+        }
+        log.debug("Queued order ticket {} for product ID: {}", ticket.id, orderRequest.getProductId());
+        return queued;
+    }
+
+    /**
+     * Current state of a ticket.
+     *
+     * @param ticketId the ticket ID
+     * @return the ticket, or null if unknown or expired
+     */
+    public OrderTicketDTO getTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        return ticket != null ? ticket.toDto() : null;
+    }
+
+    /**
+     * Wait up to {@code wait} for a ticket to complete.
+     *
+     * @param ticketId the ticket ID
+     * @param wait how long to wait
+     * @return future completing with the ticket once it is done or the wait is over, or null if the
+     * ticket is unknown or expired
+     */
+    public CompletableFuture<OrderTicketDTO> awaitTicket(String ticketId, Duration wait) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (wait.isZero() || ticket.done.isDone()) {
+            return CompletableFuture.completedFuture(ticket.toDto());
+        }
+        return ticket.done.copy()
+                .orTimeout(wait.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, timeout) -> ticket.toDto());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Forget completed tickets older than the ticket TTL.
+     *
+     * @return number of tickets removed
+     */
+    @Scheduled(fixedDelayString = "${order.async.purge-interval:PT1M}")
+    public int purgeExpiredTickets() {
+        long cutoff = System.nanoTime() - ticketTtl.toNanos();
+        int before = tickets.size();
+        tickets.values().removeIf(ticket -> ticket.done.isDone() && ticket.completedAtNanos - cutoff < 0);
+        return before - tickets.size();
+    }
+
+    private void work() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Ticket first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batch.sort(Comparator.comparing(ticket -> ticket.request.getProductId()));
+                batch.forEach(this::process);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(ticket -> ticket.complete(TicketState.FAILED, null, "Order intake stopped"));
+        }
+    }
+
+    private void process(Ticket ticket) {
+        queueWait.record(System.nanoTime() - ticket.acceptedAtNanos, TimeUnit.NANOSECONDS);
+        ticket.state = TicketState.PROCESSING;
+        try {
+            OrderResponseDTO order = orderService.placeOrder(ticket.request);
+            ticket.complete(TicketState.PLACED, order, order.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.debug("Order ticket {} rejected: {}", ticket.id, e.getMessage());
+            ticket.complete(TicketState.REJECTED, null, e.getMessage());
+        } catch (Exception e) {
+            log.error("Order ticket {} failed", ticket.id, e);
+            ticket.complete(TicketState.FAILED, null, "Failed to place order");
+        }
+    }
+
+    /**
+     * Stop accepting orders and give the workers up to {@code order.async.shutdown-timeout} to finish
+     * the queue.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("{} queued orders not processed before shutdown", queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static final class Ticket {
+
+        private final String id;
+        private final OrderRequestDTO request;
+        private final long acceptedAtNanos = System.nanoTime();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile TicketState state = TicketState.QUEUED;
+        private volatile OrderResponseDTO order;
+        private volatile String message;
+        private volatile long completedAtNanos;
+
+        private Ticket(String id, OrderRequestDTO request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        private void complete(TicketState finalState, OrderResponseDTO placedOrder, String completionMessage) {
+            order = placedOrder;
+            message = completionMessage;
+            completedAtNanos = System.nanoTime();
+            state = finalState;
+            done.complete(null);
+        }
+
+        private OrderTicketDTO toDto() {
+            // state is written last on completion, so read it first
+            TicketState current = state;
+            OrderResponseDTO placed = order;
+            return OrderTicketDTO.builder()
+                    .ticketId(id)
+                    .state(current.name())
+                    .orderId(placed != null ? placed.getOrderId() : null)
+                    .order(placed)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ecommercebackend.order.service;
+
+import com.example.ecommercebackend.config.datasource.JdbcUpsert;
+import com.example.ecommercebackend.order.dto.OrderDayRollupDTO;
+import com.example.ecommercebackend.order.dto.OrderProductRollupDTO;
+import com.example.ecommercebackend.order.dto.OrderStatusCountsDTO;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order rollups maintained as orders change, so reports never scan the orders table.
+ * {@code order_product_day} holds the orders placed and units ordered per product and day;
+ * {@code order_status_count} holds the number of orders per status, split over
+ * {@code order.rollup.status-slots} rows per status so concurrent orders do not all wait on one row
+ * lock. Updates join the caller's transaction and run as its last statements, so the counts commit or
+ * roll back with the order and their row locks are held only until the commit.
+ */
+@Service
+@Slf4j
+public class OrderRollupService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    static final String UPDATE_DAY_SQL = "UPDATE order_product_day SET order_count = order_count + 1, " +
+            "quantity = quantity + ? WHERE product_id = ? AND order_day = ?";
+    static final String INSERT_DAY_SQL = "INSERT INTO order_product_day (product_id, order_day, order_count, quantity) " +
+            "VALUES (?, ?, 1, ?)";
+    static final String SELECT_DAYS_SQL = "SELECT order_day, order_count, quantity FROM order_product_day " +
+            "WHERE product_id = ? AND order_day BETWEEN ? AND ? ORDER BY order_day";
+    static final String UPDATE_STATUS_SQL = "UPDATE order_status_count SET order_count = order_count + ? " +
+            "WHERE status = ? AND slot = ?";
+    static final String INSERT_STATUS_SQL = "INSERT INTO order_status_count (status, slot, order_count) VALUES (?, ?, ?)";
+    static final String SELECT_STATUS_SQL = "SELECT status, SUM(order_count) FROM order_status_count GROUP BY status";
+
+    private static final String REBUILD_DAYS_SQL = "INSERT INTO order_product_day (product_id, order_day, order_count, quantity) " +
+            "SELECT product_id, CAST(order_date AS DATE), COUNT(*), SUM(quantity) FROM orders " +
+            "GROUP BY product_id, CAST(order_date AS DATE)";
+    private static final String REBUILD_STATUS_SQL = "INSERT INTO order_status_count (status, slot, order_count) " +
+            "SELECT status, 0, COUNT(*) FROM orders GROUP BY status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int statusSlots;
+
+    @Autowired
+    public OrderRollupService(JdbcTemplate jdbcTemplate,
+                              @Value("${order.rollup.status-slots:16}") int statusSlots) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statusSlots = statusSlots;
+    }
+
+    /**
+     * Count a newly placed order. Call from the transaction that saves it.
+     *
+     * @param productId the product ID
+     * @param orderDate the order date
+     * @param quantity units ordered
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPlaced(Long productId, LocalDate orderDate, int quantity) {
+        Date day = Date.valueOf(orderDate);
+        JdbcUpsert.upsert(jdbcTemplate, UPDATE_DAY_SQL, new Object[]{quantity, productId, day},
+                INSERT_DAY_SQL, new Object[]{productId, day, quantity});
+        adjustStatus(OrderStatus.PLACED, randomSlot(), 1);
+    }
+
+    /**
+     * Move {@code count} orders from one status to another. Call from the transaction that updates them.
+     *
+     * @param from the previous status
+     * @param to the new status
+     * @param count number of orders moved
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(OrderStatus from, OrderStatus to, int count) {
+        if (count == 0 || from == to) {
+            return;
+        }
+        // rows are always locked in status order within one slot, so two transitions cannot deadlock
+        Map<OrderStatus, Long> deltas = new EnumMap<>(OrderStatus.class);
+        deltas.put(from, (long) -count);
+        deltas.put(to, (long) count);
+        int slot = randomSlot();
+        deltas.forEach((status, delta) -> adjustStatus(status, slot, delta));
+    }
+
+    /**
+     * Orders placed for a product per day, read from the rollup.
+     *
+     * @param productId the product ID
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @return totals and per-day figures; days without orders are omitted
+     * @throws IllegalArgumentException if the range is reversed or longer than {@value #MAX_RANGE_DAYS} days
+     */
+    @Transactional(readOnly = true)
+    public OrderProductRollupDTO getProductRollup(Long productId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<OrderDayRollupDTO> days = jdbcTemplate.query(SELECT_DAYS_SQL, (rs, rowNum) ->
+                        OrderDayRollupDTO.builder()
+                                .day(rs.getDate(1).toLocalDate())
+                                .orderCount(rs.getLong(2))
+                                .quantity(rs.getLong(3))
+                                .build(),
+                productId, Date.valueOf(from), Date.valueOf(to));
+
+        return OrderProductRollupDTO.builder()
+                .productId(productId)
+                .from(from)
+                .to(to)
+                .orderCount(days.stream().mapToLong(OrderDayRollupDTO::getOrderCount).sum())
+                .quantity(days.stream().mapToLong(OrderDayRollupDTO::getQuantity).sum())
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Number of orders in each status, read from the rollup.
+     *
+     * @return counts for every status, zero where there are none
+     */
+    @Transactional(readOnly = true)
+    public OrderStatusCountsDTO getStatusCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        jdbcTemplate.query(SELECT_STATUS_SQL, rs -> {
+            counts.put(rs.getString(1), rs.getLong(2));
+        });
+
+        return OrderStatusCountsDTO.builder()
+                .counts(counts)
+                .total(counts.values().stream().mapToLong(Long::longValue).sum())
+                .build();
+    }
+
+    /**
+     * Recompute both rollups from the orders table, for orders written around this service
+     * (bulk loads, manual corrections). Scans every order; not for the request path.
+     */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM order_product_day");
+        jdbcTemplate.update("DELETE FROM order_status_count");
+        int days = jdbcTemplate.update(REBUILD_DAYS_SQL);
+        jdbcTemplate.update(REBUILD_STATUS_SQL);
+        log.info("Rebuilt order rollups: {} product-days", days);
+    }
+
+    private void adjustStatus(OrderStatus status, int slot, long delta) {
+        JdbcUpsert.upsert(jdbcTemplate, UPDATE_STATUS_SQL, new Object[]{delta, status.name(), slot},
+                INSERT_STATUS_SQL, new Object[]{status.name(), slot, delta});
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(statusSlots);
+    }
+}
@@ -2,20 +2,31 @@ package com.example.ecommercebackend.order.service;
 
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import com.example.ecommercebackend.metrics.HotPathMetrics;
+import com.example.ecommercebackend.order.dto.OrderBulkTransitionResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderPageDTO;
 import com.example.ecommercebackend.order.dto.OrderRequestDTO;
 import com.example.ecommercebackend.order.dto.OrderResponseDTO;
 import com.example.ecommercebackend.order.entity.Order;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import com.example.ecommercebackend.order.entity.OrderTransition;
 import com.example.ecommercebackend.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,16 +37,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BULK_TRANSITION_SIZE = 10_000;
+
     private final OrderRepository orderRepository;
     private final RestTemplate restTemplate;
+    private final HotPathMetrics metrics;
+    private final OrderRollupService orderRollupService;
 
     @Value("${inventory.service.url:http://localhost:8080}")
     private String inventoryServiceUrl;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, RestTemplate restTemplate) {
+    public OrderService(OrderRepository orderRepository, RestTemplate restTemplate, HotPathMetrics metrics,
+                        OrderRollupService orderRollupService) {
         this.orderRepository = orderRepository;
         this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.orderRollupService = orderRollupService;
     }
 
     /**
@@ -49,11 +68,27 @@ public class OrderService {
      */
     @Transactional
     public OrderResponseDTO placeOrder(OrderRequestDTO orderRequest) {
-        log.info("Placing order for product ID: {} with quantity: {}",
+        Timer.Sample sample = metrics.start();
+        String outcome = HotPathMetrics.OUTCOME_ERROR;
+        try {
+            OrderResponseDTO response = processOrder(orderRequest);
+            outcome = "placed";
+            return response;
+        } catch (IllegalArgumentException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            metrics.stop(sample, HotPathMetrics.ORDER_PLACE, "placeOrder", outcome);
+        }
+    }
+
+    private OrderResponseDTO processOrder(OrderRequestDTO orderRequest) {
+        log.debug("Placing order for product ID: {} with quantity: {}",
                 orderRequest.getProductId(), orderRequest.getQuantity());
 
         // Check inventory availability
-        InventoryResponseDTO inventory = checkInventoryAvailability(orderRequest.getProductId());
+        InventoryResponseDTO inventory = metrics.time(HotPathMetrics.ORDER_PHASE, "inventory_check",
+                () -> checkInventoryAvailability(orderRequest.getProductId()));
 
         if (inventory == null || inventory.getTotalQuantity() < orderRequest.getQuantity()) {
             log.error("Insufficient inventory for product ID: {}. Required: {}, Available: {}",
@@ -64,8 +99,8 @@ public class OrderService {
         }
 
         // Reserve batches from inventory
-        List<Long> reservedBatchIds = reserveBatchesFromInventory(orderRequest.getProductId(),
-                orderRequest.getQuantity());
+        List<Long> reservedBatchIds = metrics.time(HotPathMetrics.ORDER_PHASE, "reserve",
+                () -> reserveBatchesFromInventory(orderRequest.getProductId(), orderRequest.getQuantity()));
 
         if (reservedBatchIds.isEmpty()) {
             log.error("Failed to reserve batches for product ID: {}", orderRequest.getProductId());
@@ -78,25 +113,31 @@ public class OrderService {
                 .productId(orderRequest.getProductId())
                 .productName(inventory.getProductName())
                 .quantity(orderRequest.getQuantity())
-                .status("PLACED")
+                .status(OrderStatus.PLACED)
                 .orderDate(LocalDate.now())
                 .reservedBatchIds(reservedBatchIds.stream()
                         .map(String::valueOf)
                         .collect(Collectors.joining(",")))
                 .build();
 
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = metrics.time(HotPathMetrics.ORDER_PHASE, "db_save", () -> orderRepository.save(order));
         log.info("Order placed successfully with ID: {}", savedOrder.getOrderId());
 
         // Update inventory
-        updateInventory(orderRequest.getProductId(), orderRequest.getQuantity(), reservedBatchIds);
+        metrics.record(HotPathMetrics.ORDER_PHASE, "inventory_update",
+                () -> updateInventory(orderRequest.getProductId(), orderRequest.getQuantity(), reservedBatchIds,
+                        savedOrder.getOrderDate()));
+
+        // Count the order last so the rollup rows stay locked only until commit
+        metrics.record(HotPathMetrics.ORDER_PHASE, "rollup", () -> orderRollupService.recordPlaced(
+                savedOrder.getProductId(), savedOrder.getOrderDate(), savedOrder.getQuantity()));
 
         return OrderResponseDTO.builder()
                 .orderId(savedOrder.getOrderId())
                 .productId(savedOrder.getProductId())
                 .productName(savedOrder.getProductName())
                 .quantity(savedOrder.getQuantity())
-                .status(savedOrder.getStatus())
+                .status(savedOrder.getStatus().name())
                 .reservedFromBatchIds(reservedBatchIds)
                 .message("Order placed. Inventory reserved.")
                 .build();
@@ -110,11 +151,12 @@ public class OrderService {
      */
     private InventoryResponseDTO checkInventoryAvailability(Long productId) {
         try {
-            String url = inventoryServiceUrl + "/inventory/" + productId;
-            log.debug("Calling inventory service: {}", url);
+            log.debug("Calling inventory service for product ID: {}", productId);
 
-            InventoryResponseDTO response = restTemplate.getForObject(url, InventoryResponseDTO.class);
-            log.info("Inventory check successful for product ID: {}", productId);
+            // a URI template, so http.client.requests is tagged with one uri instead of one per product
+            InventoryResponseDTO response = restTemplate.getForObject(
+                    inventoryServiceUrl + "/inventory/{productId}", InventoryResponseDTO.class, productId);
+            log.debug("Inventory check successful for product ID: {}", productId);
             return response;
         } catch (RestClientException e) {
             log.error("Failed to check inventory for product ID: {}", productId, e);
@@ -161,8 +203,9 @@ public class OrderService {
      * @param productId the product ID
      * @param quantityToReduce the quantity to reduce
      * @param batchIds the list of batch IDs
+     * @param orderDate the order's day, which the inventory service records the consumption under
      */
-    private void updateInventory(Long productId, Integer quantityToReduce, List<Long> batchIds) {
+    private void updateInventory(Long productId, Integer quantityToReduce, List<Long> batchIds, LocalDate orderDate) {
         try {
             String url = inventoryServiceUrl + "/inventory/update";
             InventoryUpdateDTO updateDTO = InventoryUpdateDTO.builder()
@@ -171,11 +214,13 @@ public class OrderService {
                     .batchIds(batchIds.stream()
                             .map(String::valueOf)
                             .collect(Collectors.joining(",")))
+                    .orderDate(orderDate)
                     .build();
 
             log.debug("Updating inventory at: {}", url);
-            restTemplate.postForObject(url, updateDTO, Void.class);
-            log.info("Inventory updated successfully for product ID: {}", productId);
+            // read as text: the endpoint answers with a plain message, labelled JSON when JSON was acceptable
+            restTemplate.postForObject(url, updateDTO, String.class);
+            log.debug("Inventory updated successfully for product ID: {}", productId);
         } catch (RestClientException e) {
             log.error("Failed to update inventory for product ID: {}", productId, e);
             // In production, consider rollback or compensation logic
@@ -204,6 +249,19 @@ public class OrderService {
         return orderRepository.findById(orderId).orElse(null);
     }
 
+    /**
+     * Get order details by ID.
+     *
+     * @param orderId the order ID
+     * @return the order response if found, null otherwise
+     */
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrderDetails(Long orderId) {
+        return orderRepository.findById(orderId)
+                .map(order -> toResponse(order, null))
+                .orElse(null);
+    }
+
     /**
      * Get orders by product ID.
      *
@@ -214,5 +272,108 @@ public class OrderService {
     public List<Order> getOrdersByProductId(Long productId) {
         return orderRepository.findByProductId(productId);
     }
-}
 
+    /**
+     * Get one keyset page of orders with the given status.
+     *
+     * @param status the order status
+     * @param afterOrderId return orders with an ID greater than this (null or 0 for the first page)
+     * @param size maximum number of orders to return
+     * @return the page of orders and the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrdersByStatus(OrderStatus status, Long afterOrderId, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Order> orders = orderRepository.findByStatusAfter(status,
+                afterOrderId != null ? afterOrderId : 0L, PageRequest.of(0, size));
+
+        return OrderPageDTO.builder()
+                .orders(orders.stream().map(order -> toResponse(order, null)).toList())
+                .nextAfterOrderId(orders.size() == size ? orders.get(orders.size() - 1).getOrderId() : null)
+                .build();
+    }
+
+    /**
+     * Apply a lifecycle transition (ship, deliver, cancel) to a single order.
+     * The status is changed with a conditional UPDATE, so of two concurrent transitions out of the
+     * same status only one succeeds.
+     *
+     * @param orderId the order ID
+     * @param transition the transition to apply
+     * @return the updated order, or null if the order does not exist
+     * @throws IllegalStateException if the order is not in the transition's source status
+     */
+    @Transactional
+    public OrderResponseDTO transitionOrder(Long orderId, OrderTransition transition) {
+        int updated = orderRepository.transitionStatus(Set.of(orderId), transition.getFrom(), transition.getTo(),
+                LocalDateTime.now());
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (updated == 0) {
+            if (order == null) {
+                return null;
+            }
+            throw new IllegalStateException("Cannot " + transition.name().toLowerCase() + " order " + orderId +
+                    " in status " + order.getStatus());
+        }
+
+        orderRollupService.recordTransition(transition.getFrom(), transition.getTo(), 1);
+        log.info("Order {} moved from {} to {}", orderId, transition.getFrom(), transition.getTo());
+
+        return toResponse(order, "Order " + transition.getTo().name().toLowerCase() + ".");
+    }
+
+    /**
+     * Apply a lifecycle transition to many orders with a single UPDATE statement.
+     * Orders that do not exist or are not in the transition's source status are skipped.
+     *
+     * @param orderIds the order IDs
+     * @param transition the transition to apply
+     * @return how many orders were requested and how many were actually transitioned
+     */
+    @Transactional
+    public OrderBulkTransitionResponseDTO transitionOrders(List<Long> orderIds, OrderTransition transition) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one order ID is required");
+        }
+        if (orderIds.size() > MAX_BULK_TRANSITION_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_TRANSITION_SIZE +
+                    " orders can be transitioned per request");
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(orderIds);
+        int updated = orderRepository.transitionStatus(uniqueIds, transition.getFrom(), transition.getTo(),
+                LocalDateTime.now());
+        orderRollupService.recordTransition(transition.getFrom(), transition.getTo(), updated);
+        log.info("Bulk {}: {} of {} orders moved from {} to {}", transition, updated, uniqueIds.size(),
+                transition.getFrom(), transition.getTo());
+
+        return OrderBulkTransitionResponseDTO.builder()
+                .transition(transition.name())
+                .status(transition.getTo().name())
+                .requested(uniqueIds.size())
+                .updated(updated)
+                .build();
+    }
+
+    private OrderResponseDTO toResponse(Order order, String message) {
+        List<Long> batchIds = order.getReservedBatchIds() == null || order.getReservedBatchIds().isBlank()
+                ? List.of()
+                : Arrays.stream(order.getReservedBatchIds().split(","))
+                        .map(String::trim)
+                        .map(Long::parseLong)
+                        .toList();
+
+        return OrderResponseDTO.builder()
+                .orderId(order.getOrderId())
+                .productId(order.getProductId())
+                .productName(order.getProductName())
+                .quantity(order.getQuantity())
+                .status(order.getStatus().name())
+                .reservedFromBatchIds(batchIds)
+                .message(message)
+                .build();
+    }
+}
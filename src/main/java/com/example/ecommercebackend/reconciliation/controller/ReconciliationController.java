@@ -0,0 +1,73 @@
+package com.example.ecommercebackend.reconciliation.controller;
+
+import com.example.ecommercebackend.reconciliation.dto.ReconciliationReportDTO;
+import com.example.ecommercebackend.reconciliation.service.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for reconciling orders against inventory on demand.
+ * The same reconciliation runs nightly for the previous day.
+ */
+@RestController
+@RequestMapping("/reconciliation")
+@Tag(name = "Reconciliation", description = "Compare ordered units with units taken out of stock")
+@Slf4j
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @Autowired
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * Reconcile a range of days.
+     *
+     * @param from first day (inclusive)
+     * @param to last day (inclusive), defaults to from
+     * @param autoCorrect whether to correct small discrepancies in inventory
+     * @return the run's summary and discrepancies
+     */
+    @PostMapping("/run")
+    @Operation(summary = "Reconcile orders against inventory",
+            description = "Compares units ordered with units taken out of stock per product over at most 31 days, " +
+                    "stores the discrepancies and optionally corrects small ones")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconciliation completed",
+                    content = @Content(schema = @Schema(implementation = ReconciliationReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "409", description = "The range has already been corrected")
+    })
+    public ResponseEntity<ReconciliationReportDTO> run(
+            @Parameter(description = "First day (inclusive)", example = "2026-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), defaults to from", example = "2026-03-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Correct discrepancies within reconciliation.auto-correct.max-units", example = "false")
+            @RequestParam(defaultValue = "false") boolean autoCorrect) {
+        try {
+            return ResponseEntity.ok(reconciliationService.reconcile(from, to != null ? to : from, autoCorrect));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid reconciliation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Reconciliation not run: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
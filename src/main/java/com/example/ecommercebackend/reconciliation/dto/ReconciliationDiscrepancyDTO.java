@@ -0,0 +1,33 @@
+package com.example.ecommercebackend.reconciliation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one product whose ordered and consumed units differ.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product whose ordered units and units taken out of stock differ")
+public class ReconciliationDiscrepancyDTO {
+
+    @Schema(description = "Product ID", example = "1001")
+    private Long productId;
+
+    @Schema(description = "Units ordered in the range", example = "120")
+    private Long ordered;
+
+    @Schema(description = "Units taken out of stock in the range", example = "115")
+    private Long consumed;
+
+    @Schema(description = "Consumed minus ordered; negative when orders were not fully taken out of stock", example = "-5")
+    private Long difference;
+
+    @Schema(description = "Units put back (positive) or taken out (negative) by auto-correction", example = "-5")
+    private Long corrected;
+}
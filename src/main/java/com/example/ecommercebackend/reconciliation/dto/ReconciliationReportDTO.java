@@ -0,0 +1,45 @@
+package com.example.ecommercebackend.reconciliation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO summarising a reconciliation run between orders and inventory.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of reconciling ordered units against units taken out of stock")
+public class ReconciliationReportDTO {
+
+    @Schema(description = "Run ID; the run's discrepancies are stored under it", example = "5f0c6a1e-8a43-4c4e-9d0b-2f1f7b0e6c11")
+    private String runId;
+
+    @Schema(description = "First day of the range (inclusive)", example = "2026-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2026-03-01")
+    private LocalDate to;
+
+    @Schema(description = "Products with orders or stock changes in the range", example = "1500")
+    private Long productsCompared;
+
+    @Schema(description = "Products whose ordered and consumed units differ", example = "3")
+    private Integer discrepancyCount;
+
+    @Schema(description = "Whether discrepancies were corrected in inventory", example = "false")
+    private Boolean autoCorrected;
+
+    @Schema(description = "Run time in milliseconds", example = "840")
+    private Long durationMillis;
+
+    @Schema(description = "Discrepancies in product order, at most 1000")
+    private List<ReconciliationDiscrepancyDTO> discrepancies;
+}
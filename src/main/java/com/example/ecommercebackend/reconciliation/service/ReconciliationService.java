@@ -0,0 +1,325 @@
+package com.example.ecommercebackend.reconciliation.service;
+
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import com.example.ecommercebackend.reconciliation.dto.ReconciliationDiscrepancyDTO;
+import com.example.ecommercebackend.reconciliation.dto.ReconciliationReportDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciles units ordered against units taken out of stock.
+ * Orders are counted in {@code order_product_day} and stock changes in {@code inventory_consumption},
+ * each in the transaction that made them, but an order and its inventory update commit separately,
+ * so the two drift when one commits and the other does not, or when an update finds less stock than
+ * was checked. A run compares both per product over a range of days: the product-ID range is split in
+ * half recursively on a {@link ForkJoinPool} of {@code reconciliation.parallelism} threads down to
+ * {@code reconciliation.partition-size} IDs, and each partition reads both tables (every shard, for the
+ * ledger) with grouped range queries in read-only transactions, served by the replica when one is
+ * configured. Nothing is locked, so orders are not held up.
+ * <p>
+ * Every discrepancy is written to {@code reconciliation_discrepancy}. With auto-correct, products off by
+ * at most {@code reconciliation.auto-correct.max-units} are corrected through
+ * {@link InventoryService#correctStock}, one short transaction each, recorded in the ledger on the last
+ * day of the range. Inventory updates carry the order's day and are recorded under it, so an order
+ * placed just before midnight and taken out of stock just after it lands on the same day in both tables.
+ * <p>
+ * Every node runs the nightly schedule. Before comparing, a correcting run claims its range of days by
+ * inserting into {@code reconciliation_correction}, whose unique key on the range lets only one run
+ * (on any node) correct it; the others skip the night, or fail if started on demand. A range is corrected
+ * once; delete its row to correct it again.
+ */
+@Service
+@Slf4j
+public class ReconciliationService implements DisposableBean {
+
+    static final int MAX_RANGE_DAYS = 31;
+    static final int MAX_REPORTED = 1000;
+
+    static final String ORDERED_BOUNDS_SQL = "SELECT MIN(product_id), MAX(product_id) FROM order_product_day " +
+            "WHERE order_day BETWEEN ? AND ?";
+    static final String CONSUMED_BOUNDS_SQL = "SELECT MIN(product_id), MAX(product_id) FROM inventory_consumption " +
+            "WHERE consumed_day BETWEEN ? AND ?";
+    static final String ORDERED_SQL = "SELECT product_id, SUM(quantity) FROM order_product_day " +
+            "WHERE product_id BETWEEN ? AND ? AND order_day BETWEEN ? AND ? GROUP BY product_id";
+    static final String CONSUMED_SQL = "SELECT product_id, SUM(quantity) FROM inventory_consumption " +
+            "WHERE product_id BETWEEN ? AND ? AND consumed_day BETWEEN ? AND ? GROUP BY product_id";
+    static final String INSERT_SQL = "INSERT INTO reconciliation_discrepancy " +
+            "(run_id, from_day, to_day, product_id, ordered, consumed, corrected, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String CLAIM_SQL = "INSERT INTO reconciliation_correction (run_id, from_day, to_day, created_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final InventoryShardRouter shardRouter;
+    private final InventoryService inventoryService;
+    private final ForkJoinPool pool;
+    private final long partitionSize;
+    private final boolean nightlyEnabled;
+    private final int lookbackDays;
+    private final boolean autoCorrect;
+    private final long maxCorrectionUnits;
+    private final Timer runTimer;
+    private final Counter discrepancyCounter;
+
+    @Autowired
+    public ReconciliationService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 InventoryShardRouter shardRouter,
+                                 InventoryService inventoryService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${reconciliation.parallelism:4}") int parallelism,
+                                 @Value("${reconciliation.partition-size:10000}") long partitionSize,
+                                 @Value("${reconciliation.enabled:true}") boolean nightlyEnabled,
+                                 @Value("${reconciliation.lookback-days:1}") int lookbackDays,
+                                 @Value("${reconciliation.auto-correct:false}") boolean autoCorrect,
+                                 @Value("${reconciliation.auto-correct.max-units:100}") long maxCorrectionUnits) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.inventoryService = inventoryService;
+        this.partitionSize = partitionSize;
+        this.nightlyEnabled = nightlyEnabled;
+        this.lookbackDays = lookbackDays;
+        this.autoCorrect = autoCorrect;
+        this.maxCorrectionUnits = maxCorrectionUnits;
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("reconciliation-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.runTimer = Timer.builder("reconciliation.run")
+                .description("Time to reconcile orders against inventory")
+                .register(meterRegistry);
+        this.discrepancyCounter = meterRegistry.counter("reconciliation.discrepancies");
+    }
+
+    /**
+     * Reconcile the last {@code reconciliation.lookback-days} days up to yesterday.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 30 1 * * *}")
+    public void reconcileNightly() {
+        if (!nightlyEnabled) {
+            return;
+        }
+        LocalDate to = LocalDate.now().minusDays(1);
+        try {
+            reconcile(to.minusDays(lookbackDays - 1L), to, autoCorrect);
+        } catch (IllegalStateException e) {
+            log.info("Skipping nightly reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compare units ordered with units taken out of stock, per product, over a range of days.
+     * Runs one at a time on this node; a correcting run first claims the range for the whole cluster.
+     *
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @param correct whether to correct discrepancies of at most {@code reconciliation.auto-correct.max-units}
+     * @return the run's summary and its first {@value #MAX_REPORTED} discrepancies
+     * @throws IllegalArgumentException if the range is reversed or longer than {@value #MAX_RANGE_DAYS} days
+     * @throws IllegalStateException if correcting and another run has already claimed the range
+     */
+    public synchronized ReconciliationReportDTO reconcile(LocalDate from, LocalDate to, boolean correct) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        long start = System.nanoTime();
+        String runId = UUID.randomUUID().toString();
+        Date fromDay = Date.valueOf(from);
+        Date toDay = Date.valueOf(to);
+        if (correct && !claim(runId, fromDay, toDay)) {
+            throw new IllegalStateException("Range " + from + " to " + to + " has already been corrected");
+        }
+
+        AtomicLong compared = new AtomicLong();
+        long[] bounds = productBounds(fromDay, toDay);
+        List<ReconciliationDiscrepancyDTO> discrepancies = bounds == null
+                ? List.of()
+                : pool.invoke(new PartitionTask(bounds[0], bounds[1], fromDay, toDay, compared));
+
+        if (correct) {
+            discrepancies.forEach(discrepancy -> correct(discrepancy, to));
+        }
+        save(runId, fromDay, toDay, discrepancies);
+
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        discrepancyCounter.increment(discrepancies.size());
+        log.info("Reconciliation {} for {} to {}: {} products compared, {} discrepancies, {} ms",
+                runId, from, to, compared.get(), discrepancies.size(), elapsed / 1_000_000);
+
+        return ReconciliationReportDTO.builder()
+                .runId(runId)
+                .from(from)
+                .to(to)
+                .productsCompared(compared.get())
+                .discrepancyCount(discrepancies.size())
+                .autoCorrected(correct)
+                .durationMillis(elapsed / 1_000_000)
+                .discrepancies(discrepancies.subList(0, Math.min(MAX_REPORTED, discrepancies.size())))
+                .build();
+    }
+
+    private boolean claim(String runId, Date fromDay, Date toDay) {
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(CLAIM_SQL, runId, fromDay, toDay,
+                    new Timestamp(System.currentTimeMillis())));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private long[] productBounds(Date fromDay, Date toDay) {
+        long[] bounds = readBounds(ORDERED_BOUNDS_SQL, fromDay, toDay);
+        for (String shard : shardRouter.getShards()) {
+            long[] shardBounds = shardRouter.onShard(shard, () -> readBounds(CONSUMED_BOUNDS_SQL, fromDay, toDay));
+            if (bounds == null) {
+                bounds = shardBounds;
+            } else if (shardBounds != null) {
+                bounds = new long[]{Math.min(bounds[0], shardBounds[0]), Math.max(bounds[1], shardBounds[1])};
+            }
+        }
+        return bounds;
+    }
+
+    private long[] readBounds(String sql, Date fromDay, Date toDay) {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.query(sql, rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        }, fromDay, toDay));
+    }
+
+    private List<ReconciliationDiscrepancyDTO> comparePartition(long low, long high, Date fromDay, Date toDay,
+                                                                AtomicLong compared) {
+        Map<Long, long[]> units = new TreeMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(ORDERED_SQL, rs -> {
+            units.computeIfAbsent(rs.getLong(1), id -> new long[2])[0] += rs.getLong(2);
+        }, low, high, fromDay, toDay));
+        for (String shard : shardRouter.getShards()) {
+            shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status -> {
+                jdbcTemplate.query(CONSUMED_SQL, rs -> {
+                    units.computeIfAbsent(rs.getLong(1), id -> new long[2])[1] += rs.getLong(2);
+                }, low, high, fromDay, toDay);
+                return null;
+            }));
+        }
+        compared.addAndGet(units.size());
+
+        List<ReconciliationDiscrepancyDTO> discrepancies = new ArrayList<>();
+        units.forEach((productId, orderedConsumed) -> {
+            if (orderedConsumed[0] != orderedConsumed[1]) {
+                discrepancies.add(ReconciliationDiscrepancyDTO.builder()
+                        .productId(productId)
+                        .ordered(orderedConsumed[0])
+                        .consumed(orderedConsumed[1])
+                        .difference(orderedConsumed[1] - orderedConsumed[0])
+                        .corrected(0L)
+                        .build());
+            }
+        });
+        return discrepancies;
+    }
+
+    private void correct(ReconciliationDiscrepancyDTO discrepancy, LocalDate ledgerDay) {
+        long difference = discrepancy.getDifference();
+        if (Math.abs(difference) > maxCorrectionUnits) {
+            log.warn("Product ID {} is off by {} units, more than auto-correct allows; left for review",
+                    discrepancy.getProductId(), difference);
+            return;
+        }
+        try {
+            // consumed more than ordered: put the difference back; less: take it out
+            discrepancy.setCorrected((long) inventoryService.correctStock(
+                    discrepancy.getProductId(), (int) difference, ledgerDay));
+        } catch (RuntimeException e) {
+            log.error("Failed to correct stock of product ID {}", discrepancy.getProductId(), e);
+        }
+    }
+
+    private void save(String runId, Date fromDay, Date toDay, List<ReconciliationDiscrepancyDTO> discrepancies) {
+        if (discrepancies.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = discrepancies.stream()
+                .map(discrepancy -> new Object[]{runId, fromDay, toDay, discrepancy.getProductId(),
+                        discrepancy.getOrdered(), discrepancy.getConsumed(), discrepancy.getCorrected(), now})
+                .toList();
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private final class PartitionTask extends RecursiveTask<List<ReconciliationDiscrepancyDTO>> {
+
+        private final long low;
+        private final long high;
+        private final Date fromDay;
+        private final Date toDay;
+        private final AtomicLong compared;
+
+        private PartitionTask(long low, long high, Date fromDay, Date toDay, AtomicLong compared) {
+            this.low = low;
+            this.high = high;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.compared = compared;
+        }
+
+        @Override
+        protected List<ReconciliationDiscrepancyDTO> compute() {
+            if (high - low < partitionSize) {
+                return comparePartition(low, high, fromDay, toDay, compared);
+            }
+            long middle = low + (high - low) / 2;
+            PartitionTask lower = new PartitionTask(low, middle, fromDay, toDay, compared);
+            lower.fork();
+            List<ReconciliationDiscrepancyDTO> upper =
+                    new PartitionTask(middle + 1, high, fromDay, toDay, compared).compute();
+            List<ReconciliationDiscrepancyDTO> merged = new ArrayList<>(lower.join());
+            merged.addAll(upper);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ecommercebackend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing {@code key=value} override lists.
+ */
+class KeyValueOverridesTest {
+
+    @Test
+    void testParse_TrimsKeysAndValues() {
+        Map<Long, Integer> overrides = KeyValueOverrides.parse(List.of("1001=25", " 2002 = 50 "),
+                "productId=threshold", Long::parseLong, Integer::parseInt);
+
+        assertEquals(Map.of(1001L, 25, 2002L, 50), overrides);
+    }
+
+    @Test
+    void testParse_KeyMayContainSeparator() {
+        Map<String, Double> overrides = KeyValueOverrides.parse(List.of("key=with=equals=2.5"),
+                "key=rate", Function.identity(), Double::parseDouble);
+
+        assertEquals(Map.of("key=with=equals", 2.5), overrides);
+    }
+
+    @Test
+    void testParse_MissingKeyRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> KeyValueOverrides.parse(List.of("=25"), "productId=threshold",
+                        Long::parseLong, Integer::parseInt));
+
+        assertEquals("Override must be productId=threshold: =25", e.getMessage());
+    }
+
+    @Test
+    void testParse_BadValueRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeyValueOverrides.parse(List.of("1001=lots"),
+                "productId=threshold", Long::parseLong, Integer::parseInt));
+    }
+}
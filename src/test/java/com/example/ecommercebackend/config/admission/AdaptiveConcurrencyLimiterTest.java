@@ -0,0 +1,125 @@
+package com.example.ecommercebackend.config.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the latency-gradient concurrency limit. Each round admits as many requests as the
+ * limit allows, completes them with the given latency and advances the clock by one sample window.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    private static final long STEADY_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private long now;
+
+    @Test
+    void testTryAcquire_RejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void testSteadyLatency_LimitGrowsWhenSaturated() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 100);
+
+        for (int i = 0; i < 30; i++) {
+            runAtLimit(limiter, STEADY_RTT);
+        }
+
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    void testRisingLatency_LimitShrinks() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 100);
+        for (int i = 0; i < 20; i++) {
+            runAtLimit(limiter, STEADY_RTT);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            runAtLimit(limiter, STEADY_RTT * 4);
+        }
+
+        assertTrue(limiter.getLimit() < before * 0.8, before + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void testLatencyGrowingWithLoad_LimitSettles() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 500);
+
+        // a backend that serves 30 requests in parallel; beyond that, requests queue
+        for (int i = 0; i < 100; i++) {
+            int admitted = acquireAll(limiter);
+            long rtt = Math.max(STEADY_RTT, STEADY_RTT * admitted / 30);
+            release(limiter, admitted, rtt);
+        }
+
+        assertTrue(limiter.getLimit() < 100, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void testUnderused_LimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(STEADY_RTT, now);
+            now += WINDOW / 10;
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void testDropped_BacksOffToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 1.5, 0.2, 600,
+                Duration.ofNanos(WINDOW));
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, maxLimit, 1.5, 0.2, 600, Duration.ofNanos(WINDOW));
+    }
+
+    private void runAtLimit(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        release(limiter, acquireAll(limiter), rttNanos);
+    }
+
+    private static int acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        return admitted;
+    }
+
+    private void release(AdaptiveConcurrencyLimiter limiter, int admitted, long rttNanos) {
+        for (int i = 0; i < admitted; i++) {
+            limiter.onSuccess(rttNanos, now);
+        }
+        now += WINDOW;
+    }
+}
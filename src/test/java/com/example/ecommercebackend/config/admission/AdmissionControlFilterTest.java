@@ -0,0 +1,143 @@
+package com.example.ecommercebackend.config.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the admission filter with mock requests.
+ */
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InternalCallToken internalCallToken = new InternalCallToken("secret");
+    private final AtomicInteger passed = new AtomicInteger();
+
+    @Test
+    void testClientOverLimit_Gets429WithRetryAfter() throws Exception {
+        AdmissionControlFilter filter = filter(2, 2, true);
+
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "key-a")).getStatus());
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "key-a")).getStatus());
+        MockHttpServletResponse rejected = send(filter, request("GET", "/inventory/1001", "key-a"));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "key-b")).getStatus());
+        assertEquals(3, passed.get());
+    }
+
+    @Test
+    void testUnknownApiKeys_ShareRemoteAddressBucket() throws Exception {
+        AdmissionControlFilter filter = filter(2, 2, true);
+
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "rotated-1")).getStatus());
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "rotated-2")).getStatus());
+
+        assertEquals(429, send(filter, request("GET", "/inventory/1001", "rotated-3")).getStatus());
+        assertEquals(429, send(filter, request("GET", "/inventory/1001", null)).getStatus());
+        assertEquals(200, send(filter, request("GET", "/inventory/1001", "key-a")).getStatus());
+    }
+
+    @Test
+    void testInternalCalls_NotLimited() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1, true);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("POST", "/inventory/update", null);
+            request.addHeader(InternalCallToken.HEADER, "secret");
+            assertEquals(200, send(filter, request).getStatus());
+        }
+        MockHttpServletRequest forged = request("POST", "/inventory/update", null);
+        forged.addHeader(InternalCallToken.HEADER, "guess");
+        send(filter, forged);
+
+        assertEquals(429, send(filter, request("POST", "/inventory/update", null)).getStatus());
+    }
+
+    @Test
+    void testOtherPaths_NotLimited() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1, true);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send(filter, request("GET", "/actuator/health", "key-a")).getStatus());
+        }
+    }
+
+    @Test
+    void testOrderPlacement_ConcurrencyLimited() throws Exception {
+        AdmissionControlFilter filter = filter(1000, 1000, true);
+        AdaptiveConcurrencyLimiter orderLimiter = filter.getOrderLimiter();
+        while (orderLimiter.tryAcquire()) {
+            // hold every slot, as long-running orders would
+        }
+
+        MockHttpServletResponse rejected = send(filter, request("POST", "/order", "key-a"));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, send(filter, request("GET", "/order/1", "key-a")).getStatus());
+        assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limit", "concurrency").counter().count());
+    }
+
+    @Test
+    void testOrderPlacement_ReleasesSlot() throws Exception {
+        AdmissionControlFilter filter = filter(1000, 1000, true);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, send(filter, request("POST", "/order", "key-a")).getStatus());
+        }
+
+        assertEquals(0, filter.getOrderLimiter().getInFlight());
+    }
+
+    @Test
+    void testOrderPlacement_FailureReleasesSlot() {
+        AdmissionControlFilter filter = filter(1000, 1000, true);
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(request("POST", "/order", "key-a"), new MockHttpServletResponse(), failing));
+        assertEquals(0, filter.getOrderLimiter().getInFlight());
+    }
+
+    @Test
+    void testConcurrencyDisabled() throws Exception {
+        AdmissionControlFilter filter = filter(1000, 1000, false);
+
+        assertNull(filter.getOrderLimiter());
+        assertEquals(200, send(filter, request("POST", "/order", "key-a")).getStatus());
+    }
+
+    private AdmissionControlFilter filter(double clientRate, int clientBurst, boolean concurrencyEnabled) {
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(meterRegistry, true,
+                clientRate, clientBurst, List.of(), List.of("key-a", "key-b"), 1000, 1000, List.of());
+        return new AdmissionControlFilter(rateLimiter, internalCallToken, meterRegistry,
+                concurrencyEnabled, 4, 1, 10, 1.5);
+    }
+
+    private MockHttpServletResponse send(AdmissionControlFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> passed.incrementAndGet());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader(AdmissionControlFilter.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.ecommercebackend.config.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-client and per-product token buckets, driven by an explicit clock.
+ */
+class RequestRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testTokenBucket_BurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        long wait = bucket.tryAcquire(0);
+
+        assertEquals(SECOND / 10, wait);
+        assertEquals(0, bucket.tryAcquire(wait));
+        assertTrue(bucket.tryAcquire(wait) > 0);
+        assertFalse(bucket.isIdle(wait));
+        assertTrue(bucket.isIdle(wait + SECOND));
+    }
+
+    @Test
+    void testTokenBucket_InvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 5, 0));
+    }
+
+    @Test
+    void testClients_LimitedIndependently() {
+        RequestRateLimiter limiter = limiter(List.of(), List.of());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquireClient("client-a", 0));
+        }
+
+        assertTrue(limiter.tryAcquireClient("client-a", 0) > 0);
+        assertEquals(0, limiter.tryAcquireClient("client-b", 0));
+        assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limit", "client").counter().count());
+    }
+
+    @Test
+    void testOverride_ScalesRateAndBurst() {
+        RequestRateLimiter limiter = limiter(List.of("partner=4"), List.of("1001=1"));
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals(0, limiter.tryAcquireClient("partner", 0), "override burst is twice its rate");
+        }
+        assertTrue(limiter.tryAcquireClient("partner", 0) > 0);
+
+        assertEquals(0, limiter.tryAcquireProduct(1001L, 0));
+        assertEquals(0, limiter.tryAcquireProduct(1001L, 0));
+        assertEquals(SECOND, limiter.tryAcquireProduct(1001L, 0));
+        assertEquals(0, limiter.tryAcquireProduct(1002L, 0));
+    }
+
+    @Test
+    void testClientKey_OnlyKnownApiKeys() {
+        RequestRateLimiter limiter = limiter(List.of("partner=4"), List.of());
+
+        assertEquals("client-a", limiter.clientKey("client-a", "10.0.0.1"));
+        assertEquals("partner", limiter.clientKey("partner", "10.0.0.1"));
+        assertEquals("10.0.0.1", limiter.clientKey("made-up", "10.0.0.1"));
+        assertEquals("10.0.0.1", limiter.clientKey(null, "10.0.0.1"));
+    }
+
+    @Test
+    void testProductWithoutId_NotLimited() {
+        RequestRateLimiter limiter = limiter(List.of(), List.of("1001=1"));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquireProduct(null, 0));
+        }
+    }
+
+    @Test
+    void testEvictIdleBuckets_OnlyFullBuckets() {
+        RequestRateLimiter limiter = limiter(List.of(), List.of());
+        limiter.tryAcquireClient("idle", 0);
+        limiter.tryAcquireClient("busy", 0);
+        limiter.tryAcquireClient("busy", 2 * SECOND);
+
+        limiter.evictIdleBuckets(2 * SECOND);
+
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void testDisabled_AdmitsEverything() {
+        RequestRateLimiter limiter = new RequestRateLimiter(meterRegistry, false, 1, 1, List.of(), List.of(), 1, 1, List.of());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquireClient("client-a", 0));
+            assertEquals(0, limiter.tryAcquireProduct(1001L, 0));
+        }
+        assertEquals(0, limiter.bucketCount());
+    }
+
+    @Test
+    void testRetryAfterSeconds_RoundsUp() {
+        assertEquals(1, RequestRateLimiter.retryAfterSeconds(1));
+        assertEquals(1, RequestRateLimiter.retryAfterSeconds(SECOND));
+        assertEquals(2, RequestRateLimiter.retryAfterSeconds(SECOND + 1));
+    }
+
+    private RequestRateLimiter limiter(List<String> clientOverrides, List<String> productOverrides) {
+        return new RequestRateLimiter(meterRegistry, true, 2, 4, clientOverrides, List.of("client-a"), 2, 4,
+                productOverrides);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ecommercebackend.config.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared upsert against an in-memory H2 database, with and without a transaction.
+ */
+class JdbcUpsertTest {
+
+    private static final String UPDATE_SQL = "UPDATE counter SET hits = hits + ? WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO counter (name, hits) VALUES (?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:upsert-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE counter (name VARCHAR(50) PRIMARY KEY, hits BIGINT NOT NULL)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void testUpsert_CreatesThenUpdates() {
+        assertTrue(add(jdbcTemplate, "orders", 2));
+        assertFalse(add(jdbcTemplate, "orders", 3));
+
+        assertEquals(5L, hits("orders"));
+    }
+
+    @Test
+    void testUpsert_LostRaceWithoutTransactionUpdates() {
+        jdbcTemplate.update(INSERT_SQL, "orders", 4);
+
+        assertFalse(add(missingFirstUpdate(), "orders", 6));
+
+        assertEquals(10L, hits("orders"));
+    }
+
+    @Test
+    void testUpsert_LostRaceInTransactionKeepsItUsable() {
+        jdbcTemplate.update(INSERT_SQL, "orders", 4);
+        JdbcTemplate racing = missingFirstUpdate();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertFalse(add(racing, "orders", 6));
+            jdbcTemplate.update(INSERT_SQL, "returns", 1);
+        });
+
+        assertEquals(10L, hits("orders"));
+        assertEquals(1L, hits("returns"));
+    }
+
+    private static boolean add(JdbcTemplate template, String name, long hits) {
+        return JdbcUpsert.upsert(template, UPDATE_SQL, new Object[]{hits, name}, INSERT_SQL, new Object[]{name, hits});
+    }
+
+    /** A template whose first update misses the row, as if another transaction inserted it just afterwards. */
+    private JdbcTemplate missingFirstUpdate() {
+        return new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            private boolean missed;
+
+            @Override
+            public int update(String sql, Object... args) {
+                if (!missed && sql.equals(UPDATE_SQL)) {
+                    missed = true;
+                    return 0;
+                }
+                return super.update(sql, args);
+            }
+        };
+    }
+
+    private Long hits(String name) {
+        return jdbcTemplate.queryForObject("SELECT hits FROM counter WHERE name = ?", Long.class, name);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ecommercebackend.config.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the client identification and routing hints set by ReadRoutingFilter.
+ */
+class ReadRoutingFilterTest {
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    private final List<String> clients = new ArrayList<>();
+    private final List<Boolean> primaryForced = new ArrayList<>();
+
+    @Test
+    void testClientIdHeader_PinnedClientReadsPrimary() throws Exception {
+        tracker.pin("client-a");
+
+        send(new ReadRoutingFilter(tracker, false), request("client-a"));
+        send(new ReadRoutingFilter(tracker, false), request("client-b"));
+
+        assertEquals(List.of("client-a", "client-b"), clients);
+        assertEquals(List.of(true, false), primaryForced);
+    }
+
+    @Test
+    void testNoClientId_WithoutForwardedAddress_NotIdentified() throws Exception {
+        tracker.pin("10.0.0.1");
+
+        send(new ReadRoutingFilter(tracker, false), request(null));
+
+        assertNull(clients.get(0));
+        assertFalse(primaryForced.get(0), "every client behind the balancer would share its pin");
+    }
+
+    @Test
+    void testNoClientId_WithForwardedAddress_UsesRemoteAddress() throws Exception {
+        tracker.pin("10.0.0.1");
+
+        send(new ReadRoutingFilter(tracker, true), request(null));
+
+        assertEquals("10.0.0.1", clients.get(0));
+        assertTrue(primaryForced.get(0));
+    }
+
+    @Test
+    void testReadFromPrimaryHeader_ForcesPrimary() throws Exception {
+        MockHttpServletRequest request = request(null);
+        request.addHeader(ReadRoutingFilter.READ_FROM_HEADER, ReadRoutingFilter.READ_FROM_PRIMARY);
+
+        send(new ReadRoutingFilter(tracker, false), request);
+
+        assertTrue(primaryForced.get(0));
+    }
+
+    private void send(ReadRoutingFilter filter, MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            clients.add(ReadRoutingContext.getClientId());
+            primaryForced.add(ReadRoutingContext.isPrimaryForced());
+        });
+        assertNull(ReadRoutingContext.getClientId(), "context cleared after the request");
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventory/1001");
+        request.setRemoteAddr("10.0.0.1");
+        if (clientId != null) {
+            request.addHeader(ReadRoutingFilter.CLIENT_ID_HEADER, clientId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ecommercebackend.config.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for read/write routing with a second in-memory H2 database standing in for the replica.
+ * Each database holds one marker row naming it, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SELECT_SOURCE = "SELECT source FROM marker";
+
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, tracker));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRoutingContext.clear();
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(SELECT_SOURCE, String.class)));
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> jdbcTemplate.queryForObject(SELECT_SOURCE, String.class)));
+    }
+
+    @Test
+    void testReadOnlyTransaction_PrimaryForced() {
+        ReadRoutingContext.set("client-1", true);
+
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(SELECT_SOURCE, String.class)));
+    }
+
+    @Test
+    void testWriteCommit_PinsClient() {
+        ReadRoutingContext.set("client-1", false);
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET source = source"));
+
+        assertTrue(tracker.isPinned("client-1"));
+        assertFalse(tracker.isPinned("client-2"));
+    }
+
+    @Test
+    void testWriteRollback_DoesNotPinClient() {
+        ReadRoutingContext.set("client-1", false);
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET source = source");
+            status.setRollbackOnly();
+        });
+
+        assertFalse(tracker.isPinned("client-1"));
+    }
+
+    private static DataSource database(String source) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + source + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (source VARCHAR(20))");
+        setup.update("INSERT INTO marker (source) VALUES (?)", source);
+        return dataSource;
+    }
+}
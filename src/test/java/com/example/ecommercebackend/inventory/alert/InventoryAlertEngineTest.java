@@ -0,0 +1,229 @@
+package com.example.ecommercebackend.inventory.alert;
+
+import com.example.ecommercebackend.inventory.dto.InventoryAlertDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InventoryAlertEngine. Evaluations run on the test thread through the
+ * package-private entry points, so no alert worker timing is involved. Raised alerts are kept in an
+ * in-memory H2 database, which a second engine can share as another node would.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryAlertEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    private final List<InventoryAlertDTO> sent = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private InventoryAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:alerts-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE inventory_alert_active (product_id BIGINT NOT NULL, " +
+                "alert_type VARCHAR(20) NOT NULL, product_name VARCHAR(255), quantity INT, threshold INT, " +
+                "expiry_date DATE, raised_at TIMESTAMP NOT NULL, PRIMARY KEY (product_id, alert_type))");
+        engine = engine(sent::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    @Test
+    void testLowStock_RaisedOnceAndResolved() {
+        stock(1001L, batch(1001L, 4, TODAY.plusDays(90)));
+
+        engine.evaluate(1001L, TODAY);
+        engine.evaluate(1001L, TODAY);
+
+        assertEquals(1, sent.size());
+        InventoryAlertDTO raised = sent.get(0);
+        assertEquals("LOW_STOCK", raised.getType());
+        assertEquals("RAISED", raised.getState());
+        assertEquals(4, raised.getQuantity());
+        assertEquals(10, raised.getThreshold());
+        assertEquals(1, engine.getActiveAlerts().size());
+
+        stock(1001L, batch(1001L, 4, TODAY.plusDays(90)), batch(1001L, 20, TODAY.plusDays(120)));
+        engine.evaluate(1001L, TODAY);
+
+        assertEquals(2, sent.size());
+        assertEquals("RESOLVED", sent.get(1).getState());
+        assertEquals(24, sent.get(1).getQuantity());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+    }
+
+    @Test
+    void testExpiredBatches_NotCountedAsStock() {
+        stock(1001L, batch(1001L, 100, TODAY.minusDays(1)), batch(1001L, 5, TODAY.plusDays(90)));
+
+        engine.evaluate(1001L, TODAY);
+
+        assertEquals(1, sent.size());
+        assertEquals(5, sent.get(0).getQuantity());
+    }
+
+    @Test
+    void testThresholdOverride_AppliesPerProduct() {
+        stock(2002L, batch(2002L, 40, TODAY.plusDays(90)));
+
+        engine.evaluate(2002L, TODAY);
+
+        assertEquals(50, engine.getLowStockThreshold(2002L));
+        assertEquals(10, engine.getLowStockThreshold(1001L));
+        assertEquals(1, sent.size());
+        assertEquals(50, sent.get(0).getThreshold());
+    }
+
+    @Test
+    void testNearExpiry_RaisedWithEarliestExpiry() {
+        stock(1001L, batch(1001L, 30, TODAY.plusDays(10)), batch(1001L, 20, TODAY.plusDays(25)),
+                batch(1001L, 100, TODAY.plusDays(200)));
+
+        engine.evaluate(1001L, TODAY);
+
+        assertEquals(1, sent.size());
+        InventoryAlertDTO alert = sent.get(0);
+        assertEquals("NEAR_EXPIRY", alert.getType());
+        assertEquals(50, alert.getQuantity());
+        assertEquals(TODAY.plusDays(10), alert.getExpiryDate());
+    }
+
+    @Test
+    void testExpiryTick_OnlyDueProducts() {
+        stock(1001L, batch(1001L, 100, TODAY.plusDays(40)));
+        stock(2002L, batch(2002L, 100, TODAY.plusDays(200)));
+
+        engine.evaluate(1001L, TODAY);
+        engine.evaluate(2002L, TODAY);
+
+        assertTrue(sent.isEmpty());
+        assertEquals(Set.of(), engine.takeDue(TODAY.plusDays(9)));
+        // 1001's batch enters the 30-day window on day 10; 2002's not until day 170
+        assertEquals(Set.of(1001L), engine.takeDue(TODAY.plusDays(10)));
+        assertEquals(Set.of(), engine.takeDue(TODAY.plusDays(10)));
+
+        engine.evaluate(1001L, TODAY.plusDays(10));
+        assertEquals("NEAR_EXPIRY", sent.get(0).getType());
+
+        // the day after the batch expires it is no longer stock, and the alert moves to low stock
+        assertEquals(Set.of(1001L), engine.takeDue(TODAY.plusDays(41)));
+        engine.evaluate(1001L, TODAY.plusDays(41));
+
+        assertEquals(List.of("NEAR_EXPIRY:RAISED", "LOW_STOCK:RAISED", "NEAR_EXPIRY:RESOLVED"),
+                sent.stream().map(alert -> alert.getType() + ":" + alert.getState()).toList());
+    }
+
+    @Test
+    void testFailingSink_DoesNotStopOtherSinks() {
+        List<InventoryAlertDTO> received = new ArrayList<>();
+        InventoryAlertSink failing = alert -> {
+            throw new IllegalStateException("sink down");
+        };
+        InventoryAlertSink recording = received::add;
+        StaticListableBeanFactory sinks = new StaticListableBeanFactory(Map.of("failing", failing, "recording", recording));
+        InventoryAlertEngine twoSinks = new InventoryAlertEngine(inventoryBatchRepository, InventoryShardRouter.unsharded(),
+                jdbcTemplate, sinks.getBeanProvider(InventoryAlertSink.class), new SimpleMeterRegistry(), 10, List.of(),
+                30, false);
+        stock(1001L, batch(1001L, 1, TODAY.plusDays(90)));
+
+        twoSinks.evaluate(1001L, TODAY);
+        twoSinks.destroy();
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testTwoNodes_ShareActiveAlerts() {
+        List<InventoryAlertDTO> sentByB = new ArrayList<>();
+        InventoryAlertEngine nodeB = engine(sentByB::add);
+        stock(1001L, batch(1001L, 4, TODAY.plusDays(90)));
+
+        engine.evaluate(1001L, TODAY);
+        nodeB.evaluate(1001L, TODAY);
+
+        assertEquals(1, sent.size());
+        assertTrue(sentByB.isEmpty(), "raised again by the second node");
+        assertEquals(1, nodeB.getActiveAlerts().size());
+
+        stock(1001L, batch(1001L, 30, TODAY.plusDays(90)));
+        nodeB.evaluate(1001L, TODAY);
+        engine.evaluate(1001L, TODAY);
+
+        assertEquals(List.of("RESOLVED"), sentByB.stream().map(InventoryAlertDTO::getState).toList());
+        assertEquals(1, sent.size());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        nodeB.destroy();
+    }
+
+    @Test
+    void testStillRaised_KeepsRaisedTimeAndLatestFigures() {
+        stock(1001L, batch(1001L, 4, TODAY.plusDays(90)));
+        engine.evaluate(1001L, TODAY);
+        InventoryAlertDTO first = engine.getActiveAlerts().get(0);
+
+        stock(1001L, batch(1001L, 2, TODAY.plusDays(90)));
+        engine.evaluate(1001L, TODAY);
+
+        InventoryAlertDTO active = engine.getActiveAlerts().get(0);
+        assertEquals(2, active.getQuantity());
+        assertEquals(first.getAt(), active.getAt());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void testNegativeThreshold_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.setLowStockThreshold(1001L, -1));
+        verifyNoInteractions(inventoryBatchRepository);
+    }
+
+    private InventoryAlertEngine engine(InventoryAlertSink sink) {
+        StaticListableBeanFactory sinks = new StaticListableBeanFactory(Map.of("recording", sink));
+        return new InventoryAlertEngine(inventoryBatchRepository, InventoryShardRouter.unsharded(), jdbcTemplate,
+                sinks.getBeanProvider(InventoryAlertSink.class), new SimpleMeterRegistry(),
+                10, List.of("2002=50"), 30, false);
+    }
+
+    private void stock(Long productId, InventoryBatch... batches) {
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId)).thenReturn(List.of(batches));
+    }
+
+    private static InventoryBatch batch(Long productId, int quantity, LocalDate expiryDate) {
+        return InventoryBatch.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantity(quantity)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
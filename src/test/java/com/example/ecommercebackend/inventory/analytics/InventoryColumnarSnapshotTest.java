@@ -0,0 +1,117 @@
+package com.example.ecommercebackend.inventory.analytics;
+
+import com.example.ecommercebackend.inventory.analytics.InventoryColumnarSnapshot.ProductQuantity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar inventory snapshot and its scan operators.
+ */
+class InventoryColumnarSnapshotTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+    private static final Instant AS_OF = Instant.parse("2026-03-01T08:00:00Z");
+
+    @Test
+    void testExpiryMask_InclusiveBounds() {
+        InventoryColumnarSnapshot snapshot = InventoryColumnarSnapshot.builder()
+                .add(1L, 10, TODAY.minusDays(1))
+                .add(1L, 20, TODAY)
+                .add(1L, 30, TODAY.plusDays(30))
+                .add(1L, 40, TODAY.plusDays(31))
+                .build(AS_OF);
+
+        int[] masked = snapshot.quantityExpiringBetween(
+                InventoryColumnarSnapshot.toDay(TODAY), InventoryColumnarSnapshot.toDay(TODAY.plusDays(30)));
+
+        assertArrayEquals(new int[]{0, 20, 30, 0}, masked);
+    }
+
+    @Test
+    void testExpiringBetween_LargestFirst() {
+        InventoryColumnarSnapshot snapshot = InventoryColumnarSnapshot.builder()
+                .add(1L, 5, TODAY.plusDays(3))
+                .add(1L, 50, TODAY.plusDays(90))
+                .add(2L, 8, TODAY.plusDays(10))
+                .add(2L, 4, TODAY.plusDays(20))
+                .add(3L, 100, TODAY.plusDays(60))
+                .build(AS_OF);
+
+        List<ProductQuantity> expiring = snapshot.expiringBetween(TODAY, TODAY.plusDays(30), 10);
+
+        assertEquals(List.of(new ProductQuantity(2L, 12), new ProductQuantity(1L, 5)), expiring);
+        assertEquals(List.of(new ProductQuantity(2L, 12)), snapshot.expiringBetween(TODAY, TODAY.plusDays(30), 1));
+    }
+
+    @Test
+    void testBelowLevel_IgnoresExpiredStock() {
+        InventoryColumnarSnapshot snapshot = InventoryColumnarSnapshot.builder()
+                .add(1L, 100, TODAY.minusDays(5))
+                .add(1L, 3, TODAY.plusDays(5))
+                .add(2L, 0, TODAY.plusDays(5))
+                .add(3L, 50, TODAY.plusDays(5))
+                .build(AS_OF);
+
+        List<ProductQuantity> below = snapshot.belowLevel(10, TODAY, 10);
+
+        assertEquals(List.of(new ProductQuantity(2L, 0), new ProductQuantity(1L, 3)), below);
+    }
+
+    @Test
+    void testRuns_MergedInProductOrder() {
+        InventoryColumnarSnapshot snapshot = InventoryColumnarSnapshot.builder()
+                .startRun()
+                .add(1L, 1, TODAY)
+                .add(4L, 4, TODAY)
+                .startRun()
+                .add(2L, 2, TODAY)
+                .add(4L, 40, TODAY)
+                .add(5L, 5, TODAY)
+                .startRun()
+                .add(3L, 3, TODAY)
+                .build(AS_OF);
+
+        assertEquals(6, snapshot.getRowCount());
+        assertEquals(5, snapshot.getProductCount());
+        long[] totals = snapshot.sumByProduct(snapshot.quantityExpiringBetween(
+                InventoryColumnarSnapshot.MIN_DAY, InventoryColumnarSnapshot.MAX_DAY));
+        assertArrayEquals(new long[]{1, 2, 3, 44, 5}, totals);
+    }
+
+    @Test
+    void testOutOfOrderRowInRun_Rejected() {
+        InventoryColumnarSnapshot.Builder builder = InventoryColumnarSnapshot.builder().add(2L, 1, TODAY);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(1L, 1, TODAY));
+    }
+
+    @Test
+    void testLargeSnapshot_GrowsAndAggregates() {
+        InventoryColumnarSnapshot.Builder builder = InventoryColumnarSnapshot.builder();
+        for (long productId = 1; productId <= 5_000; productId++) {
+            builder.add(productId, 1, TODAY.plusDays(1)).add(productId, 2, TODAY.plusDays(100));
+        }
+
+        InventoryColumnarSnapshot snapshot = builder.build(AS_OF);
+
+        assertEquals(10_000, snapshot.getRowCount());
+        List<ProductQuantity> expiring = snapshot.expiringBetween(TODAY, TODAY.plusDays(30), 1_000);
+        assertEquals(1_000, expiring.size());
+        assertEquals(new ProductQuantity(1L, 1), expiring.get(0));
+        assertTrue(snapshot.belowLevel(3, TODAY, 10).isEmpty());
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        InventoryColumnarSnapshot snapshot = InventoryColumnarSnapshot.empty(AS_OF);
+
+        assertEquals(0, snapshot.getRowCount());
+        assertTrue(snapshot.expiringBetween(TODAY, TODAY.plusDays(30), 10).isEmpty());
+        assertEquals(AS_OF, snapshot.getAsOf());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for change-log read positions and late-commit gaps.
+ */
+class ChangeCursorTest {
+
+    private static final long TIMEOUT = 1_000;
+
+    @Test
+    void testAccept_NewChangesAdvance() {
+        ChangeCursor cursor = new ChangeCursor(10, TIMEOUT);
+
+        assertTrue(cursor.accept(11, 0));
+        assertTrue(cursor.accept(12, 0));
+        assertFalse(cursor.accept(12, 0));
+
+        assertEquals(12, cursor.highest());
+        assertEquals(0, cursor.gapCount());
+    }
+
+    @Test
+    void testAccept_LateCommitFillsGap() {
+        ChangeCursor cursor = new ChangeCursor(10, TIMEOUT);
+
+        assertTrue(cursor.accept(13, 0));
+        assertEquals(List.of(11L, 12L), cursor.gaps(10));
+
+        assertTrue(cursor.accept(12, 5));
+        assertFalse(cursor.accept(12, 6));
+        assertEquals(List.of(11L), cursor.gaps(10));
+    }
+
+    @Test
+    void testExpireGaps_GivesUpOnRolledBackChanges() {
+        ChangeCursor cursor = new ChangeCursor(10, TIMEOUT);
+        cursor.accept(12, 0);
+
+        cursor.expireGaps(TIMEOUT / 2);
+        assertEquals(1, cursor.gapCount());
+
+        cursor.expireGaps(TIMEOUT + 1);
+        assertEquals(0, cursor.gapCount());
+        assertFalse(cursor.accept(11, TIMEOUT + 2));
+    }
+
+    @Test
+    void testAccept_LargeJumpNotTrackedInFull() {
+        ChangeCursor cursor = new ChangeCursor(0, TIMEOUT);
+
+        cursor.accept(1_000_000, 0);
+
+        assertEquals(ChangeCursor.MAX_TRACKED_GAP, cursor.gapCount());
+    }
+}
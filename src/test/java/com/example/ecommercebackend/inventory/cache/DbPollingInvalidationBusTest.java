@@ -0,0 +1,113 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for two nodes sharing one in-memory H2 database through the polling invalidation bus.
+ * Each node has its own bus and cache, as two application instances would.
+ */
+class DbPollingInvalidationBusTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private DbPollingInvalidationBus busA;
+    private DbPollingInvalidationBus busB;
+    private InventoryCache cacheA;
+    private InventoryCache cacheB;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:changes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE inventory_change (change_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "product_id BIGINT NOT NULL, origin VARCHAR(64) NOT NULL, changed_at TIMESTAMP NOT NULL)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        busA = bus("node-a");
+        busB = bus("node-b");
+        cacheA = new InventoryCache(busA, new SimpleMeterRegistry(), true, Duration.ofMinutes(1), 100);
+        cacheB = new InventoryCache(busB, new SimpleMeterRegistry(), true, Duration.ofMinutes(1), 100);
+        // first poll fixes each node's starting position
+        busA.poll();
+        busB.poll();
+
+        cacheA.get(1001L, () -> response(1001L, 50));
+        cacheB.get(1001L, () -> response(1001L, 50));
+    }
+
+    @Test
+    void testCommittedChange_InvalidatesBothNodes() {
+        transactionTemplate.executeWithoutResult(status -> {
+            busA.publish(Set.of(1001L));
+            assertNotNull(cacheA.getIfPresent(1001L), "invalidated before commit");
+        });
+
+        assertNull(cacheA.getIfPresent(1001L));
+        assertNotNull(cacheB.getIfPresent(1001L));
+
+        assertEquals(1, busB.poll());
+        assertNull(cacheB.getIfPresent(1001L));
+    }
+
+    @Test
+    void testOwnChanges_NotDeliveredTwice() {
+        transactionTemplate.executeWithoutResult(status -> busA.publish(Set.of(1001L)));
+        cacheA.get(1001L, () -> response(1001L, 25));
+
+        assertEquals(0, busA.poll());
+        assertNotNull(cacheA.getIfPresent(1001L));
+    }
+
+    @Test
+    void testRolledBackChange_NotDelivered() {
+        transactionTemplate.executeWithoutResult(status -> {
+            busA.publish(Set.of(1001L));
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(cacheA.getIfPresent(1001L));
+        assertEquals(0, busB.poll());
+        assertNotNull(cacheB.getIfPresent(1001L));
+    }
+
+    @Test
+    void testPurge_RemovesOldChanges() {
+        transactionTemplate.executeWithoutResult(status -> busA.publish(Set.of(1001L, 1002L)));
+        jdbcTemplate.update("UPDATE inventory_change SET changed_at = DATEADD('HOUR', -1, changed_at)");
+
+        busA.purge();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_change", Integer.class));
+    }
+
+    private DbPollingInvalidationBus bus(String nodeId) {
+        return new DbPollingInvalidationBus(nodeId, jdbcTemplate, InventoryShardRouter.unsharded(), 100,
+                Duration.ofSeconds(10), Duration.ofMinutes(10));
+    }
+
+    private static InventoryResponseDTO response(Long productId, int quantity) {
+        return InventoryResponseDTO.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .batches(List.of())
+                .totalQuantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the inventory cache with a replica that never catches up: a second H2
+ * database holding the stock as it was before the test's update.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-primary;MODE=MySQL",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:cache-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.username=sa",
+        "datasource.replica.initialize-schema=true",
+        "inventory.cache.enabled=true"
+})
+@ActiveProfiles("test")
+class InventoryCacheReplicaIntegrationTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        inventoryBatchRepository.deleteAllInBatch();
+        replica.update("DELETE FROM inventory_batch");
+    }
+
+    @Test
+    void testReloadAfterUpdate_ReadsPrimary() {
+        InventoryBatch batch = stock(7001L, 50);
+        assertEquals(50, inventoryService.getInventoryByProduct(7001L).getTotalQuantity());
+
+        reduce(batch, 20);
+
+        assertEquals(30, inventoryService.getInventoryByProduct(7001L).getTotalQuantity());
+        assertEquals(30, inventoryService.getInventoryByProduct(7001L).getTotalQuantity(), "cached");
+    }
+
+    @Test
+    void testBulkReloadAfterUpdate_ReadsPrimary() {
+        InventoryBatch batch = stock(7002L, 50);
+        assertEquals(50, inventoryService.getInventoryByProducts(List.of(7002L)).get(0).getTotalQuantity());
+
+        reduce(batch, 20);
+
+        assertEquals(30, inventoryService.getInventoryByProducts(List.of(7002L)).get(0).getTotalQuantity());
+        assertEquals(30, inventoryService.getInventoryByProduct(7002L).getTotalQuantity(), "cached");
+    }
+
+    /** Stock a product on the primary and copy it to the replica, as replication would. */
+    private InventoryBatch stock(Long productId, int quantity) {
+        InventoryBatch batch = inventoryBatchRepository.save(InventoryBatch.builder()
+                .productId(productId)
+                .productName("Replicated")
+                .quantity(quantity)
+                .expiryDate(LocalDate.now().plusDays(30))
+                .build());
+        replica.update("INSERT INTO inventory_batch (batch_id, product_id, product_name, quantity, expiry_date, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                batch.getBatchId(), productId, batch.getProductName(), quantity, batch.getExpiryDate(),
+                batch.getCreatedAt(), batch.getUpdatedAt());
+        return batch;
+    }
+
+    private void reduce(InventoryBatch batch, int quantity) {
+        assertTrue(inventoryService.updateInventory(InventoryUpdateDTO.builder()
+                .productId(batch.getProductId())
+                .quantityToReduce(quantity)
+                .batchIds(batch.getBatchId().toString())
+                .build()));
+    }
+}
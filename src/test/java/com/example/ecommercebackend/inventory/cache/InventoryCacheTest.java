@@ -0,0 +1,125 @@
+package com.example.ecommercebackend.inventory.cache;
+
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the versioned inventory cache.
+ */
+class InventoryCacheTest {
+
+    private LocalInvalidationBus bus;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LocalInvalidationBus("node-a");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InventoryCache(bus, meterRegistry, true, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void testGet_LoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1001L, () -> response(1001L, loads.incrementAndGet()));
+        InventoryResponseDTO second = cache.get(1001L, () -> response(1001L, loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, second.getTotalQuantity());
+    }
+
+    @Test
+    void testInvalidate_NextGetReloads() {
+        cache.get(1001L, () -> response(1001L, 50));
+
+        bus.publish(Set.of(1001L));
+
+        assertNull(cache.getIfPresent(1001L));
+        assertEquals(25, cache.get(1001L, () -> response(1001L, 25)).getTotalQuantity());
+    }
+
+    @Test
+    void testPut_LoadStartedBeforeInvalidationRejected() {
+        long loadVersion = cache.currentVersion();
+        InventoryResponseDTO stale = response(1001L, 50);
+
+        // another node commits a change while this load is in flight
+        bus.deliver(new InventoryInvalidation("node-b", Set.of(1001L), System.currentTimeMillis()));
+
+        assertFalse(cache.put(1001L, stale, loadVersion));
+        assertNull(cache.getIfPresent(1001L));
+        assertEquals(1.0, meterRegistry.get("inventory.cache.loads.rejected").counter().count());
+    }
+
+    @Test
+    void testPut_OtherProductsUnaffected() {
+        long loadVersion = cache.currentVersion();
+
+        bus.publish(Set.of(1002L));
+
+        assertTrue(cache.put(1001L, response(1001L, 50), loadVersion));
+    }
+
+    @Test
+    void testTtl_ExpiredEntryReloaded() {
+        InventoryCache shortLived = new InventoryCache(new LocalInvalidationBus("node-a"), meterRegistry,
+                true, Duration.ZERO, 100);
+        shortLived.get(1001L, () -> response(1001L, 50));
+
+        assertEquals(25, shortLived.get(1001L, () -> response(1001L, 25)).getTotalQuantity());
+    }
+
+    @Test
+    void testLag_RecordedBySource() {
+        bus.publish(Set.of(1001L));
+        bus.deliver(new InventoryInvalidation("node-b", Set.of(1001L), System.currentTimeMillis() - 200));
+
+        assertEquals(1, meterRegistry.get("inventory.cache.invalidation.lag").tag("source", "local").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.cache.invalidation.lag").tag("source", "remote").timer().count());
+        assertTrue(meterRegistry.get("inventory.cache.invalidation.lag").tag("source", "remote").timer()
+                .max(TimeUnit.MILLISECONDS) >= 200);
+    }
+
+    @Test
+    void testMaxEntries_Evicts() {
+        for (long productId = 1; productId <= 150; productId++) {
+            long id = productId;
+            cache.get(id, () -> response(id, 1));
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        InventoryCache disabled = InventoryCache.disabled();
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get(1001L, () -> response(1001L, loads.incrementAndGet()));
+        disabled.get(1001L, () -> response(1001L, loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+        assertNull(disabled.getIfPresent(1001L));
+    }
+
+    private static InventoryResponseDTO response(Long productId, int quantity) {
+        return InventoryResponseDTO.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .batches(List.of())
+                .totalQuantity(quantity)
+                .build();
+    }
+}
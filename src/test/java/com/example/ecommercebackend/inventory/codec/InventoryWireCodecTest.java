@@ -0,0 +1,129 @@
+package com.example.ecommercebackend.inventory.codec;
+
+import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the compact inventory wire format.
+ */
+class InventoryWireCodecTest {
+
+    @Test
+    void testResponseRoundTrip() throws IOException {
+        InventoryResponseDTO response = InventoryResponseDTO.builder()
+                .productId(1001L)
+                .productName("Laptop")
+                .batches(List.of(
+                        InventoryBatchDTO.builder()
+                                .batchId(9L)
+                                .quantity(30)
+                                .expiryDate(LocalDate.of(2026, 3, 15))
+                                .markdownPercent(25)
+                                .build(),
+                        InventoryBatchDTO.builder()
+                                .batchId(1L)
+                                .quantity(50)
+                                .expiryDate(LocalDate.of(2026, 6, 25))
+                                .build()))
+                .totalQuantity(80)
+                .build();
+
+        byte[] encoded = InventoryWireCodec.encode(response);
+        InventoryResponseDTO decoded = InventoryWireCodec.readResponse(new ByteArrayInputStream(encoded));
+
+        assertEquals(response, decoded);
+    }
+
+    @Test
+    void testResponseRoundTrip_NullFields() throws IOException {
+        InventoryResponseDTO response = InventoryResponseDTO.builder()
+                .productId(9999L)
+                .batches(List.of(InventoryBatchDTO.builder().batchId(3L).build()))
+                .build();
+
+        byte[] encoded = InventoryWireCodec.encode(response);
+        InventoryResponseDTO decoded = InventoryWireCodec.readResponse(new ByteArrayInputStream(encoded));
+
+        assertEquals(response, decoded);
+        assertNull(decoded.getProductName());
+        assertNull(decoded.getTotalQuantity());
+    }
+
+    @Test
+    void testUpdateRoundTrip() throws IOException {
+        InventoryUpdateDTO update = InventoryUpdateDTO.builder()
+                .productId(1001L)
+                .quantityToReduce(25)
+                .batchIds("7, 3,12")
+                .orderDate(LocalDate.of(2026, 3, 1))
+                .build();
+
+        byte[] encoded = InventoryWireCodec.encode(update);
+        InventoryUpdateDTO decoded = InventoryWireCodec.readUpdate(new ByteArrayInputStream(encoded));
+
+        assertEquals(1001L, decoded.getProductId());
+        assertEquals(25, decoded.getQuantityToReduce());
+        assertEquals("7,3,12", decoded.getBatchIds());
+        assertEquals(LocalDate.of(2026, 3, 1), decoded.getOrderDate());
+    }
+
+    @Test
+    void testReadResponse_RejectsUpdatePayload() {
+        byte[] encoded = InventoryWireCodec.encode(InventoryUpdateDTO.builder().productId(1L).build());
+
+        assertThrows(IOException.class,
+                () -> InventoryWireCodec.readResponse(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    void testReadResponse_RejectsTruncatedPayload() {
+        byte[] encoded = InventoryWireCodec.encode(largeResponse(10));
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThrows(IOException.class,
+                () -> InventoryWireCodec.readResponse(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void testEncodedSmallerThanJson() {
+        InventoryResponseDTO response = largeResponse(500);
+
+        int binarySize = InventoryWireCodec.encode(response).length;
+        int jsonSize = JsonMapper.builder().build().writeValueAsBytes(response).length;
+
+        assertTrue(binarySize * 5 < jsonSize,
+                "Expected varint payload (" + binarySize + " bytes) to be well under JSON (" + jsonSize + " bytes)");
+    }
+
+    static InventoryResponseDTO largeResponse(int batchCount) {
+        List<InventoryBatchDTO> batches = new ArrayList<>(batchCount);
+        LocalDate expiry = LocalDate.of(2026, 1, 1);
+        int total = 0;
+        for (int i = 0; i < batchCount; i++) {
+            int quantity = 10 + (i * 37) % 200;
+            batches.add(InventoryBatchDTO.builder()
+                    .batchId(100_000L + i * 3L)
+                    .quantity(quantity)
+                    .expiryDate(expiry.plusDays(i / 4))
+                    .build());
+            total += quantity;
+        }
+        return InventoryResponseDTO.builder()
+                .productId(1001L)
+                .productName("Laptop")
+                .batches(batches)
+                .totalQuantity(total)
+                .build();
+    }
+}
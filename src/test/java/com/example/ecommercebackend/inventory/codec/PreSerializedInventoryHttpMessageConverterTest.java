@@ -0,0 +1,172 @@
+package com.example.ecommercebackend.inventory.codec;
+
+import com.example.ecommercebackend.inventory.cache.InventoryInvalidation;
+import com.example.ecommercebackend.inventory.cache.LocalInvalidationBus;
+import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for writing inventory responses from cached bytes.
+ */
+class PreSerializedInventoryHttpMessageConverterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private SimpleMeterRegistry meterRegistry;
+    private LocalInvalidationBus invalidationBus;
+    private PreSerializedInventoryHttpMessageConverter converter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationBus = new LocalInvalidationBus("node-a");
+        converter = new PreSerializedInventoryHttpMessageConverter(jsonMapper, invalidationBus, meterRegistry,
+                100, true, 512);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testSameETag_WrittenFromCache() throws IOException {
+        InventoryResponseDTO response = response(1001L, 80, 1);
+
+        MockHttpOutputMessage first = write(response, "\"a1\"");
+        MockHttpOutputMessage second = write(response, "\"a1\"");
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(response), first.getBodyAsBytes());
+        assertArrayEquals(first.getBodyAsBytes(), second.getBodyAsBytes());
+        assertEquals(first.getBodyAsBytes().length, second.getHeaders().getContentLength());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void testNewETag_EncodedAgain() throws IOException {
+        write(response(1001L, 80, 1), "\"a1\"");
+
+        MockHttpOutputMessage changed = write(response(1001L, 75, 1), "\"a2\"");
+
+        assertEquals(75, jsonMapper.readValue(changed.getBodyAsBytes(), InventoryResponseDTO.class).getTotalQuantity());
+        assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void testNoETag_SerializedWithoutCaching() throws IOException {
+        InventoryResponseDTO response = response(1001L, 80, 1);
+
+        MockHttpOutputMessage output = write(response, null);
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(response), output.getBodyAsBytes());
+        assertEquals(0, converter.size());
+    }
+
+    @Test
+    void testAcceptsGzip_PrecompressedWithWeakETag() throws IOException {
+        InventoryResponseDTO response = response(1001L, 800, 20);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+
+        MockHttpOutputMessage output = write(response, "\"a1\"");
+
+        assertEquals("gzip", output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"a1\"", output.getHeaders().getETag());
+        assertTrue(output.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes()))) {
+            assertArrayEquals(jsonMapper.writeValueAsBytes(response), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGzipRefusedOrSmall_SentUncompressed() throws IOException {
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        MockHttpOutputMessage refused = write(response(1001L, 800, 20), "\"a1\"");
+
+        request.removeHeader(HttpHeaders.ACCEPT_ENCODING);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpOutputMessage small = write(response(1002L, 80, 1), "\"b1\"");
+
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"a1\"", refused.getHeaders().getETag());
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testStockChange_EvictsEntry() throws IOException {
+        write(response(1001L, 80, 1), "\"a1\"");
+        write(response(1002L, 60, 1), "\"b1\"");
+
+        invalidationBus.deliver(new InventoryInvalidation("node-b", Set.of(1001L), System.currentTimeMillis()));
+
+        assertEquals(1, converter.size());
+    }
+
+    @Test
+    void testMaxEntries_Bounded() throws IOException {
+        for (long productId = 1; productId <= 150; productId++) {
+            write(response(productId, 10, 1), "\"" + productId + "\"");
+        }
+
+        assertTrue(converter.size() <= 100);
+    }
+
+    @Test
+    void testOnlyWritesInventoryResponses() {
+        assertTrue(converter.canWrite(InventoryResponseDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(InventoryResponseDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(InventoryBatchDTO.class, MediaType.APPLICATION_JSON));
+    }
+
+    private MockHttpOutputMessage write(InventoryResponseDTO response, String eTag) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        if (eTag != null) {
+            output.getHeaders().setETag(eTag);
+        }
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("inventory.http.byte-cache.requests").tag("result", result).counter().count();
+    }
+
+    private static InventoryResponseDTO response(Long productId, int quantity, int batchCount) {
+        List<InventoryBatchDTO> batches = IntStream.rangeClosed(1, batchCount)
+                .mapToObj(i -> InventoryBatchDTO.builder()
+                        .batchId((long) i)
+                        .quantity(quantity / batchCount)
+                        .expiryDate(LocalDate.of(2026, 1, 1).plusDays(i))
+                        .build())
+                .toList();
+        return InventoryResponseDTO.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .batches(batches)
+                .totalQuantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ecommercebackend.inventory.controller;
+
+import com.example.ecommercebackend.inventory.analytics.InventoryAnalyticsService;
+import com.example.ecommercebackend.inventory.dto.InventoryAnalyticsResultDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryProductQuantityDTO;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the inventory analytics endpoints over a snapshot of the H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InventoryAnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private InventoryAnalyticsController inventoryAnalyticsController;
+
+    @Autowired
+    private InventoryAnalyticsService inventoryAnalyticsService;
+
+    @Autowired
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @BeforeEach
+    void setUp() {
+        // delete straight away; refresh() reads through JDBC, not the persistence context
+        inventoryBatchRepository.deleteAllInBatch();
+        LocalDate today = LocalDate.now();
+        inventoryBatchRepository.save(batch(6001L, 15, today.plusDays(10)));
+        inventoryBatchRepository.save(batch(6001L, 40, today.plusDays(200)));
+        inventoryBatchRepository.save(batch(6002L, 4, today.plusDays(200)));
+        inventoryBatchRepository.save(batch(6002L, 30, today.minusDays(3)));
+        inventoryAnalyticsService.refresh();
+    }
+
+    @Test
+    void testExpiring_FromSnapshot() {
+        InventoryAnalyticsResultDTO result = inventoryAnalyticsController.getExpiring(30, 100).getBody();
+
+        assertNotNull(result);
+        assertEquals(4, result.getBatchesScanned());
+        assertEquals(List.of(new InventoryProductQuantityDTO(6001L, 15L)), result.getProducts());
+    }
+
+    @Test
+    void testBelowReorderLevel_FromSnapshot() {
+        InventoryAnalyticsResultDTO result = inventoryAnalyticsController.getBelowReorderLevel(10, 100).getBody();
+
+        assertNotNull(result);
+        assertEquals(List.of(new InventoryProductQuantityDTO(6002L, 4L)), result.getProducts());
+    }
+
+    @Test
+    void testSnapshot_NotUpdatedUntilRefresh() {
+        inventoryBatchRepository.save(batch(6003L, 1, LocalDate.now().plusDays(1)));
+
+        assertEquals(4, inventoryAnalyticsController.getExpiring(30, 100).getBody().getBatchesScanned());
+        inventoryAnalyticsService.refresh();
+        assertEquals(5, inventoryAnalyticsController.getExpiring(30, 100).getBody().getBatchesScanned());
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST, inventoryAnalyticsController.getExpiring(-1, 100).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, inventoryAnalyticsController.getExpiring(30, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                inventoryAnalyticsController.getBelowReorderLevel(0, 100).getStatusCode());
+    }
+
+    private static InventoryBatch batch(Long productId, int quantity, LocalDate expiryDate) {
+        return InventoryBatch.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantity(quantity)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
@@ -1,17 +1,29 @@
 package com.example.ecommercebackend.inventory.controller;
 
+import com.example.ecommercebackend.inventory.codec.InventoryWireCodec;
+import com.example.ecommercebackend.inventory.dto.InventoryImportResultDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryReceiptDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
 import com.example.ecommercebackend.inventory.entity.InventoryBatch;
 import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.service.InventoryImportService;
 import com.example.ecommercebackend.inventory.service.InventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +41,12 @@ class InventoryControllerIntegrationTest {
     @Autowired
     private InventoryBatchRepository inventoryBatchRepository;
 
+    @Autowired
+    private InventoryImportService inventoryImportService;
+
+    @Autowired
+    private InventoryController inventoryController;
+
     @BeforeEach
     void setUp() {
         // Clear existing data to avoid test conflicts
@@ -39,14 +57,14 @@ class InventoryControllerIntegrationTest {
                 .productId(1001L)
                 .productName("Laptop")
                 .quantity(50)
-                .expiryDate(LocalDate.of(2026, 6, 25))
+                .expiryDate(LocalDate.now().plusDays(250))
                 .build();
 
         InventoryBatch batch2 = InventoryBatch.builder()
                 .productId(1001L)
                 .productName("Laptop")
                 .quantity(30)
-                .expiryDate(LocalDate.of(2026, 3, 15))
+                .expiryDate(LocalDate.now().plusDays(150))
                 .build();
 
         inventoryBatchRepository.save(batch1);
@@ -142,5 +160,120 @@ class InventoryControllerIntegrationTest {
         long totalBatches = inventoryBatchRepository.count();
         assertTrue(totalBatches > 0, "Expected data to be loaded from Liquibase migrations");
     }
-}
 
+    @Test
+    void testReceiveBatches_Success() {
+        InventoryImportResultDTO result = inventoryImportService.receiveBatches(List.of(
+                InventoryReceiptDTO.builder()
+                        .productId(2001L)
+                        .productName("Monitor")
+                        .quantity(40)
+                        .expiryDate(LocalDate.now().plusYears(1))
+                        .build()));
+
+        assertEquals(1L, result.getImported());
+        assertEquals(40, inventoryService.getInventoryByProduct(2001L).getTotalQuantity());
+    }
+
+    @Test
+    void testReceiveBatches_NullBatchBadRequest() {
+        List<InventoryReceiptDTO> receipts = Arrays.asList(
+                InventoryReceiptDTO.builder()
+                        .productId(2001L)
+                        .productName("Monitor")
+                        .quantity(40)
+                        .expiryDate(LocalDate.now().plusYears(1))
+                        .build(),
+                null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, inventoryController.receiveBatches(receipts).getStatusCode());
+        assertTrue(inventoryService.getInventoryByProduct(2001L).getBatches().isEmpty());
+    }
+
+    @Test
+    void testImportService_NonPositiveChunkSizeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InventoryImportService(null, null, null, null, 0));
+    }
+
+    @Test
+    void testImportCsv_SkipsMalformedRows() throws IOException {
+        String expiry = LocalDate.now().plusYears(1).toString();
+        String csv = "batch_id,product_id,product_name,quantity,expiry_date\n" +
+                "1,2002,\"Desk, oak\",10," + expiry + "\n" +
+                "2,2002,\"Desk, oak\",not-a-number," + expiry + "\n" +
+                "3,2002,\"Desk, oak\",15," + expiry + "\n";
+
+        InventoryImportResultDTO result = inventoryImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2L, result.getImported());
+        assertEquals(1L, result.getRejected());
+
+        InventoryResponseDTO response = inventoryService.getInventoryByProduct(2002L);
+        assertEquals("Desk, oak", response.getProductName());
+        assertEquals(25, response.getTotalQuantity());
+    }
+
+    @Test
+    void testGetInventoryByProduct_ConditionalGet() {
+        ResponseEntity<InventoryResponseDTO> first = inventoryController.getInventoryByProduct(1001L, null, null, null, null, null);
+        String eTag = first.getHeaders().getETag();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(eTag);
+        assertEquals("max-age=2, public", first.getHeaders().getCacheControl());
+
+        ResponseEntity<InventoryResponseDTO> unchanged = inventoryController.getInventoryByProduct(1001L, null, eTag, null, null, null);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(eTag, unchanged.getHeaders().getETag());
+
+        Long batchId = inventoryBatchRepository.findByProductIdOrderByExpiryDate(1001L).get(0).getBatchId();
+        inventoryService.updateInventory(InventoryUpdateDTO.builder()
+                .productId(1001L)
+                .quantityToReduce(5)
+                .batchIds(batchId.toString())
+                .build());
+
+        ResponseEntity<InventoryResponseDTO> changed = inventoryController.getInventoryByProduct(1001L, null, eTag, null, null, null);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+        assertEquals(75, changed.getBody().getTotalQuantity());
+    }
+
+    @Test
+    void testGetInventoryByProduct_StrategyParameter() {
+        inventoryBatchRepository.save(InventoryBatch.builder()
+                .productId(1001L)
+                .productName("Laptop")
+                .quantity(5)
+                .expiryDate(LocalDate.now())
+                .build());
+
+        ResponseEntity<InventoryResponseDTO> configured = inventoryController.getInventoryByProduct(1001L, null, null, null, null, null);
+        ResponseEntity<InventoryResponseDTO> expiryPriority = inventoryController.getInventoryByProduct(
+                1001L, "expiry_priority", null, null, null, null);
+
+        assertEquals(85, configured.getBody().getTotalQuantity());
+        assertEquals(80, expiryPriority.getBody().getTotalQuantity(), "batch expiring today is not offered");
+        assertNotEquals(configured.getHeaders().getETag(), expiryPriority.getHeaders().getETag());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                inventoryController.getInventoryByProduct(1001L, "CHEAPEST", null, null, null, null).getStatusCode());
+    }
+
+    @Test
+    void testGetInventoryByProduct_ETagPerRepresentationAndClient() {
+        String jsonTag = inventoryController.getInventoryByProduct(1001L, null, null, null, null, null)
+                .getHeaders().getETag();
+        ResponseEntity<InventoryResponseDTO> wire = inventoryController.getInventoryByProduct(
+                1001L, null, "W/" + jsonTag, InventoryWireCodec.MEDIA_TYPE_VALUE, "partner-key", null);
+
+        assertEquals(HttpStatus.OK, wire.getStatusCode());
+        assertNotEquals(jsonTag, wire.getHeaders().getETag());
+        assertEquals("no-cache", wire.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, inventoryController.getInventoryByProduct(
+                1001L, null, "\"other\", W/" + jsonTag, null, null, null).getStatusCode());
+        assertTrue(wire.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommercebackend.inventory.factory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for strategy resolution from configuration.
+ */
+class InventoryStrategyFactoryTest {
+
+    private final DefaultInventoryStrategy defaultStrategy = new DefaultInventoryStrategy();
+    private final ExpiryPriorityInventoryStrategy expiryPriorityStrategy = new ExpiryPriorityInventoryStrategy();
+
+    @Test
+    void testStrategyFor_ProductOverrideAndDefault() {
+        InventoryStrategyFactory factory = new InventoryStrategyFactory(defaultStrategy, expiryPriorityStrategy,
+                "DEFAULT", List.of("1001=expiry_priority", " 1002 = DEFAULT"));
+
+        assertSame(expiryPriorityStrategy, factory.strategyFor(1001L));
+        assertSame(defaultStrategy, factory.strategyFor(1002L));
+        assertSame(defaultStrategy, factory.strategyFor(9999L));
+        assertEquals(InventoryStrategyType.EXPIRY_PRIORITY, factory.typeFor(1001L));
+    }
+
+    @Test
+    void testStrategyFor_ConfiguredDefault() {
+        InventoryStrategyFactory factory = new InventoryStrategyFactory(defaultStrategy, expiryPriorityStrategy,
+                "EXPIRY_PRIORITY", List.of());
+
+        assertSame(expiryPriorityStrategy, factory.strategyFor(1001L));
+    }
+
+    @Test
+    void testGetStrategy_ByName() {
+        InventoryStrategyFactory factory = new InventoryStrategyFactory(defaultStrategy, expiryPriorityStrategy);
+
+        assertSame(expiryPriorityStrategy, factory.getStrategy("Expiry_Priority"));
+        assertSame(defaultStrategy, factory.getStrategy(InventoryStrategyType.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> factory.getStrategy("CHEAPEST"));
+    }
+
+    @Test
+    void testInvalidConfiguration_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new InventoryStrategyFactory(
+                defaultStrategy, expiryPriorityStrategy, "DEFAULT", List.of("EXPIRY_PRIORITY")));
+        assertThrows(IllegalArgumentException.class, () -> new InventoryStrategyFactory(
+                defaultStrategy, expiryPriorityStrategy, "FIFO", List.of()));
+    }
+}
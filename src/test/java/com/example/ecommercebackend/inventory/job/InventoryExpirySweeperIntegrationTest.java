@@ -0,0 +1,78 @@
+package com.example.ecommercebackend.inventory.job;
+
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the expiry sweeper against the H2 schema created by Liquibase.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "inventory.archive.enabled=true",
+        "inventory.archive.retention-days=0",
+        "inventory.archive.chunk-size=1",
+        "inventory.archive.initial-delay=PT1H"
+})
+class InventoryExpirySweeperIntegrationTest {
+
+    @Autowired
+    private InventoryExpirySweeper sweeper;
+
+    @Autowired
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryBatchRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM inventory_batch_archive");
+
+        inventoryBatchRepository.save(batch(4001L, 10, LocalDate.now().plusMonths(6)));
+        inventoryBatchRepository.save(batch(4001L, 5, LocalDate.of(2020, 1, 1)));
+        inventoryBatchRepository.save(batch(4002L, 0, LocalDate.now().plusMonths(6)));
+    }
+
+    @Test
+    void testSweep_ArchivesExpiredAndEmptyBatches() {
+        int archived = sweeper.sweep();
+
+        assertEquals(2, archived);
+        assertEquals(1, inventoryBatchRepository.count());
+        assertEquals(1, sweeper.getHotRowCount());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_batch_archive WHERE archive_reason = 'EXPIRED'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_batch_archive WHERE archive_reason = 'EMPTY'", Integer.class));
+    }
+
+    @Test
+    void testSweep_IsIdempotent() {
+        sweeper.sweep();
+
+        assertEquals(0, sweeper.sweep());
+        assertEquals(1, inventoryBatchRepository.count());
+    }
+
+    private static InventoryBatch batch(Long productId, int quantity, LocalDate expiryDate) {
+        return InventoryBatch.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantity(quantity)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ecommercebackend.inventory.markdown;
+
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the nightly markdown computation against an in-memory H2 database. The chunk size is
+ * small so a handful of batches is already split into several ranges scanned in parallel.
+ */
+class InventoryMarkdownServiceTest {
+
+    private static final String INSERT_SQL = "INSERT INTO inventory_batch (product_id, quantity, expiry_date) " +
+            "VALUES (?, ?, ?)";
+
+    private final LocalDate today = LocalDate.now();
+    private JdbcTemplate jdbcTemplate;
+    private InventoryMarkdownService markdownService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:markdown-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE inventory_batch (batch_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "product_id BIGINT NOT NULL, quantity INT NOT NULL, expiry_date DATE NOT NULL)");
+
+        markdownService = new InventoryMarkdownService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                InventoryShardRouter.unsharded(), new SimpleMeterRegistry(), true,
+                "30:10 14:25 7:40 2:60", List.of("2002=5:50"), 3, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        markdownService.destroy();
+    }
+
+    @Test
+    void testRecompute_MarksDownAlongCurve() {
+        long soon = insert(1001L, 10, today.plusDays(1));
+        long twoWeeks = insert(1001L, 10, today.plusDays(14));
+        long month = insert(1001L, 10, today.plusDays(30));
+        long later = insert(1001L, 10, today.plusDays(31));
+        long expired = insert(1001L, 10, today.minusDays(1));
+        long empty = insert(1001L, 0, today.plusDays(1));
+
+        InventoryMarkdownTable table = markdownService.recompute();
+
+        assertEquals(today, table.getDay());
+        assertEquals(3, table.getBatchCount());
+        assertEquals(60, markdownService.getMarkdownPercent(1001L, soon));
+        assertEquals(25, markdownService.getMarkdownPercent(1001L, twoWeeks));
+        assertEquals(10, markdownService.getMarkdownPercent(1001L, month));
+        assertEquals(0, markdownService.getMarkdownPercent(1001L, later));
+        assertEquals(0, markdownService.getMarkdownPercent(1001L, expired));
+        assertEquals(0, markdownService.getMarkdownPercent(1001L, empty));
+    }
+
+    @Test
+    void testRecompute_ProductCurveOverridesDefault() {
+        long withinOwnCurve = insert(2002L, 10, today.plusDays(5));
+        long outsideOwnCurve = insert(2002L, 10, today.plusDays(20));
+        long defaultCurve = insert(3003L, 10, today.plusDays(20));
+
+        markdownService.recompute();
+
+        assertEquals(50, markdownService.getMarkdownPercent(2002L, withinOwnCurve));
+        assertEquals(0, markdownService.getMarkdownPercent(2002L, outsideOwnCurve));
+        assertEquals(10, markdownService.getMarkdownPercent(3003L, defaultCurve));
+    }
+
+    @Test
+    void testRecompute_ChunksCoverEveryBatch() {
+        for (long productId = 1; productId <= 50; productId++) {
+            insert(productId, 5, today.plusDays(productId % 40));
+        }
+
+        InventoryMarkdownTable table = markdownService.recompute();
+
+        // days 0..30 are marked down: products 1-30 and 40-50 (day 0..10)
+        assertEquals(41, table.getBatchCount());
+        assertEquals(41, table.getProductCount());
+    }
+
+    @Test
+    void testBeforeFirstRun_NothingMarkedDown() {
+        long batchId = insert(1001L, 10, today.plusDays(1));
+
+        assertEquals(0, markdownService.getMarkdownPercent(1001L, batchId));
+        assertEquals(0, InventoryMarkdownService.disabled().recompute().getBatchCount());
+    }
+
+    @Test
+    void testTable_LookupGoesThroughProduct() {
+        InventoryMarkdownTable table = InventoryMarkdownTable.builder()
+                .add(2L, 7L, 40)
+                .add(1L, 7L, 10)
+                .add(1L, 3L, 25)
+                .build(today);
+
+        assertEquals(10, table.percentFor(1L, 7L));
+        assertEquals(25, table.percentFor(1L, 3L));
+        assertEquals(40, table.percentFor(2L, 7L));
+        assertEquals(0, table.percentFor(2L, 3L));
+        assertEquals(0, table.percentFor(9L, 7L));
+        assertEquals(2, table.getProductCount());
+    }
+
+    private long insert(long productId, int quantity, LocalDate expiryDate) {
+        jdbcTemplate.update(INSERT_SQL, productId, quantity, Date.valueOf(expiryDate));
+        return jdbcTemplate.queryForObject("SELECT MAX(batch_id) FROM inventory_batch", Long.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommercebackend.inventory.markdown;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for markdown curve parsing and lookup.
+ */
+class MarkdownCurveTest {
+
+    @Test
+    void testSteps_FewestDaysCoveringApplies() {
+        MarkdownCurve curve = MarkdownCurve.parse("30:10 14:25 7:40 2:60");
+
+        assertEquals(0, curve.percentFor(31));
+        assertEquals(10, curve.percentFor(30));
+        assertEquals(10, curve.percentFor(15));
+        assertEquals(25, curve.percentFor(14));
+        assertEquals(40, curve.percentFor(3));
+        assertEquals(60, curve.percentFor(2));
+        assertEquals(60, curve.percentFor(0));
+        assertEquals(0, curve.percentFor(-1));
+        assertEquals(30, curve.getMaxDays());
+    }
+
+    @Test
+    void testStepOrder_DoesNotMatter() {
+        MarkdownCurve curve = MarkdownCurve.parse("2:60 30:10 7:40");
+
+        assertEquals(10, curve.percentFor(8));
+        assertEquals(40, curve.percentFor(7));
+        assertEquals(60, curve.percentFor(1));
+    }
+
+    @Test
+    void testBlank_NeverMarksDown() {
+        MarkdownCurve curve = MarkdownCurve.parse(" ");
+
+        assertEquals(0, curve.percentFor(0));
+        assertEquals(-1, curve.getMaxDays());
+    }
+
+    @Test
+    void testInvalidSteps_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> MarkdownCurve.parse("30"));
+        assertThrows(IllegalArgumentException.class, () -> MarkdownCurve.parse("30:100"));
+        assertThrows(IllegalArgumentException.class, () -> MarkdownCurve.parse("-1:10"));
+        assertThrows(IllegalArgumentException.class, () -> MarkdownCurve.parse("7:10 7:20"));
+        assertThrows(IllegalArgumentException.class, () -> MarkdownCurve.parse("x:10"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ecommercebackend.inventory.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the consumption ledger against an in-memory H2 database.
+ */
+class InventoryConsumptionLedgerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ledger-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE inventory_consumption (product_id BIGINT NOT NULL, " +
+                "consumed_day DATE NOT NULL, quantity BIGINT NOT NULL, PRIMARY KEY (product_id, consumed_day))");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void testRecord_InsertsThenAdds() {
+        InventoryConsumptionLedger ledger = new InventoryConsumptionLedger(jdbcTemplate, true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ledger.record(1001L, DAY, 5);
+            ledger.record(1001L, DAY, -2);
+        });
+
+        assertEquals(3L, consumed(1001L));
+    }
+
+    @Test
+    void testRecord_LostInsertRaceKeepsTransactionUsable() {
+        jdbcTemplate.update("INSERT INTO inventory_consumption VALUES (1001, ?, 4)", DAY);
+        // the first update misses the row, as if another transaction inserted it just afterwards
+        JdbcTemplate racing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            private boolean missed;
+
+            @Override
+            public int update(String sql, Object... args) {
+                if (!missed && sql.equals(InventoryConsumptionLedger.UPDATE_SQL)) {
+                    missed = true;
+                    return 0;
+                }
+                return super.update(sql, args);
+            }
+        };
+        InventoryConsumptionLedger ledger = new InventoryConsumptionLedger(racing, true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ledger.record(1001L, DAY, 6);
+            jdbcTemplate.update("INSERT INTO inventory_consumption VALUES (1002, ?, 1)", DAY);
+        });
+
+        assertEquals(10L, consumed(1001L));
+        assertEquals(1L, consumed(1002L));
+    }
+
+    @Test
+    void testDisabled_RecordsNothing() {
+        InventoryConsumptionLedger.disabled().record(1001L, DAY, 5);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_consumption", Integer.class));
+    }
+
+    private Long consumed(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM inventory_consumption WHERE product_id = ?",
+                Long.class, productId);
+    }
+}
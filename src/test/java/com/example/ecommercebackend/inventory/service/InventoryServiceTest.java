@@ -1,24 +1,33 @@
 package com.example.ecommercebackend.inventory.service;
 
+import com.example.ecommercebackend.inventory.cache.InventoryCache;
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryUpdateDTO;
 import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.event.InventoryChangedEvent;
 import com.example.ecommercebackend.inventory.factory.DefaultInventoryStrategy;
+import com.example.ecommercebackend.inventory.factory.ExpiryPriorityInventoryStrategy;
 import com.example.ecommercebackend.inventory.factory.InventoryStrategyFactory;
+import com.example.ecommercebackend.inventory.factory.InventoryStrategyType;
+import com.example.ecommercebackend.inventory.markdown.InventoryMarkdownService;
 import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import com.example.ecommercebackend.metrics.HotPathMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +42,24 @@ class InventoryServiceTest {
     @Mock
     private InventoryStrategyFactory strategyFactory;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private HotPathMetrics metrics = new HotPathMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private InventoryShardRouter shardRouter = InventoryShardRouter.unsharded();
+
+    @Spy
+    private InventoryCache inventoryCache = InventoryCache.disabled();
+
+    @Mock
+    private InventoryMarkdownService markdownService;
+
+    @Mock
+    private InventoryConsumptionLedger consumptionLedger;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -47,7 +74,7 @@ class InventoryServiceTest {
                 .productId(1001L)
                 .productName("Laptop")
                 .quantity(50)
-                .expiryDate(LocalDate.of(2026, 6, 25))
+                .expiryDate(LocalDate.now().plusDays(250))
                 .build();
 
         batch2 = InventoryBatch.builder()
@@ -55,7 +82,7 @@ class InventoryServiceTest {
                 .productId(1001L)
                 .productName("Laptop")
                 .quantity(30)
-                .expiryDate(LocalDate.of(2026, 3, 15))
+                .expiryDate(LocalDate.now().plusDays(150))
                 .build();
 
         // Create a real instance of DefaultInventoryStrategy for testing
@@ -69,7 +96,7 @@ class InventoryServiceTest {
 
         when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
                 .thenReturn(batches);
-        when(strategyFactory.getStrategy(anyString()))
+        when(strategyFactory.strategyFor(productId))
                 .thenReturn(defaultStrategy);
 
         InventoryResponseDTO response = inventoryService.getInventoryByProduct(productId);
@@ -83,6 +110,37 @@ class InventoryServiceTest {
         verify(inventoryBatchRepository, times(1)).findByProductIdOrderByExpiryDate(productId);
     }
 
+    @Test
+    void testGetInventoryByProduct_MarkdownInline() {
+        Long productId = 1001L;
+        InventoryBatch expiringSoon = InventoryBatch.builder()
+                .batchId(3L)
+                .productId(productId)
+                .productName("Laptop")
+                .quantity(10)
+                .expiryDate(LocalDate.now().plusDays(5))
+                .build();
+        InventoryBatch later = InventoryBatch.builder()
+                .batchId(4L)
+                .productId(productId)
+                .productName("Laptop")
+                .quantity(20)
+                .expiryDate(LocalDate.now().plusDays(90))
+                .build();
+
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
+                .thenReturn(List.of(expiringSoon, later));
+        when(strategyFactory.strategyFor(productId))
+                .thenReturn(defaultStrategy);
+        when(markdownService.getMarkdownPercent(productId, 3L)).thenReturn(40);
+        when(markdownService.getMarkdownPercent(productId, 4L)).thenReturn(0);
+
+        InventoryResponseDTO response = inventoryService.getInventoryByProduct(productId);
+
+        assertEquals(40, response.getBatches().get(0).getMarkdownPercent());
+        assertEquals(0, response.getBatches().get(1).getMarkdownPercent());
+    }
+
     @Test
     void testGetInventoryByProduct_NotFound() {
         Long productId = 9999L;
@@ -98,6 +156,40 @@ class InventoryServiceTest {
         assertEquals(0, response.getTotalQuantity());
     }
 
+    @Test
+    void testGetInventoryByProducts_OneResponsePerProduct() {
+        InventoryBatch laptop = InventoryBatch.builder()
+                .batchId(1L)
+                .productId(1001L)
+                .productName("Laptop")
+                .quantity(50)
+                .expiryDate(LocalDate.now().plusDays(30))
+                .build();
+        InventoryBatch mouse = InventoryBatch.builder()
+                .batchId(3L)
+                .productId(1002L)
+                .productName("Mouse")
+                .quantity(10)
+                .expiryDate(LocalDate.now().plusDays(60))
+                .build();
+
+        when(inventoryBatchRepository.findByProductIdInOrderByExpiryDate(List.of(1002L, 1001L, 9999L)))
+                .thenReturn(List.of(laptop, mouse));
+        when(strategyFactory.strategyFor(anyLong()))
+                .thenReturn(defaultStrategy);
+
+        List<InventoryResponseDTO> responses = inventoryService.getInventoryByProducts(List.of(1002L, 1001L, 9999L, 1001L));
+
+        assertEquals(3, responses.size());
+        assertEquals(1002L, responses.get(0).getProductId());
+        assertEquals(10, responses.get(0).getTotalQuantity());
+        assertEquals(1001L, responses.get(1).getProductId());
+        assertEquals(50, responses.get(1).getTotalQuantity());
+        assertEquals(9999L, responses.get(2).getProductId());
+        assertTrue(responses.get(2).getBatches().isEmpty());
+        verify(inventoryBatchRepository, times(1)).findByProductIdInOrderByExpiryDate(anyList());
+    }
+
     @Test
     void testUpdateInventory_Success() {
         InventoryUpdateDTO updateDTO = InventoryUpdateDTO.builder()
@@ -115,6 +207,74 @@ class InventoryServiceTest {
         assertTrue(result);
         verify(inventoryBatchRepository, times(1)).findByBatchId(1L);
         verify(inventoryBatchRepository, times(1)).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(InventoryChangedEvent.class));
+        verify(consumptionLedger).record(1001L, LocalDate.now(), 25);
+    }
+
+    @Test
+    void testUpdateInventory_PartialReductionLedgersWhatWasTaken() {
+        InventoryUpdateDTO updateDTO = InventoryUpdateDTO.builder()
+                .productId(1001L)
+                .quantityToReduce(80)
+                .batchIds("1")
+                .build();
+
+        when(inventoryBatchRepository.findByBatchId(1L)).thenReturn(batch1);
+
+        boolean result = inventoryService.updateInventory(updateDTO);
+
+        assertFalse(result);
+        assertEquals(0, batch1.getQuantity());
+        verify(consumptionLedger).record(1001L, LocalDate.now(), 50);
+    }
+
+    @Test
+    void testUpdateInventory_LedgersOnOrderDay() {
+        LocalDate orderDay = LocalDate.now().minusDays(1);
+        InventoryUpdateDTO updateDTO = InventoryUpdateDTO.builder()
+                .productId(1001L)
+                .quantityToReduce(5)
+                .batchIds("1")
+                .orderDate(orderDay)
+                .build();
+
+        when(inventoryBatchRepository.findByBatchId(1L)).thenReturn(batch1);
+
+        assertTrue(inventoryService.updateInventory(updateDTO));
+        verify(consumptionLedger).record(1001L, orderDay, 5);
+    }
+
+    @Test
+    void testCorrectStock_RestoresIntoLatestUnexpiredBatch() {
+        Long productId = 1001L;
+        InventoryBatch soon = futureBatch(5L, 10, 5);
+        InventoryBatch later = futureBatch(6L, 20, 60);
+        LocalDate ledgerDay = LocalDate.now().minusDays(1);
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId)).thenReturn(List.of(soon, later));
+
+        int applied = inventoryService.correctStock(productId, 7, ledgerDay);
+
+        assertEquals(7, applied);
+        assertEquals(10, soon.getQuantity());
+        assertEquals(27, later.getQuantity());
+        verify(consumptionLedger).record(productId, ledgerDay, -7);
+        verify(eventPublisher).publishEvent(any(InventoryChangedEvent.class));
+    }
+
+    @Test
+    void testCorrectStock_RemovesFirstExpiryFirst() {
+        Long productId = 1001L;
+        InventoryBatch soon = futureBatch(5L, 10, 5);
+        InventoryBatch later = futureBatch(6L, 20, 60);
+        LocalDate ledgerDay = LocalDate.now().minusDays(1);
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId)).thenReturn(List.of(soon, later));
+
+        int applied = inventoryService.correctStock(productId, -40, ledgerDay);
+
+        assertEquals(-30, applied);
+        assertEquals(0, soon.getQuantity());
+        assertEquals(0, later.getQuantity());
+        verify(consumptionLedger).record(productId, ledgerDay, 30);
     }
 
     @Test
@@ -124,7 +284,7 @@ class InventoryServiceTest {
 
         when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
                 .thenReturn(batches);
-        when(strategyFactory.getStrategy(anyString()))
+        when(strategyFactory.strategyFor(productId))
                 .thenReturn(defaultStrategy);
 
         boolean result = inventoryService.isSufficientInventory(productId, 50);
@@ -140,7 +300,7 @@ class InventoryServiceTest {
 
         when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
                 .thenReturn(batches);
-        when(strategyFactory.getStrategy(anyString()))
+        when(strategyFactory.strategyFor(productId))
                 .thenReturn(defaultStrategy);
 
         boolean result = inventoryService.isSufficientInventory(productId, 100);
@@ -155,6 +315,8 @@ class InventoryServiceTest {
 
         when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
                 .thenReturn(batches);
+        when(strategyFactory.strategyFor(productId))
+                .thenReturn(defaultStrategy);
 
         List<Long> reserved = inventoryService.reserveBatches(productId, 40);
 
@@ -162,5 +324,51 @@ class InventoryServiceTest {
         assertFalse(reserved.isEmpty());
         assertEquals(2, reserved.size());
     }
-}
 
+    @Test
+    void testReserveBatches_SkipsBatchesTheStrategyExcludes() {
+        Long productId = 1001L;
+        InventoryBatch expired = futureBatch(5L, 100, -1);
+        InventoryBatch today = futureBatch(6L, 10, 0);
+        InventoryBatch later = futureBatch(7L, 50, 60);
+
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
+                .thenReturn(List.of(expired, today, later));
+        when(strategyFactory.strategyFor(productId))
+                .thenReturn(defaultStrategy);
+        when(strategyFactory.getStrategy(InventoryStrategyType.EXPIRY_PRIORITY))
+                .thenReturn(new ExpiryPriorityInventoryStrategy());
+
+        assertEquals(List.of(6L, 7L), inventoryService.reserveBatches(productId, 20));
+        assertEquals(List.of(7L), inventoryService.reserveBatches(productId, 20, InventoryStrategyType.EXPIRY_PRIORITY));
+    }
+
+    @Test
+    void testGetInventoryByProduct_OtherStrategyBypassesCache() {
+        Long productId = 1001L;
+        InventoryBatch today = futureBatch(6L, 10, 0);
+        InventoryBatch later = futureBatch(7L, 50, 60);
+
+        when(inventoryBatchRepository.findByProductIdOrderByExpiryDate(productId))
+                .thenReturn(List.of(today, later));
+        when(strategyFactory.typeFor(productId))
+                .thenReturn(InventoryStrategyType.DEFAULT);
+        when(strategyFactory.getStrategy(InventoryStrategyType.EXPIRY_PRIORITY))
+                .thenReturn(new ExpiryPriorityInventoryStrategy());
+
+        InventoryResponseDTO response = inventoryService.getInventoryByProduct(productId, InventoryStrategyType.EXPIRY_PRIORITY);
+
+        assertEquals(50, response.getTotalQuantity());
+        verify(inventoryCache, never()).get(eq(productId), any());
+    }
+
+    private static InventoryBatch futureBatch(Long batchId, int quantity, int daysToExpiry) {
+        return InventoryBatch.builder()
+                .batchId(batchId)
+                .productId(1001L)
+                .productName("Laptop")
+                .quantity(quantity)
+                .expiryDate(LocalDate.now().plusDays(daysToExpiry))
+                .build();
+    }
+}
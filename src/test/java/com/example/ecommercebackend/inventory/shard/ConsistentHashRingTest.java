@@ -0,0 +1,64 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for product-to-shard placement.
+ */
+class ConsistentHashRingTest {
+
+    private static final int PRODUCTS = 100_000;
+
+    @Test
+    void testShardFor_IsStable() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("shard-2", "shard-0", "shard-1"), 128);
+
+        for (long productId = 1; productId <= 1000; productId++) {
+            assertEquals(first.shardFor(productId), second.shardFor(productId));
+        }
+    }
+
+    @Test
+    void testShardFor_SpreadsSequentialIds() {
+        ConsistentHashRing ring = new ConsistentHashRing(InventoryShardRouter.shardNames(4), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            counts.merge(ring.shardFor(productId), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.forEach((shard, count) -> assertTrue(count > PRODUCTS * 0.15 && count < PRODUCTS * 0.35,
+                shard + " owns " + count + " of " + PRODUCTS + " products"));
+    }
+
+    @Test
+    void testAddShard_MovesOnlyToNewShard() {
+        ConsistentHashRing before = new ConsistentHashRing(InventoryShardRouter.shardNames(4), 128);
+        ConsistentHashRing after = new ConsistentHashRing(InventoryShardRouter.shardNames(5), 128);
+
+        int moved = 0;
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            String from = before.shardFor(productId);
+            String to = after.shardFor(productId);
+            if (!from.equals(to)) {
+                assertEquals("shard-4", to);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > PRODUCTS * 0.10 && moved < PRODUCTS * 0.30, moved + " products moved");
+    }
+
+    @Test
+    void testNoShards_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 128));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for shard routing with three in-memory H2 databases as shards and a fourth as the
+ * application's default datasource. Each row records the product it belongs to, so a query on one
+ * database shows which products were routed there.
+ */
+class InventoryShardRouterTest {
+
+    private static final String INSERT_SQL = "INSERT INTO inventory_batch (product_id, quantity) VALUES (?, ?)";
+    private static final String SELECT_SQL = "SELECT product_id FROM inventory_batch WHERE product_id IN (%s)";
+
+    private final Map<String, JdbcTemplate> shardDatabases = new LinkedHashMap<>();
+    private JdbcTemplate defaultDatabase;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private InventoryShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        List<String> names = InventoryShardRouter.shardNames(3);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            DataSource shard = database(name);
+            shards.put(name, shard);
+            shardDatabases.put(name, new JdbcTemplate(shard));
+        }
+        DataSource defaultDataSource = database("default");
+        defaultDatabase = new JdbcTemplate(defaultDataSource);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(defaultDataSource, shards));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("transactionManager", transactionManager));
+        router = new InventoryShardRouter(true, List.of("url-0", "url-1", "url-2"), 128,
+                beans.getBeanProvider(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.destroy();
+    }
+
+    @Test
+    void testOnProductShard_WritesToOwningShardOnly() {
+        for (long productId = 1; productId <= 30; productId++) {
+            long id = productId;
+            router.onProductShard(id, () -> transactionTemplate.execute(status ->
+                    jdbcTemplate.update(INSERT_SQL, id, 10)));
+        }
+
+        for (long productId = 1; productId <= 30; productId++) {
+            long id = productId;
+            String owner = router.shardFor(id);
+            shardDatabases.forEach((shard, database) -> {
+                Integer rows = database.queryForObject(
+                        "SELECT COUNT(*) FROM inventory_batch WHERE product_id = ?", Integer.class, id);
+                assertEquals(shard.equals(owner) ? 1 : 0, rows, "rows for product on " + shard);
+            });
+        }
+        assertEquals(0, defaultDatabase.queryForObject("SELECT COUNT(*) FROM inventory_batch", Integer.class));
+    }
+
+    @Test
+    void testBindingInsideTransaction_BeforeFirstStatement() {
+        long productId = 42L;
+
+        transactionTemplate.executeWithoutResult(status ->
+                router.onProductShard(productId, () -> jdbcTemplate.update(INSERT_SQL, productId, 5)));
+
+        assertEquals(1, shardDatabases.get(router.shardFor(productId)).queryForObject(
+                "SELECT COUNT(*) FROM inventory_batch", Integer.class));
+    }
+
+    @Test
+    void testScatter_ReadsEveryShardOnce() {
+        List<Long> productIds = LongStream.rangeClosed(1, 60).boxed().toList();
+        productIds.forEach(productId -> router.onProductShard(productId, () ->
+                jdbcTemplate.update(INSERT_SQL, productId, 10)));
+        Map<String, Integer> queries = new ConcurrentHashMap<>();
+
+        List<Long> found = router.scatter(productIds, shardProducts -> {
+            String shard = ShardContext.current();
+            queries.merge(shard, 1, Integer::sum);
+            shardProducts.forEach(productId -> assertEquals(shard, router.shardFor(productId)));
+            String placeholders = String.join(",", shardProducts.stream().map(id -> "?").toList());
+            return jdbcTemplate.queryForList(SELECT_SQL.formatted(placeholders), Long.class, shardProducts.toArray());
+        });
+
+        assertEquals(60, found.size());
+        assertTrue(found.containsAll(productIds));
+        assertEquals(Map.of("shard-0", 1, "shard-1", 1, "shard-2", 1), queries);
+    }
+
+    @Test
+    void testScatter_SingleShardRunsInline() {
+        long productId = 7L;
+        Thread caller = Thread.currentThread();
+
+        List<Thread> threads = router.scatter(List.of(productId), shardProducts -> List.of(Thread.currentThread()));
+
+        assertEquals(List.of(caller), threads);
+    }
+
+    @Test
+    void testUnbound_UsesDefaultDataSource() {
+        jdbcTemplate.update(INSERT_SQL, 1L, 1);
+
+        assertEquals(1, defaultDatabase.queryForObject("SELECT COUNT(*) FROM inventory_batch", Integer.class));
+    }
+
+    @Test
+    void testUnknownShard_Rejected() {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(database("default"), Map.of());
+
+        assertThrows(IllegalStateException.class, () -> router.onShard("shard-9", () -> {
+            try (Connection connection = routing.getConnection()) {
+                return connection.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }));
+    }
+
+    @Test
+    void testUnsharded_EverythingOnDefault() {
+        InventoryShardRouter unsharded = InventoryShardRouter.unsharded();
+
+        assertFalse(unsharded.isSharded());
+        assertEquals(List.of(ShardContext.DEFAULT), unsharded.getShards());
+        assertEquals(ShardContext.DEFAULT, unsharded.shardFor(1001L));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        new JdbcTemplate(dataSource).execute(
+                "CREATE TABLE inventory_batch (batch_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                        "product_id BIGINT NOT NULL, quantity INT NOT NULL)");
+        return dataSource;
+    }
+}
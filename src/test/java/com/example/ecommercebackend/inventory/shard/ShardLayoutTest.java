@@ -0,0 +1,66 @@
+package com.example.ecommercebackend.inventory.shard;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShardLayout against an in-memory H2 shard database.
+ */
+class ShardLayoutTest {
+
+    private JdbcTemplate shard;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:layout-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        shard = new JdbcTemplate(dataSource);
+        shard.execute("CREATE TABLE inventory_shard_layout (shard_name VARCHAR(32) PRIMARY KEY, " +
+                "shard_count INT NOT NULL, virtual_nodes INT NOT NULL, recorded_at TIMESTAMP NOT NULL)");
+    }
+
+    @Test
+    void testFirstStart_RecordsLayout() {
+        new ShardLayout("shard-1", 2, 128).verify(shard);
+
+        assertEquals(1, shard.queryForObject("SELECT COUNT(*) FROM inventory_shard_layout " +
+                "WHERE shard_name = 'shard-1' AND shard_count = 2 AND virtual_nodes = 128", Integer.class));
+    }
+
+    @Test
+    void testSameLayout_Accepted() {
+        new ShardLayout("shard-1", 2, 128).verify(shard);
+
+        assertDoesNotThrow(() -> new ShardLayout("shard-1", 2, 128).verify(shard));
+    }
+
+    @Test
+    void testAppendedShard_Rejected() {
+        new ShardLayout("shard-1", 2, 128).verify(shard);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new ShardLayout("shard-1", 3, 128).verify(shard));
+        assertTrue(e.getMessage().contains("shard-1 of 2"));
+    }
+
+    @Test
+    void testReorderedUrls_Rejected() {
+        new ShardLayout("shard-1", 2, 128).verify(shard);
+
+        assertThrows(IllegalStateException.class, () -> new ShardLayout("shard-0", 2, 128).verify(shard));
+    }
+
+    @Test
+    void testChangedVirtualNodes_Rejected() {
+        new ShardLayout("shard-0", 2, 128).verify(shard);
+
+        assertThrows(IllegalStateException.class, () -> new ShardLayout("shard-0", 2, 64).verify(shard));
+    }
+}
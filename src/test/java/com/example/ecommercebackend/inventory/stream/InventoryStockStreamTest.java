@@ -0,0 +1,177 @@
+package com.example.ecommercebackend.inventory.stream;
+
+import com.example.ecommercebackend.inventory.cache.LocalInvalidationBus;
+import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
+import com.example.ecommercebackend.inventory.dto.InventoryStockChangeDTO;
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the stock change stream with an in-JVM invalidation bus and a mocked InventoryService.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryStockStreamTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private LocalInvalidationBus bus;
+    private InventoryStockStream stream;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LocalInvalidationBus("node-a");
+        stream = new InventoryStockStream(inventoryService, bus, new SimpleMeterRegistry(),
+                1, 2, Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.destroy();
+    }
+
+    @Test
+    void testWatch_CurrentStockThenChanges() {
+        when(inventoryService.getInventoryByProduct(1001L)).thenReturn(stock(1001L, 80), stock(1001L, 75));
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        stream.watch(List.of(1001L)).subscribe(recorder);
+        recorder.awaitQuantities(List.of(80));
+
+        bus.publish(Set.of(1001L));
+
+        recorder.awaitQuantities(List.of(80, 75));
+        assertEquals(InventoryStockStream.EVENT_NAME, recorder.events.get(1).event());
+        recorder.cancel();
+    }
+
+    @Test
+    void testSlowSubscriber_OnlyLatestChangeKept() {
+        when(inventoryService.getInventoryByProduct(1001L))
+                .thenReturn(stock(1001L, 80), stock(1001L, 70), stock(1001L, 60), stock(1001L, 50));
+        when(inventoryService.getInventoryByProduct(1002L)).thenReturn(stock(1002L, 5), stock(1002L, 6));
+        Recorder recorder = new Recorder(2);
+        stream.watch(List.of(1001L, 1002L)).subscribe(recorder);
+        recorder.awaitEvents(2);
+
+        for (int loads = 2; loads <= 4; loads++) {
+            bus.publish(Set.of(1001L));
+            verify(inventoryService, timeout(2000).times(loads)).getInventoryByProduct(1001L);
+        }
+        // changes are read one after another, so once 1002 is read every 1001 change has been offered
+        bus.publish(Set.of(1002L));
+        verify(inventoryService, timeout(2000).times(2)).getInventoryByProduct(1002L);
+        recorder.request(10);
+
+        recorder.awaitEvents(4);
+        assertEquals(List.of(80, 50), recorder.quantities(1001L));
+        assertEquals(List.of(5, 6), recorder.quantities(1002L));
+        recorder.cancel();
+    }
+
+    @Test
+    void testUnwatchedProducts_NotRead() {
+        when(inventoryService.getInventoryByProduct(1001L)).thenReturn(stock(1001L, 80), stock(1001L, 75));
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        stream.watch(List.of(1001L)).subscribe(recorder);
+        recorder.awaitQuantities(List.of(80));
+
+        bus.publish(Set.of(2002L));
+        bus.publish(Set.of(1001L));
+
+        recorder.awaitQuantities(List.of(80, 75));
+        verify(inventoryService, never()).getInventoryByProduct(2002L);
+        recorder.cancel();
+    }
+
+    @Test
+    void testLimits() {
+        when(inventoryService.getInventoryByProduct(1001L)).thenReturn(stock(1001L, 80));
+        assertThrows(IllegalArgumentException.class, () -> stream.watch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> stream.watch(List.of(1L, 2L, 3L)));
+
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        stream.watch(List.of(1001L)).subscribe(first);
+        assertThrows(RejectedExecutionException.class, () -> stream.watch(List.of(1001L)));
+
+        first.cancel();
+        assertEquals(0, stream.getSubscriberCount());
+        Recorder second = new Recorder(Long.MAX_VALUE);
+        stream.watch(List.of(1001L)).subscribe(second);
+        second.awaitQuantities(List.of(80));
+        second.cancel();
+    }
+
+    private static InventoryResponseDTO stock(Long productId, int quantity) {
+        return InventoryResponseDTO.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .batches(List.of())
+                .totalQuantity(quantity)
+                .build();
+    }
+
+    /**
+     * Records stock events, requesting only as many as told to.
+     */
+    private static final class Recorder extends BaseSubscriber<ServerSentEvent<InventoryStockChangeDTO>> {
+
+        private final long initialRequest;
+        private final List<ServerSentEvent<InventoryStockChangeDTO>> events = new CopyOnWriteArrayList<>();
+
+        private Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(initialRequest);
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<InventoryStockChangeDTO> event) {
+            if (event.data() != null) {
+                events.add(event);
+            }
+        }
+
+        private void awaitQuantities(List<Integer> expected) {
+            awaitEvents(expected.size());
+            assertEquals(expected, events.stream().map(event -> event.data().getTotalQuantity()).toList());
+        }
+
+        private void awaitEvents(int count) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(count, events.size());
+        }
+
+        private List<Integer> quantities(Long productId) {
+            return events.stream()
+                    .map(ServerSentEvent::data)
+                    .filter(change -> change.getProductId().equals(productId))
+                    .map(InventoryStockChangeDTO::getTotalQuantity)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ecommercebackend.order.controller;
+
+import com.example.ecommercebackend.order.dto.OrderProductRollupDTO;
+import com.example.ecommercebackend.order.dto.OrderStatusCountsDTO;
+import com.example.ecommercebackend.order.entity.Order;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import com.example.ecommercebackend.order.entity.OrderTransition;
+import com.example.ecommercebackend.order.repository.OrderRepository;
+import com.example.ecommercebackend.order.service.OrderRollupService;
+import com.example.ecommercebackend.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the order rollups against the H2 schema created by Liquibase.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderAnalyticsControllerIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private OrderAnalyticsController orderAnalyticsController;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Order first;
+    private Order second;
+
+    @BeforeEach
+    void setUp() {
+        // delete straight away; rebuild() reads through JDBC, not the persistence context
+        orderRepository.deleteAllInBatch();
+        first = orderRepository.save(order(5001L, 3, DAY));
+        second = orderRepository.save(order(5001L, 2, DAY));
+        orderRepository.save(order(5001L, 4, DAY.plusDays(2)));
+        orderRepository.save(order(5002L, 1, DAY));
+        orderRollupService.rebuild();
+    }
+
+    @Test
+    void testProductDaily_FromRollup() {
+        ResponseEntity<OrderProductRollupDTO> response =
+                orderAnalyticsController.getProductDaily(5001L, DAY, DAY.plusDays(6));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        OrderProductRollupDTO rollup = response.getBody();
+        assertNotNull(rollup);
+        assertEquals(3, rollup.getOrderCount());
+        assertEquals(9, rollup.getQuantity());
+        assertEquals(List.of(DAY, DAY.plusDays(2)), rollup.getDays().stream().map(day -> day.getDay()).toList());
+        assertEquals(5, rollup.getDays().get(0).getQuantity());
+    }
+
+    @Test
+    void testRecordPlaced_AddsToExistingDay() {
+        orderRollupService.recordPlaced(5001L, DAY, 6);
+        orderRollupService.recordPlaced(5003L, DAY, 1);
+
+        OrderProductRollupDTO rollup = orderAnalyticsController.getProductDaily(5001L, DAY, null).getBody();
+
+        assertNotNull(rollup);
+        assertEquals(3, rollup.getOrderCount());
+        assertEquals(11, rollup.getQuantity());
+        assertEquals(1, orderRollupService.getProductRollup(5003L, DAY, DAY).getOrderCount());
+        assertEquals(6, orderAnalyticsController.getStatusCounts().getBody().getCounts().get("PLACED"));
+    }
+
+    @Test
+    void testTransitions_MoveStatusCounts() {
+        orderService.transitionOrder(first.getOrderId(), OrderTransition.SHIP);
+        orderService.transitionOrders(List.of(first.getOrderId(), second.getOrderId()), OrderTransition.CANCEL);
+
+        OrderStatusCountsDTO counts = orderAnalyticsController.getStatusCounts().getBody();
+
+        assertNotNull(counts);
+        assertEquals(2, counts.getCounts().get("PLACED"));
+        assertEquals(1, counts.getCounts().get("SHIPPED"));
+        assertEquals(1, counts.getCounts().get("CANCELLED"));
+        assertEquals(0, counts.getCounts().get("DELIVERED"));
+        assertEquals(4, counts.getTotal());
+    }
+
+    @Test
+    void testTransition_FromWrongStatusLeavesCountsAlone() {
+        orderService.transitionOrder(first.getOrderId(), OrderTransition.SHIP);
+
+        assertThrows(IllegalStateException.class,
+                () -> orderService.transitionOrder(first.getOrderId(), OrderTransition.CANCEL));
+        assertNull(orderService.transitionOrder(-1L, OrderTransition.CANCEL));
+
+        OrderStatusCountsDTO counts = orderAnalyticsController.getStatusCounts().getBody();
+        assertNotNull(counts);
+        assertEquals(3, counts.getCounts().get("PLACED"));
+        assertEquals(1, counts.getCounts().get("SHIPPED"));
+        assertEquals(0, counts.getCounts().get("CANCELLED"));
+        assertEquals(OrderStatus.SHIPPED, orderRepository.findById(first.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testProductDaily_InvalidRange() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                orderAnalyticsController.getProductDaily(5001L, DAY, DAY.minusDays(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                orderAnalyticsController.getProductDaily(5001L, DAY, DAY.plusDays(400)).getStatusCode());
+    }
+
+    private static Order order(Long productId, int quantity, LocalDate orderDate) {
+        return Order.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantity(quantity)
+                .status(OrderStatus.PLACED)
+                .orderDate(orderDate)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ecommercebackend.order.controller;
+
+import com.example.ecommercebackend.config.admission.RequestRateLimiter;
+import com.example.ecommercebackend.order.dto.OrderBulkTransitionResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import com.example.ecommercebackend.order.entity.OrderTransition;
+import com.example.ecommercebackend.order.service.OrderIntakeService;
+import com.example.ecommercebackend.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MockMvc tests for the order lifecycle endpoints with a mocked OrderService.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderIntakeService orderIntakeService;
+
+    @Mock
+    private RequestRateLimiter rateLimiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService, orderIntakeService, rateLimiter))
+                .build();
+    }
+
+    @Test
+    void testTransitionOrder_Ok() throws Exception {
+        when(orderService.transitionOrder(7L, OrderTransition.SHIP)).thenReturn(OrderResponseDTO.builder()
+                .orderId(7L)
+                .status("SHIPPED")
+                .build());
+
+        mockMvc.perform(post("/order/7/ship"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(7))
+                .andExpect(jsonPath("$.status").value("SHIPPED"));
+    }
+
+    @Test
+    void testTransitionOrder_NotFound() throws Exception {
+        when(orderService.transitionOrder(7L, OrderTransition.CANCEL)).thenReturn(null);
+
+        mockMvc.perform(post("/order/7/cancel"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testTransitionOrder_WrongStatusConflict() throws Exception {
+        when(orderService.transitionOrder(7L, OrderTransition.DELIVER))
+                .thenThrow(new IllegalStateException("Cannot deliver order 7 in status PLACED"));
+
+        mockMvc.perform(post("/order/7/deliver"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testTransitionOrder_UnknownActionBadRequest() throws Exception {
+        mockMvc.perform(post("/order/7/teleport"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testTransitionOrders_Ok() throws Exception {
+        when(orderService.transitionOrders(List.of(1L, 2L, 3L), OrderTransition.CANCEL))
+                .thenReturn(OrderBulkTransitionResponseDTO.builder()
+                        .transition("CANCEL")
+                        .status("CANCELLED")
+                        .requested(3)
+                        .updated(2)
+                        .build());
+
+        mockMvc.perform(post("/order/bulk/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    void testTransitionOrders_InvalidListBadRequest() throws Exception {
+        when(orderService.transitionOrders(anyList(), any()))
+                .thenThrow(new IllegalArgumentException("At least one order ID is required"));
+
+        mockMvc.perform(post("/order/bulk/ship")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testTransitionOrders_UnknownActionBadRequest() throws Exception {
+        mockMvc.perform(post("/order/bulk/teleport")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[1]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.ecommercebackend.order.service;
+
+import com.example.ecommercebackend.order.dto.OrderRequestDTO;
+import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderTicketDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for asynchronous order intake with a mocked OrderService.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderIntakeService intake;
+
+    @AfterEach
+    void tearDown() {
+        if (intake != null) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void testSubmit_PlacedOrderOnTicket() throws Exception {
+        intake = intake(10, 2);
+        when(orderService.placeOrder(any())).thenReturn(OrderResponseDTO.builder()
+                .orderId(5012L)
+                .productId(1001L)
+                .status("PLACED")
+                .message("Order placed. Inventory reserved.")
+                .build());
+
+        OrderTicketDTO queued = intake.submit(request(1001L, 3));
+        OrderTicketDTO done = intake.awaitTicket(queued.getTicketId(), WAIT).get(10, TimeUnit.SECONDS);
+
+        assertEquals("QUEUED", queued.getState());
+        assertEquals("PLACED", done.getState());
+        assertEquals(5012L, done.getOrderId());
+        assertEquals(5012L, done.getOrder().getOrderId());
+    }
+
+    @Test
+    void testSubmit_InsufficientInventoryRejected() throws Exception {
+        intake = intake(10, 1);
+        when(orderService.placeOrder(any()))
+                .thenThrow(new IllegalArgumentException("Insufficient inventory for product ID: 1001"));
+
+        OrderTicketDTO queued = intake.submit(request(1001L, 3));
+        OrderTicketDTO done = intake.awaitTicket(queued.getTicketId(), WAIT).get(10, TimeUnit.SECONDS);
+
+        assertEquals("REJECTED", done.getState());
+        assertNull(done.getOrderId());
+        assertEquals("Insufficient inventory for product ID: 1001", done.getMessage());
+    }
+
+    @Test
+    void testSubmit_ServiceErrorFailsTicket() throws Exception {
+        intake = intake(10, 1);
+        when(orderService.placeOrder(any())).thenThrow(new RuntimeException("Inventory service unavailable"));
+
+        OrderTicketDTO queued = intake.submit(request(1001L, 3));
+
+        assertEquals("FAILED", intake.awaitTicket(queued.getTicketId(), WAIT).get(10, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    void testSubmit_InvalidRequest() {
+        intake = intake(10, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> intake.submit(request(1001L, 0)));
+        assertThrows(IllegalArgumentException.class, () -> intake.submit(request(null, 1)));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testSubmit_QueueFullRejected() throws Exception {
+        intake = intake(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrder(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return OrderResponseDTO.builder().orderId(1L).build();
+        });
+
+        OrderTicketDTO first = intake.submit(request(1001L, 1));
+        awaitState(first.getTicketId(), "PROCESSING");
+        OrderTicketDTO second = intake.submit(request(1001L, 1));
+
+        assertThrows(RejectedExecutionException.class, () -> intake.submit(request(1001L, 1)));
+        release.countDown();
+        assertEquals("PLACED", intake.awaitTicket(second.getTicketId(), WAIT).get(10, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    void testAwaitTicket_ReturnsCurrentStateWhenWaitIsOver() throws Exception {
+        intake = intake(10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrder(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return OrderResponseDTO.builder().orderId(1L).build();
+        });
+
+        OrderTicketDTO queued = intake.submit(request(1001L, 1));
+        OrderTicketDTO pending = intake.awaitTicket(queued.getTicketId(), Duration.ofMillis(200))
+                .get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertNotEquals("PLACED", pending.getState());
+    }
+
+    @Test
+    void testUnknownTicket() {
+        intake = intake(10, 1);
+
+        assertNull(intake.getTicket("missing"));
+        assertNull(intake.awaitTicket("missing", WAIT));
+    }
+
+    @Test
+    void testPurgeExpiredTickets_RemovesCompleted() throws Exception {
+        intake = new OrderIntakeService(orderService, new SimpleMeterRegistry(), 10, 1, 8,
+                Duration.ZERO, Duration.ofSeconds(5));
+        intake.start();
+        when(orderService.placeOrder(any())).thenReturn(OrderResponseDTO.builder().orderId(1L).build());
+
+        OrderTicketDTO queued = intake.submit(request(1001L, 1));
+        intake.awaitTicket(queued.getTicketId(), WAIT).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, intake.purgeExpiredTickets());
+        assertNull(intake.getTicket(queued.getTicketId()));
+    }
+
+    @Test
+    void testStop_DrainsQueue() {
+        intake = intake(100, 1);
+        when(orderService.placeOrder(any())).thenReturn(OrderResponseDTO.builder().orderId(1L).build());
+        for (int i = 0; i < 20; i++) {
+            intake.submit(request(1001L + i % 3, 1));
+        }
+
+        intake.stop();
+
+        verify(orderService, times(20)).placeOrder(any());
+        assertEquals(0, intake.getQueueSize());
+        assertThrows(RejectedExecutionException.class, () -> intake.submit(request(1001L, 1)));
+    }
+
+    @Test
+    void testNotStarted_Rejected() {
+        intake = new OrderIntakeService(orderService, new SimpleMeterRegistry(), 10, 1, 8,
+                Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+        assertFalse(intake.isRunning());
+        assertThrows(RejectedExecutionException.class, () -> intake.submit(request(1001L, 1)));
+    }
+
+    private OrderIntakeService intake(int capacity, int workers) {
+        OrderIntakeService service = new OrderIntakeService(orderService, new SimpleMeterRegistry(), capacity,
+                workers, 8, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        service.start();
+        return service;
+    }
+
+    private void awaitState(String ticketId, String state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!state.equals(intake.getTicket(ticketId).getState()) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(state, intake.getTicket(ticketId).getState());
+    }
+
+    private static OrderRequestDTO request(Long productId, int quantity) {
+        return OrderRequestDTO.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ecommercebackend.order.service;
+
+import com.example.ecommercebackend.EcoomerceBackend;
+import com.example.ecommercebackend.inventory.entity.InventoryBatch;
+import com.example.ecommercebackend.inventory.repository.InventoryBatchRepository;
+import com.example.ecommercebackend.order.dto.OrderRequestDTO;
+import com.example.ecommercebackend.order.dto.OrderTicketDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closes a running application with asynchronous orders still queued. The workers place each order
+ * through the inventory endpoints of the same process, so those must keep serving until the queue is empty.
+ */
+class OrderIntakeShutdownIntegrationTest {
+
+    private static final int ORDERS = 60;
+
+    @Test
+    void testClose_DrainsQueueWhileServerServes() throws IOException {
+        int port = freePort();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EcoomerceBackend.class)
+                .profiles("test")
+                .run("--server.port=" + port,
+                        "--inventory.service.url=http://localhost:" + port,
+                        "--spring.datasource.url=jdbc:h2:mem:intake-shutdown;MODE=MySQL",
+                        "--admission.rate-limit.enabled=false",
+                        "--admission.concurrency.enabled=false",
+                        "--order.async.workers=2");
+        OrderIntakeService intake = context.getBean(OrderIntakeService.class);
+        context.getBean(InventoryBatchRepository.class).save(InventoryBatch.builder()
+                .productId(9001L)
+                .productName("Drained")
+                .quantity(ORDERS)
+                .expiryDate(LocalDate.now().plusDays(30))
+                .build());
+
+        List<OrderTicketDTO> tickets = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            tickets.add(intake.submit(OrderRequestDTO.builder().productId(9001L).quantity(1).build()));
+        }
+        context.close();
+
+        assertFalse(intake.isRunning());
+        assertEquals(0, intake.getQueueSize());
+        for (OrderTicketDTO ticket : tickets) {
+            assertEquals("PLACED", intake.getTicket(ticket.getTicketId()).getState());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -1,25 +1,46 @@
 package com.example.ecommercebackend.order.service;
 
+import com.example.ecommercebackend.config.RestTemplateConfig;
+import com.example.ecommercebackend.config.admission.InternalCallToken;
 import com.example.ecommercebackend.inventory.dto.InventoryResponseDTO;
 import com.example.ecommercebackend.inventory.dto.InventoryBatchDTO;
+import com.example.ecommercebackend.metrics.HotPathMetrics;
 import com.example.ecommercebackend.order.dto.OrderRequestDTO;
 import com.example.ecommercebackend.order.dto.OrderResponseDTO;
+import com.example.ecommercebackend.order.dto.OrderBulkTransitionResponseDTO;
 import com.example.ecommercebackend.order.entity.Order;
+import com.example.ecommercebackend.order.entity.OrderStatus;
+import com.example.ecommercebackend.order.entity.OrderTransition;
 import com.example.ecommercebackend.order.repository.OrderRepository;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 /**
  * Unit tests for OrderService using Mockito.
@@ -33,6 +54,14 @@ class OrderServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private OrderRollupService orderRollupService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private HotPathMetrics metrics = new HotPathMetrics(meterRegistry);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -67,7 +96,7 @@ class OrderServiceTest {
 
     @Test
     void testPlaceOrder_Success() {
-        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class), eq(1001L)))
                 .thenReturn(inventoryResponse);
 
         Order savedOrder = Order.builder()
@@ -75,7 +104,7 @@ class OrderServiceTest {
                 .productId(1001L)
                 .productName("Laptop")
                 .quantity(10)
-                .status("PLACED")
+                .status(OrderStatus.PLACED)
                 .orderDate(LocalDate.now())
                 .reservedBatchIds("1,2")
                 .build();
@@ -83,7 +112,7 @@ class OrderServiceTest {
         when(orderRepository.save(any(Order.class)))
                 .thenReturn(savedOrder);
 
-        when(restTemplate.postForObject(anyString(), any(), eq(Void.class)))
+        when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
                 .thenReturn(null);
 
         OrderResponseDTO response = orderService.placeOrder(orderRequest);
@@ -96,29 +125,121 @@ class OrderServiceTest {
         assertEquals("Order placed. Inventory reserved.", response.getMessage());
 
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(restTemplate, atLeastOnce()).postForObject(anyString(), any(), eq(Void.class));
+        verify(restTemplate, atLeastOnce()).postForObject(anyString(), any(), eq(String.class));
+
+        assertEquals(1, meterRegistry.get(HotPathMetrics.ORDER_PLACE).tag("outcome", "placed").timer().count());
+        verify(orderRollupService).recordPlaced(1001L, savedOrder.getOrderDate(), 10);
+        for (String phase : List.of("inventory_check", "reserve", "db_save", "inventory_update", "rollup")) {
+            assertEquals(1, meterRegistry.get(HotPathMetrics.ORDER_PHASE).tag("operation", phase).timer().count(),
+                    "Expected one timing for phase " + phase);
+        }
     }
 
     @Test
     void testPlaceOrder_InsufficientInventory() {
         inventoryResponse.setTotalQuantity(5); // Less than requested
 
-        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class), eq(1001L)))
                 .thenReturn(inventoryResponse);
 
         assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(orderRequest));
 
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderRollupService);
+        assertEquals(1, meterRegistry.get(HotPathMetrics.ORDER_PLACE).tag("outcome", "rejected").timer().count());
     }
 
     @Test
     void testPlaceOrder_InventoryServiceUnavailable() {
-        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class)))
+        when(restTemplate.getForObject(anyString(), eq(InventoryResponseDTO.class), eq(1001L)))
                 .thenThrow(new RuntimeException("Service unavailable"));
 
         assertThrows(Exception.class, () -> orderService.placeOrder(orderRequest));
 
         verify(orderRepository, never()).save(any(Order.class));
     }
-}
 
+    @Test
+    void testPlaceOrder_InventoryCallTaggedWithUriTemplate() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        RestTemplate observed = new RestTemplateConfig().restTemplate(false, false, Duration.ofSeconds(1),
+                new StaticListableBeanFactory(Map.of("observationRegistry", observationRegistry))
+                        .getBeanProvider(ObservationRegistry.class),
+                new InternalCallToken("test"));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(observed).build();
+        server.expect(requestTo("http://inventory/inventory/1001"))
+                .andRespond(withSuccess("{\"productId\":1001,\"totalQuantity\":5,\"batches\":[]}",
+                        MediaType.APPLICATION_JSON));
+        OrderService service = new OrderService(orderRepository, observed, metrics, orderRollupService);
+        ReflectionTestUtils.setField(service, "inventoryServiceUrl", "http://inventory");
+
+        assertThrows(IllegalArgumentException.class, () -> service.placeOrder(orderRequest));
+
+        server.verify();
+        assertEquals(1, meterRegistry.get("http.client.requests").tag("uri", "/inventory/{productId}").timer().count());
+    }
+
+    @Test
+    void testTransitionOrder_Ship() {
+        Order order = Order.builder()
+                .orderId(7L)
+                .productId(1001L)
+                .productName("Laptop")
+                .quantity(2)
+                .status(OrderStatus.SHIPPED)
+                .reservedBatchIds("1,2")
+                .build();
+
+        when(orderRepository.transitionStatus(eq(Set.of(7L)), eq(OrderStatus.PLACED), eq(OrderStatus.SHIPPED), any()))
+                .thenReturn(1);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+
+        OrderResponseDTO response = orderService.transitionOrder(7L, OrderTransition.SHIP);
+
+        assertNotNull(response);
+        assertEquals("SHIPPED", response.getStatus());
+        assertEquals(List.of(1L, 2L), response.getReservedFromBatchIds());
+        verify(orderRollupService).recordTransition(OrderStatus.PLACED, OrderStatus.SHIPPED, 1);
+    }
+
+    @Test
+    void testTransitionOrder_InvalidTransition() {
+        Order order = Order.builder()
+                .orderId(7L)
+                .status(OrderStatus.DELIVERED)
+                .build();
+
+        when(orderRepository.transitionStatus(anyCollection(), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+
+        assertThrows(IllegalStateException.class, () -> orderService.transitionOrder(7L, OrderTransition.CANCEL));
+
+        verifyNoInteractions(orderRollupService);
+    }
+
+    @Test
+    void testTransitionOrder_NotFound() {
+        when(orderRepository.transitionStatus(anyCollection(), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertNull(orderService.transitionOrder(7L, OrderTransition.SHIP));
+
+        verifyNoInteractions(orderRollupService);
+    }
+
+    @Test
+    void testTransitionOrders_Bulk() {
+        when(orderRepository.transitionStatus(anyCollection(), eq(OrderStatus.SHIPPED),
+                eq(OrderStatus.DELIVERED), any()))
+                .thenReturn(2);
+
+        OrderBulkTransitionResponseDTO response =
+                orderService.transitionOrders(List.of(1L, 2L, 3L, 3L), OrderTransition.DELIVER);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        assertEquals("DELIVERED", response.getStatus());
+        verify(orderRollupService).recordTransition(OrderStatus.SHIPPED, OrderStatus.DELIVERED, 2);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.ecommercebackend.reconciliation.service;
+
+import com.example.ecommercebackend.inventory.service.InventoryService;
+import com.example.ecommercebackend.inventory.shard.InventoryShardRouter;
+import com.example.ecommercebackend.reconciliation.dto.ReconciliationDiscrepancyDTO;
+import com.example.ecommercebackend.reconciliation.dto.ReconciliationReportDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for reconciliation against an in-memory H2 database holding both the order rollup and the
+ * consumption ledger. The partition size is small so the product range is split across the pool.
+ */
+class ReconciliationServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private InventoryService inventoryService;
+    private ReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:reconciliation-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE order_product_day (product_id BIGINT NOT NULL, order_day DATE NOT NULL, " +
+                "order_count BIGINT NOT NULL, quantity BIGINT NOT NULL, PRIMARY KEY (product_id, order_day))");
+        jdbcTemplate.execute("CREATE TABLE inventory_consumption (product_id BIGINT NOT NULL, " +
+                "consumed_day DATE NOT NULL, quantity BIGINT NOT NULL, PRIMARY KEY (product_id, consumed_day))");
+        jdbcTemplate.execute("CREATE TABLE reconciliation_discrepancy (discrepancy_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "run_id VARCHAR(36) NOT NULL, from_day DATE NOT NULL, to_day DATE NOT NULL, product_id BIGINT NOT NULL, " +
+                "ordered BIGINT NOT NULL, consumed BIGINT NOT NULL, corrected BIGINT NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE reconciliation_correction (run_id VARCHAR(36) PRIMARY KEY, " +
+                "from_day DATE NOT NULL, to_day DATE NOT NULL, created_at TIMESTAMP NOT NULL, UNIQUE (from_day, to_day))");
+
+        inventoryService = mock(InventoryService.class);
+        reconciliationService = new ReconciliationService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                InventoryShardRouter.unsharded(), inventoryService, new SimpleMeterRegistry(),
+                2, 3, true, 1, false, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationService.destroy();
+    }
+
+    @Test
+    void testMatchingProducts_NoDiscrepancies() {
+        for (long productId = 1; productId <= 20; productId++) {
+            ordered(productId, DAY, productId);
+            consumed(productId, DAY, productId);
+        }
+
+        ReconciliationReportDTO report = reconciliationService.reconcile(DAY, DAY, false);
+
+        assertEquals(20, report.getProductsCompared());
+        assertEquals(0, report.getDiscrepancyCount());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reconciliation_discrepancy", Integer.class));
+    }
+
+    @Test
+    void testDrift_ReportedInProductOrderAndStored() {
+        for (long productId = 1; productId <= 20; productId++) {
+            ordered(productId, DAY, 10);
+            consumed(productId, DAY, 10);
+        }
+        ordered(21L, DAY, 4);
+        consumed(3L, DAY.plusDays(1), 99);
+        jdbcTemplate.update("UPDATE inventory_consumption SET quantity = 7 WHERE product_id = 17");
+        jdbcTemplate.update("UPDATE order_product_day SET quantity = 8 WHERE product_id = 5");
+
+        ReconciliationReportDTO report = reconciliationService.reconcile(DAY, DAY, false);
+
+        assertEquals(21, report.getProductsCompared());
+        assertEquals(3, report.getDiscrepancyCount());
+        assertEquals(5L, report.getDiscrepancies().get(0).getProductId());
+        assertEquals(2L, report.getDiscrepancies().get(0).getDifference());
+        assertEquals(17L, report.getDiscrepancies().get(1).getProductId());
+        assertEquals(-3L, report.getDiscrepancies().get(1).getDifference());
+        ReconciliationDiscrepancyDTO unconsumed = report.getDiscrepancies().get(2);
+        assertEquals(21L, unconsumed.getProductId());
+        assertEquals(4L, unconsumed.getOrdered());
+        assertEquals(0L, unconsumed.getConsumed());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reconciliation_discrepancy WHERE run_id = ?", Integer.class, report.getRunId()));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void testAutoCorrect_WithinLimitOnly() {
+        ordered(1L, DAY, 10);
+        consumed(1L, DAY, 12);
+        ordered(2L, DAY, 50);
+        consumed(2L, DAY, 5);
+        when(inventoryService.correctStock(1L, 2, DAY)).thenReturn(2);
+
+        ReconciliationReportDTO report = reconciliationService.reconcile(DAY, DAY, true);
+
+        assertEquals(2L, report.getDiscrepancies().get(0).getCorrected());
+        assertEquals(0L, report.getDiscrepancies().get(1).getCorrected());
+        verify(inventoryService).correctStock(1L, 2, DAY);
+        verify(inventoryService, never()).correctStock(eq(2L), anyInt(), any());
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT corrected FROM reconciliation_discrepancy WHERE product_id = 1", Long.class));
+    }
+
+    @Test
+    void testAutoCorrect_RangeCorrectedOnce() {
+        ordered(1L, DAY, 10);
+        consumed(1L, DAY, 12);
+        when(inventoryService.correctStock(1L, 2, DAY)).thenReturn(2);
+        reconciliationService.reconcile(DAY, DAY, true);
+
+        // another node's nightly run over the same range
+        assertThrows(IllegalStateException.class, () -> reconciliationService.reconcile(DAY, DAY, true));
+        ReconciliationReportDTO reportOnly = reconciliationService.reconcile(DAY, DAY, false);
+
+        assertEquals(1, reportOnly.getDiscrepancyCount());
+        verify(inventoryService, times(1)).correctStock(anyLong(), anyInt(), any());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reconciliation_correction", Integer.class));
+        assertNotNull(reconciliationService.reconcile(DAY, DAY.plusDays(1), true).getRunId());
+    }
+
+    @Test
+    void testEmptyRange_NothingCompared() {
+        ReconciliationReportDTO report = reconciliationService.reconcile(DAY, DAY.plusDays(6), true);
+
+        assertEquals(0, report.getProductsCompared());
+        assertTrue(report.getDiscrepancies().isEmpty());
+        verify(inventoryService, never()).correctStock(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void testInvalidRange_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> reconciliationService.reconcile(DAY, DAY.minusDays(1), false));
+        assertThrows(IllegalArgumentException.class, () -> reconciliationService.reconcile(DAY, DAY.plusDays(31), false));
+    }
+
+    private void ordered(Long productId, LocalDate day, long quantity) {
+        jdbcTemplate.update("INSERT INTO order_product_day (product_id, order_day, order_count, quantity) VALUES (?, ?, 1, ?)",
+                productId, Date.valueOf(day), quantity);
+    }
+
+    private void consumed(Long productId, LocalDate day, long quantity) {
+        jdbcTemplate.update("INSERT INTO inventory_consumption (product_id, consumed_day, quantity) VALUES (?, ?, ?)",
+                productId, Date.valueOf(day), quantity);
+    }
+}